@@ -460,13 +460,12 @@ public class JavaFXGUI implements GUIConnector {
                             if (noteStr != null) { //Beim clear wird ein event gefeuert
                                 NoteSelf note = StringToNoteSelf(noteStr);
                                 int noteSelfIndex = mapGridpaneIndexToNoteIndex(finalCurrRow);
-                                NoteSelf[] noteSelf = logic.getPlayers()[0].getNoteSelf();
-                                noteSelf[noteSelfIndex] = note;
+                                logic.getPlayers()[0].setNoteSelf(noteSelfIndex, note);
                             }
                         });
 
                         //Felder mit den Karten die bereits auf der Hand liegen initialisieren
-                        currBox.setValue(noteSelfToString(self.getNoteSelf()[noteSelfCounter]));
+                        currBox.setValue(noteSelfToString(self.getNoteSelf(noteSelfCounter)));
                         noteSelfCounter++;
                         //Notizen der Anderen Spieler
                     } else {
@@ -478,17 +477,16 @@ public class JavaFXGUI implements GUIConnector {
                         currBox.getItems().addAll(noteOthersStringValues);
 
 
-                        NoteOthers[][] noteOthers = self.getNoteOthers();
                         int noteOtherCardIndex = mapGridpaneIndexToNoteIndex(currRow);
                         int noteOtherCharacterIndex = currCol - 2;
                         currBox.setOnAction(actionEvent -> {
                             String value = currBox.getValue();
                             if (value != null) {
                                 NoteOthers currNoteChange = stringToNoteOthers(value);
-                                noteOthers[noteOtherCharacterIndex][noteOtherCardIndex] = currNoteChange;
+                                self.setNoteOthers(noteOtherCharacterIndex, noteOtherCardIndex, currNoteChange);
                             }
                         });
-                        NoteOthers currNodeNoteOthers = noteOthers[noteOtherCharacterIndex][noteOtherCardIndex];
+                        NoteOthers currNodeNoteOthers = self.getNoteOthers(noteOtherCharacterIndex, noteOtherCardIndex);
                         String valueOfCurrNode = noteOthersToString(currNodeNoteOthers);
                         currBox.setValue(valueOfCurrNode);
 
@@ -547,7 +545,7 @@ public class JavaFXGUI implements GUIConnector {
 
         int xPos = (int) Math.floor((x - OFFSET_PERCENTAGE_LEFT * currImgWidth) / (CELL_WIDTH_PERCENTAGE * currImgWidth));
         int yPos = (int) Math.floor((y - OFFSET_PERCENTAGE_TOP * currImgHeight) / (CELL_HEIGHT_PERCENTAGE * currImgHeight));
-        return new Position(xPos, yPos);
+        return Position.of(xPos, yPos);
     }
 
 
@@ -1703,6 +1701,12 @@ public class JavaFXGUI implements GUIConnector {
             case SMART:
                 res = "schlau";
                 break;
+            case EXPERT:
+                res = "experte";
+                break;
+            case MONTE_CARLO:
+                res = "monte-carlo";
+                break;
             default:
                 throw new RuntimeException();
         }
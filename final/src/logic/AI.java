@@ -3,7 +3,7 @@ package logic;
 import logic.exceptions.CluedoException;
 
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.BooleanSupplier;
 
 /**
  * Abstakte Klasse, welche die allgemeinen Methoden, welche für die KIs notwendig sind implementiert.
@@ -12,6 +12,13 @@ import java.util.function.Function;
  * @author Michael Smirnov
  */
 public abstract class AI {
+    //Dauer der Berechnungen von Zügen mit Frist
+    private final DecisionTimings moveTimings = new DecisionTimings();
+    //Dauer der Verdächtigungen mit Frist
+    private final DecisionTimings suspicionTimings = new DecisionTimings();
+    //Zuordnung der Personen zu den Spalten der Notizen, wird für das Array der Spieler erstellt
+    private CharacterIndex characterIndex;
+
     /**
      * Liefert die KI Stärke der jew. Klasse.
      *
@@ -41,6 +48,135 @@ public abstract class AI {
      */
     public abstract CardTriple expressSuspicion(GameLogic logic, Player currentPlayer, Card enteredRoomCard);
 
+    /**
+     * Berechnet das Ziel des Zuges eines KI-Spielers bis zu einer Frist.
+     * Liefert die bis zur Frist beste gefundene Zielposition. Ist die Frist bereits vor Beginn abgelaufen,
+     * zieht die KI ohne Frist auf ihre eigene Art ({@link #computeNextMove(GameLogic, Player, int)}).
+     * Die Dauer wird in {@link #getMoveTimings()} gezählt.
+     *
+     * @param logic    die Hauptspiellogik.
+     * @param player   der Spieler welcher gerade an der Reihe ist.
+     * @param steps    die zur verfügung stehenden Schritte.
+     * @param deadline der Zeitpunkt (System.nanoTime()), zu dem die Entscheidung feststehen soll.
+     * @return die Zielposition, falls keine berechenbar null.
+     */
+    public final Position computeNextMove(GameLogic logic, Player player, int steps, long deadline) {
+        long timeBefore = System.nanoTime();
+        boolean fallback = timeBefore >= deadline;
+        Position nextMove;
+        if (fallback) {
+            nextMove = computeNextMove(logic, player, steps);
+        } else {
+            //null (aussetzen) ist eine gültige Entscheidung und wird nicht ersetzt
+            nextMove = computeNextMoveUntil(logic, player, steps, deadline);
+        }
+        long timeAfter = System.nanoTime();
+        moveTimings.record(timeAfter - timeBefore, timeAfter > deadline, fallback);
+        return nextMove;
+    }
+
+    /**
+     * Äußert eine Verdächtigung bis zu einer Frist.
+     * Liefert die bis zur Frist beste gefundene Verdächtigung. Ist die Frist bereits vor Beginn abgelaufen
+     * oder wurde bis zur Frist keine gefunden, wird über
+     * {@link #expressSuspicionFallback(GameLogic, Player, Card)} verdächtigt.
+     * Die Dauer wird in {@link #getSuspicionTimings()} gezählt.
+     *
+     * @param logic           die Hauptspiellogik.
+     * @param currentPlayer   der Spieler welcher gerade an der Reihe ist.
+     * @param enteredRoomCard die Karte des Raumes, in dem sich die KI gerade befindet.
+     * @param deadline        der Zeitpunkt (System.nanoTime()), zu dem die Entscheidung feststehen soll.
+     * @return Drei Karten unterschiedlichen Kartentyps, welche die Verdächtigung darstellen.
+     */
+    public final CardTriple expressSuspicion(GameLogic logic, Player currentPlayer, Card enteredRoomCard, long deadline) {
+        long timeBefore = System.nanoTime();
+        CardTriple suspicion = null;
+        if (timeBefore < deadline) {
+            suspicion = expressSuspicionUntil(logic, currentPlayer, enteredRoomCard, deadline);
+        }
+        boolean fallback = suspicion == null;
+        if (fallback) {
+            suspicion = expressSuspicionFallback(logic, currentPlayer, enteredRoomCard);
+        }
+        long timeAfter = System.nanoTime();
+        suspicionTimings.record(timeAfter - timeBefore, timeAfter > deadline, fallback);
+        return suspicion;
+    }
+
+    /**
+     * Berechnet das Ziel des Zuges bis zu einer Frist. KI-Stärken mit aufwändigen Berechnungen
+     * überschreiben diese Methode und brechen diese zur Frist ab, sie liefern dann ihr bis dahin bestes Ziel.
+     * Wie bei {@link #computeNextMove(GameLogic, Player, int)} bedeutet null, dass der Spieler nicht zieht.
+     * Standardmäßig wird ohne Frist gerechnet.
+     *
+     * @param logic    die Hauptspiellogik.
+     * @param player   der Spieler welcher gerade an der Reihe ist.
+     * @param steps    die zur verfügung stehenden Schritte.
+     * @param deadline der Zeitpunkt (System.nanoTime()), zu dem die Entscheidung feststehen soll.
+     * @return die beste bis zur Frist gefundene Zielposition, falls keine berechenbar null.
+     */
+    protected Position computeNextMoveUntil(GameLogic logic, Player player, int steps, long deadline) {
+        return computeNextMove(logic, player, steps);
+    }
+
+    /**
+     * Äußert eine Verdächtigung bis zu einer Frist. KI-Stärken mit aufwändigen Berechnungen
+     * überschreiben diese Methode und brechen diese zur Frist ab. Standardmäßig wird ohne Frist entschieden.
+     *
+     * @param logic           die Hauptspiellogik.
+     * @param currentPlayer   der Spieler welcher gerade an der Reihe ist.
+     * @param enteredRoomCard die Karte des Raumes, in dem sich die KI gerade befindet.
+     * @param deadline        der Zeitpunkt (System.nanoTime()), zu dem die Entscheidung feststehen soll.
+     * @return die beste bis zur Frist gefundene Verdächtigung, null falls keine gefunden.
+     */
+    protected CardTriple expressSuspicionUntil(GameLogic logic, Player currentPlayer, Card enteredRoomCard, long deadline) {
+        return expressSuspicion(logic, currentPlayer, enteredRoomCard);
+    }
+
+    /**
+     * Äußert eine Verdächtigung ohne aufwändige Berechnung, wenn bis zur Frist keine gefunden wurde.
+     * Standardmäßig entscheidet die KI wie ohne Frist. KI-Stärken, die auch ohne Frist eine
+     * Berechnungszeit einhalten, überschreiben diese Methode mit ihrer einfacheren Entscheidung.
+     *
+     * @param logic           die Hauptspiellogik.
+     * @param currentPlayer   der Spieler welcher gerade an der Reihe ist.
+     * @param enteredRoomCard die Karte des Raumes, in dem sich die KI gerade befindet.
+     * @return Drei Karten unterschiedlichen Kartentyps, welche die Verdächtigung darstellen.
+     */
+    protected CardTriple expressSuspicionFallback(GameLogic logic, Player currentPlayer, Card enteredRoomCard) {
+        return expressSuspicion(logic, currentPlayer, enteredRoomCard);
+    }
+
+    /**
+     * Bereitet das Wissen der KI im Hintergrund vor, während die Logik auf die GUI wartet.
+     * KI-Stärken mit aufwändigen Schlussfolgerungen überschreiben diese Methode,
+     * damit diese zu Beginn ihres Zuges bereits vorliegen. Standardmäßig wird nichts vorbereitet.
+     *
+     * @param logic     die Momentaufnahme der Spiellogik.
+     * @param self      der KI-Spieler selbst.
+     * @param cancelled liefert true, sobald die Logik weiterläuft und das Vorbereiten abgebrochen werden soll.
+     */
+    public void ponder(GameLogic logic, Player self, BooleanSupplier cancelled) {
+    }
+
+    /**
+     * Liefert die Dauer der Berechnungen von Zügen mit Frist.
+     *
+     * @return die gezählten Dauern.
+     */
+    public DecisionTimings getMoveTimings() {
+        return moveTimings;
+    }
+
+    /**
+     * Liefert die Dauer der Verdächtigungen mit Frist.
+     *
+     * @return die gezählten Dauern.
+     */
+    public DecisionTimings getSuspicionTimings() {
+        return suspicionTimings;
+    }
+
     /**
      * Zeigt als Antwort/Konter auf eine Verdächtigung eine der in der Verdächtigung genannten Karten.
      * Falls keine der Karten auf der Hand sind, wird null zurückgegeben.
@@ -96,14 +232,15 @@ public abstract class AI {
      * @throws CluedoException falls die Karte nicht gefunden wurde.
      */
     public CardTriple expressAccusation(GameLogic logic, Player player) throws CluedoException {
-        Set<Room> openRooms = getOpenRooms(logic, player);
-        Set<Card> openWeaponCards = getOpenWeaponCards(logic, player);
-        Set<Card> openCharacterCards = getOpenCharacterCards(logic, player);
+        CardKnowledge knowledge = player.getKnowledge();
         CardTriple accusation = null;
-        if (openRooms.size() == 1 && openWeaponCards.size() == 1 && openCharacterCards.size() == 1) {
-            Card roomCardSolution = logic.getCardByName(openRooms.iterator().next().getName());
-            Card characterCardSolution = openCharacterCards.iterator().next();
-            Card weaponCardSolution = openWeaponCards.iterator().next();
+        //Die Anzahl der offenen Karten wird mit den Notizen nachgeführt, die Prüfung benötigt keinen Speicher
+        if (knowledge.openCount(CardType.ROOM) == 1
+                && knowledge.openCount(CardType.WEAPON) == 1
+                && knowledge.openCount(CardType.CHARACTER) == 1) {
+            Card roomCardSolution = logic.getCardByNoteIndex(knowledge.firstOpen(CardType.ROOM));
+            Card characterCardSolution = logic.getCardByNoteIndex(knowledge.firstOpen(CardType.CHARACTER));
+            Card weaponCardSolution = logic.getCardByNoteIndex(knowledge.firstOpen(CardType.WEAPON));
             accusation = new CardTriple(roomCardSolution, characterCardSolution, weaponCardSolution);
         }
         return accusation;
@@ -111,82 +248,47 @@ public abstract class AI {
 
 
     /**
-     * Liefert die noch offenen/nicht ausgeschlossenen Räume in dem der Mord passiert ist.
+     * Liefert die noch offenen/nicht ausgeschlossenen Räume in dem der Mord passiert ist, ohne den übergebenen Raum.
      * Offen sind die, die weder auf der Hand noch bereits gezeigt wurden.
+     * Die Menge wird vom Spieler nachgeführt, nur falls der Raum offen ist, wird eine Kopie angelegt.
      *
-     * @param logic         die Hauptspiellogik.
      * @param currentPlayer der KI-Spieler selbst.
-     * @return liefert eine Menge von noch offenen Räumen.
-     */
-    private Set<Room> getOpenRooms(GameLogic logic, Player currentPlayer) {
-        //Alle Räume im Spiel holen
-        Set<Room> allRooms = new HashSet<>(Arrays.asList(logic.getRooms()));
-        //Die Räume welche auf der Hand holen
-        Set<Room> roomsFromCardsOnHand = Card.getRoomsFromCards(logic, currentPlayer.getCards());
-        //Die Räume auf der Hand ausschliessen
-        allRooms.removeAll(roomsFromCardsOnHand);
-        //Die Räume die bereits gezeigt wurden ermitteln
-        Set<Card> seenCards = getSeenCards(logic, currentPlayer.getNoteOthers());
-        Set<Room> seenRooms = Card.getRoomsFromCards(logic, seenCards);
-        //Die Räume die Bereits gezeigt wurden ausschließen
-        allRooms.removeAll(seenRooms);
-        //Übrigen sind die offenen
-        return allRooms;
+     * @param excluded      der auszuschließende Raum oder null.
+     * @return liefert eine Menge von noch offenen Räumen ohne den Raum.
+     */
+    private Set<Room> getOpenRoomsExcept(Player currentPlayer, Room excluded) {
+        Set<Room> openRooms = currentPlayer.getOpenRooms();
+        if (excluded != null && openRooms.contains(excluded)) {
+            openRooms = new HashSet<>(openRooms);
+            openRooms.remove(excluded);
+        }
+        return openRooms;
     }
 
     /**
      * Liefert die noch offenen Waffenkarten.
      * Offen sind die, die weder auf der Hand noch bereits gezeigt wurden.
+     * Die Menge wird vom Spieler nachgeführt und kann nicht verändert werden.
      *
      * @param logic         die Hauptspiellogik.
      * @param currentPlayer der KI-Spieler selbst.
      * @return liefert eine Menge von noch offenen Waffenkarten.
      */
     protected Set<Card> getOpenWeaponCards(GameLogic logic, Player currentPlayer) {
-        return this.getOpenCards(logic, currentPlayer, Card::getWeaponCardsFromCards);
+        return currentPlayer.getOpenCards(CardType.WEAPON);
     }
 
     /**
      * Liefert die noch offenen Personenkarten.
      * Offen sind die, die weder auf der Hand noch bereits gezeigt wurden.
+     * Die Menge wird vom Spieler nachgeführt und kann nicht verändert werden.
      *
      * @param logic         die Hauptspiellogik.
      * @param currentPlayer der KI-Spieler selbst.
      * @return liefert eine Menge von noch offenen Personenkarten.
      */
     protected Set<Card> getOpenCharacterCards(GameLogic logic, Player currentPlayer) {
-        return this.getOpenCards(logic, currentPlayer, Card::getCharacterCardsFromCards);
-    }
-
-    /**
-     * Liefert eine Menge an offenen Karten, welche nach dem übergebenen Filter aussortiert wurden.
-     * Offen sind die, die weder auf der Hand noch bereits gezeigt wurden.
-     *
-     * @param logic         die Hauptspiellogik.
-     * @param currentPlayer der KI-Spieler selbst.
-     * @param filter        Eine Fuktion, die eine Collection von Karten entgegen nimmt,
-     *                      filtert und ein Set von Karten zurückliefert.
-     * @return eine Menge an noch offenen Karten.
-     */
-    private Set<Card> getOpenCards(GameLogic logic, Player currentPlayer, Function<? super Collection<Card>, ? extends Set<Card>> filter) {
-        //Alle Karten die es gibt holen
-        Set<Card> allCards = new HashSet<>(Arrays.asList(logic.getCards()));
-        //Davon nur Character übrig lassen
-        Set<Card> allCharacters = filter.apply(allCards);
-        //Alle Karten auf der Hand
-        List<Card> allCardsOnHand = currentPlayer.getCards();
-        //Nur Character aus den Karten holen
-        Set<Card> characterOnHand = filter.apply(allCardsOnHand);
-        //Chararacter auf der Hand aussließen
-        allCharacters.removeAll(characterOnHand);
-        //Gesehene Karten Holen
-        Set<Card> seenCards = getSeenCards(logic, currentPlayer.getNoteOthers());
-        //Davon die gesehenen Character extrahieren
-        Set<Card> seenCharacters = filter.apply(seenCards);
-        //Diese aussließen
-        allCharacters.removeAll(seenCharacters);
-        //Die übrigen sind die offenen.
-        return allCharacters;
+        return currentPlayer.getOpenCards(CardType.CHARACTER);
     }
 
     /**
@@ -207,25 +309,6 @@ public abstract class AI {
         return null;
     }
 
-    /**
-     * Liefert die letzte Karte aus dem übergebenen Set nach der Reihenfolge der Notizen/Gesamtkarten.
-     * Null, wenn keine der Karten im Set.
-     *
-     * @param allCards alle Karten im Spiel
-     * @param cards    Karten von denen die letzte gesucht wird.
-     * @return die letzte Karte nach der Reihenfolge der Notizen/Gesamtkarten.
-     * Null, wenn keine der Karten im Set.
-     */
-    private Card getLastCardByNoteOrder(Card[] allCards, Set<Card> cards) {
-        for (int i = allCards.length - 1; i >= 0; i--) {
-            if (cards.contains(allCards[i])) {
-                return allCards[i];
-            }
-        }
-        return null;
-    }
-
-
     /**
      * Liefert den Kürzesten Weg zu dem übergebenen Raum. Berücksichtigt dabei andere Spieler.
      *
@@ -236,28 +319,12 @@ public abstract class AI {
      * Null, wenn keiner vorhanden.
      */
     private List<Position> getShortestPathToRoom(GameLogic logic, Room dest, Position playerPostion) {
-        GameCell currentPlayerCell = logic.getGameCell(playerPostion);
-        List<Position> shortestPath = null;
-        if (currentPlayerCell.isRoom()) {
-            int shortestPathLength = Integer.MAX_VALUE;
-            for (Position start : logic.getOpenDoors(currentPlayerCell.getRoom())) {//Jede freie Tür kann als startpunkt gewählt werden
-                List<Position> currentPath = logic.getShortestPath(start, logic.getOpenDoors(dest));
-                if (currentPath != null && currentPath.size() < shortestPathLength) {
-                    shortestPathLength = currentPath.size();
-                    shortestPath = currentPath;
-                }
-            }
-        } else {
-            shortestPath = logic.getShortestPath(playerPostion, logic.getOpenDoors(dest));
-            if (shortestPath != null) {
-                shortestPath.remove(0); // Die eigene Position wieder entfernen#
-            }
-        }
-        return shortestPath;
+        return getShortestPathToRooms(logic, Collections.singleton(dest), playerPostion);
     }
 
     /**
-     * Liefert den kürzesten Weg zu den im Set übergebenen Räumen.
+     * Liefert den kürzesten Weg zu den im Set übergebenen Räumen. Berücksichtigt dabei andere Spieler.
+     * Befindet sich der Spieler in einem Raum, kann jede freie Tür des Raumes als Startpunkt dienen.
      *
      * @param logic          die Hauptspiellogik.
      * @param rooms          die Räume zu denen der kürzeste Weg berechnet werden soll.
@@ -266,39 +333,29 @@ public abstract class AI {
      * endend bei der Tür in den Raum. Null wenn keiner vorhanden.
      */
     private List<Position> getShortestPathToRooms(GameLogic logic, Set<Room> rooms, Position playerPosition) {
-        List<Position> shortestPath = null;
-        int shortestPathLenght = Integer.MAX_VALUE;
-        for (Room room : rooms) {
-            List<Position> shortestPathToCurrentRoom = getShortestPathToRoom(logic, room, playerPosition);
-            if (shortestPathToCurrentRoom != null && shortestPathToCurrentRoom.size() < shortestPathLenght) {
-                shortestPathLenght = shortestPathToCurrentRoom.size();
-                shortestPath = shortestPathToCurrentRoom;
+        GameCell currentPlayerCell = logic.getGameCell(playerPosition);
+        //Aus einem Raum heraus kann jede freie Tür als Startpunkt gewählt werden
+        Set<Position> starts = currentPlayerCell.isRoom()
+                ? logic.getOpenDoors(currentPlayerCell.getRoom())
+                : Collections.singleton(playerPosition);
+        //Zuerst anhand der Entfernungsfelder der Räume, nur wenn der Weg versperrt ist über die Wegsuche
+        List<Position> shortestPath = logic.getShortestPathToRooms(rooms, starts);
+        if (shortestPath == null) {
+            //Eine Suche zu den Türen aller Räume reicht aus, da die Türen eindeutig einem Raum zugeordnet sind
+            Set<Position> doors = new HashSet<>();
+            for (Room room : rooms) {
+                doors.addAll(logic.getOpenDoors(room));
             }
+            shortestPath = logic.getShortestPathFromAny(starts, doors);
+        }
+        //Die eigene Position wieder entfernen, außer der Spieler steht bereits vor der Tür des Zielraums
+        if (!currentPlayerCell.isRoom() && shortestPath != null && shortestPath.size() > 1) {
+            shortestPath.remove(0);
         }
         return shortestPath;
     }
 
 
-    /**
-     * Liefert eine Menge an bereits gesehenen Karten.
-     *
-     * @param logic die Hauptspiellogik.
-     * @param notes die Notizen über andere Spieler, aus denen die bereits gesehenen Karten extrahiert
-     *              werden sollen.
-     * @return ein Set an gesehenen Karten, leer wenn keine gestehen.
-     */
-    private Set<Card> getSeenCards(GameLogic logic, NoteOthers[][] notes) {
-        Set<Card> seenCards = new HashSet<>();
-        for (NoteOthers[] otherPlayers : notes) { //Notizen über die Anderen Spieler(Spalten)
-            for (int noteIndex = 0; noteIndex < otherPlayers.length; noteIndex++) {
-                if (otherPlayers[noteIndex].equals(NoteOthers.SEEN)) {
-                    seenCards.add(logic.getCardByNoteIndex(noteIndex));
-                }
-            }
-        }
-        return seenCards;
-    }
-
     //Methode, die gegeben einem Spieler eine Notiz in den Notizen über andere macht
 
     /**
@@ -316,8 +373,26 @@ public abstract class AI {
         assert characterIndexInNotes != -1;
         int cardIndexInNotes = getCardIndexInNotes(cards, targetCard);
         assert cardIndexInNotes != -1;
-        NoteOthers[][] notes = self.getNoteOthers();
-        notes[characterIndexInNotes][cardIndexInNotes] = noteToTake;
+        self.setNoteOthers(characterIndexInNotes, cardIndexInNotes, noteToTake);
+    }
+
+    /**
+     * Trägt eine übergebene Notiz für alle drei Karten einer Verdächtigung in den Notizen eines Spielers
+     * über einen anderen Spieler ein.
+     *
+     * @param players         alle Spieler.
+     * @param cards           alle Karten.
+     * @param self            der KI-Spieler.
+     * @param targetCharacter die Person, über die eine Notiz getätigt werden soll.
+     * @param suspicion       die Verdächtigung mit den Karten, über die eine Notiz getätigt werden soll.
+     * @param noteToTake      die Notiz, welche über den Spieler und die Karten eingetragen werden soll.
+     */
+    protected void takeNotes(Player[] players, Card[] cards, Player self, Character targetCharacter, CardTriple suspicion, NoteOthers noteToTake) {
+        int characterIndexInNotes = getCharacterIndexInNotes(players, self, targetCharacter);
+        assert characterIndexInNotes != -1;
+        long cardsInNotes = suspicion.pack(cards);
+        assert PackedCardTriple.size(cardsInNotes) == 3;
+        self.setNoteOthers(characterIndexInNotes, cardsInNotes, noteToTake);
     }
 
     /**
@@ -328,13 +403,7 @@ public abstract class AI {
      * @return der Index der gesuchten Karte. Liefert -1, falls Karte nicht gefunden.
      */
     protected int getCardIndexInNotes(Card[] cards, Card targetCard) {
-        for (int i = 0; i < cards.length; i++) {
-            if (cards[i].equals(targetCard)) {
-                return i;
-            }
-        }
-        //Sollte nie Passieren
-        return -1;
+        return targetCard.indexIn(cards);
     }
 
     /**
@@ -346,18 +415,12 @@ public abstract class AI {
      * @return der Index der gesuchten Person. Liefert -1, falls Person nicht gefunden.
      */
     protected int getCharacterIndexInNotes(Player[] players, Player self, Character targetCharacter) {
-        Character ownCharacter = self.getCharacter();
-        int playerInNoteIndex = 0;
-        for (Player player : players) {
-            if (!player.getCharacter().equals(ownCharacter)) {
-                if (player.getCharacter().equals(targetCharacter)) {
-                    return playerInNoteIndex;
-                }
-                playerInNoteIndex++;
-            }
+        CharacterIndex index = characterIndex;
+        if (index == null || !index.isFor(players)) {
+            //Die Spieler eines Spiels ändern sich nur beim Laden, dann wird die Zuordnung neu erstellt
+            index = characterIndex = new CharacterIndex(players);
         }
-        //Sollte nie Passieren
-        return -1;
+        return index.noteColumnOf(index.playerIndexOf(self.getCharacter()), targetCharacter);
     }
 
 
@@ -369,8 +432,8 @@ public abstract class AI {
      * @return die erste offene Waffenkarte oder null.
      */
     protected Card suspectFirstWeapon(GameLogic logic, Player currentPlayer) {
-        Set<Card> openWeaponCards = getOpenWeaponCards(logic, currentPlayer);
-        return getFirstCardByNoteOrder(logic.getCards(), openWeaponCards);
+        int index = currentPlayer.getKnowledge().firstOpen(CardType.WEAPON);
+        return index == -1 ? null : logic.getCardByNoteIndex(index);
     }
 
     /**
@@ -381,8 +444,8 @@ public abstract class AI {
      * @return die erste offene Personenkarte oder null.
      */
     private Card suspectFirstCharacter(GameLogic logic, Player currentPlayer) {
-        Set<Card> openCharacterCards = getOpenCharacterCards(logic, currentPlayer);
-        return getFirstCardByNoteOrder(logic.getCards(), openCharacterCards);
+        int index = currentPlayer.getKnowledge().firstOpen(CardType.CHARACTER);
+        return index == -1 ? null : logic.getCardByNoteIndex(index);
     }
 
 
@@ -394,8 +457,8 @@ public abstract class AI {
      * @return die letzte offene Personenkarte oder null.
      */
     protected Card suspectLastCharacter(GameLogic logic, Player currentPlayer) {
-        Set<Card> openCharacterCards = getOpenCharacterCards(logic, currentPlayer);
-        return getLastCardByNoteOrder(logic.getCards(), openCharacterCards);
+        int index = currentPlayer.getKnowledge().lastOpen(CardType.CHARACTER);
+        return index == -1 ? null : logic.getCardByNoteIndex(index);
     }
 
     /**
@@ -439,13 +502,14 @@ public abstract class AI {
      */
     //Liegt hier, da die normale und schlaue dieses Verfahren als fallback nutzen und dies
     //ebenfalls in dieser Klasse implementiert wurde.
+    //Die Ziele werden bewusst nicht zwischengespeichert: ein Zwischenspeicher über Position, Augenzahl, offene
+    //Räume und Belegung des Flures traf in reinen KI-Spielen nur bei etwa 4 % der Züge und machte die Spiele
+    //insgesamt langsamer. Ein engerer Schlüssel ist nicht möglich, da jede Spielfigur auf dem Flur den Weg ändern kann.
     protected Position computeNextMoveStupid(GameLogic logic, Player player, int steps) {
         //Welche Räume sind noch offen?
-        Set<Room> openRooms = getOpenRooms(logic, player);
         GameCell gameCell = logic.getGameCell(player.getPos());
-        if (gameCell.isRoom()) { //Wenn aktuell in einem Raum, dann diesen aus der Betrachtung aussließen
-            openRooms.remove(gameCell.getRoom());
-        }
+        //Wenn aktuell in einem Raum, dann diesen aus der Betrachtung aussließen
+        Set<Room> openRooms = getOpenRoomsExcept(player, gameCell.isRoom() ? gameCell.getRoom() : null);
         Position nextMove;
         List<Position> shortestPathToRoom;
 
@@ -485,21 +549,16 @@ public abstract class AI {
      */
     protected Position computeNextMoveNormalAndSmart(GameLogic logic, Player player, int steps) {
         Position nextMove;
-        Set<Room> openRooms = getOpenRooms(logic, player);
         GameCell playerGameCell = logic.getGameCell(player.getPos());
-        if (playerGameCell.isRoom()) { //Wenn aktuell in einem Raum, dann diesen aus der Betrachtung aussließen
-            openRooms.remove(playerGameCell.getRoom());
-        }
-        //Bin ich in einem Raum?
-        if (playerGameCell.isRoom()
-                //Ist in diesem Raum ein Geheimgang?
-                && playerGameCell.getRoom().getSecretCorridor() != null
-                //Führt der Geheimgang zu dem einem der Ziele in openRooms?
-                && openRooms.contains(playerGameCell.getRoom().getSecretCorridor())) {
-            Room secretCorridorDestination = playerGameCell.getRoom().getSecretCorridor();
+        //Wenn aktuell in einem Raum, dann diesen aus der Betrachtung aussließen
+        Set<Room> openRooms = getOpenRoomsExcept(player, playerGameCell.isRoom() ? playerGameCell.getRoom() : null);
+        //Nach den erwarteten Zügen nächster offener Raum, ein Geheimgang benötigt immer genau einen Zug
+        Room closestRoom = playerGameCell.isRoom() ? logic.findClosestRoom(player.getPos(), openRooms) : null;
+        //Führt der Geheimgang zu diesem Raum?
+        if (closestRoom != null && logic.isSecretPassage(playerGameCell.getRoom(), closestRoom)) {
             // Liefer den Mittelpunkt von dem über den Geheimgang erreichbaren Raum zurück
-            GameLogic.debugln(player.getCharacter().getName() + " geht über den Geheimgang nach: " + secretCorridorDestination.getName());
-            nextMove = secretCorridorDestination.getMidPoint();
+            GameLogic.debugln(player.getCharacter().getName() + " geht über den Geheimgang nach: " + closestRoom.getName());
+            nextMove = closestRoom.getMidPoint();
 
         } else {
             nextMove = computeNextMoveStupid(logic, player, steps);
@@ -523,11 +582,9 @@ public abstract class AI {
             if (!playerWhoShown.equals(currentPlayer)) { //Nur über die anderen
                 if (shownCards[shownCardsIndex] == null) {
                     //Hat keine der 3 die Verdächtigt wurden
-                    takeNote(players, cards, currentPlayer, playerWhoShown.getCharacter(), suspicion.getCharacter(), NoteOthers.HAS_NOT);
+                    takeNotes(players, cards, currentPlayer, playerWhoShown.getCharacter(), suspicion, NoteOthers.HAS_NOT);
                     GameLogic.debugln("Ich bin { " + currentPlayer.getCharacter().getName() + " } und notiere mir { " + playerWhoShown.getCharacter().getName() + " } hat keine { " + suspicion.getCharacter() + " }");
-                    takeNote(players, cards, currentPlayer, playerWhoShown.getCharacter(), suspicion.getWeapon(), NoteOthers.HAS_NOT);
                     GameLogic.debugln("Ich bin { " + currentPlayer.getCharacter().getName() + " } und notiere mir { " + playerWhoShown.getCharacter().getName() + " } hat keine { " + suspicion.getWeapon() + " }");
-                    takeNote(players, cards, currentPlayer, playerWhoShown.getCharacter(), suspicion.getRoom(), NoteOthers.HAS_NOT);
                     GameLogic.debugln("Ich bin { " + currentPlayer.getCharacter().getName() + " } und notiere mir { " + playerWhoShown.getCharacter().getName() + " } hat keine { " + suspicion.getRoom() + " }");
                 } else {
                     //playerWhoShown hat mir die Karte shownCards[shownCardsIndex] gezeigt
@@ -559,19 +616,21 @@ public abstract class AI {
      */
     protected Card showCardNormal(Player player, Card[] allCards, CardTriple suspicionResult) {
         //Die mögl. finden die zeigbar sind
-        CardTriple possibleCardsToShow = player.possibleCardsToShow(suspicionResult);
+        long possibleCards = player.possibleCardsToShow(suspicionResult.pack(allCards));
         Card cardToShow = null;
         //Frühzeigig abbrechen wenn nichts gezeigt werden kann
-        if (!possibleCardsToShow.isEmpty()) {
-            NoteSelf[] ownNotes = player.getNoteSelf();
-            Set<Card> possibleCards = possibleCardsToShow.getCards();
+        if (possibleCards != PackedCardTriple.EMPTY) {
             int maxShownFrequency = Integer.MIN_VALUE;
             Set<Card> mostShownCards = new HashSet<>();
 
             //Über alle Karten die man Zeigen könnte laufen
-            for (Card card : possibleCards) {
-                int currCardIndexInNotes = getCardIndexInNotes(allCards, card);
-                NoteSelf currNote = ownNotes[currCardIndexInNotes];
+            for (int position = PackedCardTriple.CHARACTER; position <= PackedCardTriple.ROOM; position++) {
+                int currCardIndexInNotes = PackedCardTriple.get(possibleCards, position);
+                if (currCardIndexInNotes == -1) {
+                    continue;
+                }
+                Card card = allCards[currCardIndexInNotes];
+                NoteSelf currNote = player.getNoteSelf(currCardIndexInNotes);
                 if (currNote != NoteSelf.NOTHING && currNote.ordinal() >= maxShownFrequency) {
                     if (currNote.ordinal() > maxShownFrequency) {
                         //Alle bisherigen löschen, da dijenigen die am häufigsten gezeigt wurden relevant
@@ -584,7 +643,7 @@ public abstract class AI {
             cardToShow = getFirstCardByNoteOrder(allCards, mostShownCards);
             //Notiz machen, dass diese Karte gezeigt wurde
             GameLogic.debugln("Als normale KI { " + player.getCharacter().getName() + " } notiere ich mir, dass ich { " + cardToShow + " } einmal häufiger gezeigt habe");
-            takeNoteCardShown(allCards, cardToShow, ownNotes);
+            takeNoteCardShown(allCards, cardToShow, player);
 
         }
         return cardToShow;
@@ -596,11 +655,11 @@ public abstract class AI {
      *
      * @param cards      alle Karten.
      * @param cardToShow die gezeigte Karte.
-     * @param ownNotes   die eigenen Notizen, in die die gezeigte Karte eingetragen werden soll.
+     * @param self       der Spieler, in dessen eigene Notizen die gezeigte Karte eingetragen werden soll.
      */
-    protected void takeNoteCardShown(Card[] cards, Card cardToShow, NoteSelf[] ownNotes) {
+    protected void takeNoteCardShown(Card[] cards, Card cardToShow, Player self) {
         int cardToShowIndexInNotes = getCardIndexInNotes(cards, cardToShow);
-        ownNotes[cardToShowIndexInNotes] = NoteSelf.increment(ownNotes[cardToShowIndexInNotes]);
+        self.setNoteSelf(cardToShowIndexInNotes, NoteSelf.increment(self.getNoteSelf(cardToShowIndexInNotes)));
     }
 
 
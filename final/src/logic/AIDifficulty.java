@@ -7,7 +7,7 @@ package logic;
  * @author Michael Smirnov
  */
 public enum AIDifficulty {
-    STUPID, NORMAL, SMART
+    STUPID, NORMAL, SMART, EXPERT, MONTE_CARLO
 
 }
 
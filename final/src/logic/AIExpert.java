@@ -0,0 +1,207 @@
+package logic;
+
+import logic.exceptions.CluedoException;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Diese Klasse stellt die Implementierung der Experten-KI-Stärke dar.
+ * Sie zieht dieselben Schlüsse wie die schlaue KI, berechnet darüber hinaus aber über {@link ExpertSolver}
+ * die exakten Wahrscheinlichkeiten aller Karten, in der Lösung zu liegen. Dafür werden alle Kartenverteilungen
+ * gezählt, die zu der Spielhistorie der schlauen KI und der Anzahl der Karten auf der Hand der Spieler passen.
+ * <p>
+ * Bei einer Verdächtigung fragt sie je Typ nach der wahrscheinlichsten Karte. Steht eine Karte sicher fest,
+ * fragt sie wie die schlaue KI nach einer eigenen Karte dieses Typs. Sie klagt an, sobald nur noch eine
+ * Lösung möglich ist.
+ * <p>
+ * Jede Berechnung muss bis zur Frist der Entscheidung (ohne Frist innerhalb einer einstellbaren Zeit)
+ * abgeschlossen sein. Gelingt dies nicht, verhält sich die KI wie die schlaue KI.
+ * Ein fertiges Ergebnis wird bis zur nächsten neuen Information wiederverwendet, eine abgebrochene Berechnung
+ * wird bei der nächsten Entscheidung erneut versucht.
+ */
+public class AIExpert extends AISmart {
+    //Standardmäßige Zeit je Berechnung in Millisekunden
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    //Für Berechnungen, die nur durch die Frist beendet werden
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+
+    //Zeit je Berechnung in Millisekunden
+    private long budgetMillis = DEFAULT_BUDGET_MILLIS;
+    //Das Ergebnis der letzten Berechnung (null, falls diese nicht rechtzeitig fertig wurde)
+    private ExpertSolver.Solution solution;
+    //Ob das Ergebnis zum aktuellen Wissen passt (nie, falls die letzte Berechnung abgebrochen wurde)
+    private boolean solutionValid;
+
+    /**
+     * Konstruktor der Experten-KI-Stärke.
+     *
+     * @param otherPlayerCount Anzahl der anderen Spieler im Spiel.
+     * @param cardCount        die Anzahl an im Spiel befindlichen Karten.
+     */
+    public AIExpert(int otherPlayerCount, int cardCount) {
+        super(otherPlayerCount, cardCount);
+    }
+
+    @Override
+    public AIDifficulty getDifficulty() {
+        return AIDifficulty.EXPERT;
+    }
+
+    /**
+     * Liefert die Zeit, die eine Berechnung höchstens benötigen darf.
+     *
+     * @return die Zeit in Millisekunden.
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Setzt die Zeit, die eine Berechnung höchstens benötigen darf.
+     *
+     * @param budgetMillis die Zeit in Millisekunden.
+     */
+    public void setBudgetMillis(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+    }
+
+    @Override
+    public CardTriple expressSuspicion(GameLogic logic, Player currentPlayer, Card enteredRoomCard) {
+        return expressSuspicion(logic, currentPlayer, enteredRoomCard, System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    @Override
+    protected CardTriple expressSuspicionUntil(GameLogic logic, Player currentPlayer, Card enteredRoomCard, long deadline) {
+        ExpertSolver.Solution currentSolution = getSolution(logic, currentPlayer, deadline, NOT_CANCELLED);
+        if (currentSolution == null) {
+            //Nicht rechtzeitig berechnet
+            return null;
+        }
+        if (currentSolution.getTotal() == 0) {
+            return super.expressSuspicion(logic, currentPlayer, enteredRoomCard);
+        }
+        CardTriple suspicion = new CardTriple();
+        suspicion.setRoom(enteredRoomCard);
+        suspicion.setCharacter(chooseCard(logic, currentPlayer, currentSolution, CardType.CHARACTER));
+        suspicion.setWeapon(chooseCard(logic, currentPlayer, currentSolution, CardType.WEAPON));
+        return suspicion;
+    }
+
+    @Override
+    protected CardTriple expressSuspicionFallback(GameLogic logic, Player currentPlayer, Card enteredRoomCard) {
+        return super.expressSuspicion(logic, currentPlayer, enteredRoomCard);
+    }
+
+    @Override
+    public CardTriple expressAccusation(GameLogic logic, Player player) throws CluedoException {
+        CardTriple accusation = super.expressAccusation(logic, player);
+        if (accusation == null) {
+            ExpertSolver.Solution currentSolution = getSolution(logic, player, System.nanoTime() + budgetMillis * 1_000_000L, NOT_CANCELLED);
+            if (currentSolution != null && currentSolution.getCertainEnvelope() != 0) {
+                accusation = new CardTriple();
+                for (long cards = currentSolution.getCertainEnvelope(); cards != 0; cards &= cards - 1) {
+                    Card card = logic.getCardByNoteIndex(Long.numberOfTrailingZeros(cards));
+                    if (card.isRoom()) {
+                        accusation.setRoom(card);
+                    } else if (card.isCharacter()) {
+                        accusation.setCharacter(card);
+                    } else {
+                        accusation.setWeapon(card);
+                    }
+                }
+                GameLogic.debugln("Ich als Experten-KI { " + player.getCharacter().getName() + " } habe die einzig mögliche Lösung { " + accusation + " } berechnet");
+            }
+        }
+        return accusation;
+    }
+
+    @Override
+    public void ponder(GameLogic logic, Player self, BooleanSupplier cancelled) {
+        getSolution(logic, self, System.nanoTime() + budgetMillis * 1_000_000L, cancelled);
+    }
+
+    @Override
+    public void getCardsShown(Player[] players, Card[] cards, Player currentPlayer, CardTriple suspicion, Card[] shownCards) {
+        super.getCardsShown(players, cards, currentPlayer, suspicion, shownCards);
+        solutionValid = false;
+    }
+
+    @Override
+    public void watchCardsGetShown(Player[] allPlayers, Card[] allCards, Player myself, Player currentPlayer, CardTriple suspicion, Card[] shownCards) {
+        super.watchCardsGetShown(allPlayers, allCards, myself, currentPlayer, suspicion, shownCards);
+        solutionValid = false;
+    }
+
+    /**
+     * Liefert das Ergebnis der Berechnung für das aktuelle Wissen und berechnet es bei Bedarf neu.
+     *
+     * @param logic    die Hauptspiellogik.
+     * @param self     der Spieler der Experten-KI.
+     * @param deadline  der Zeitpunkt (System.nanoTime()), zu dem spätestens abgebrochen wird.
+     * @param cancelled liefert true, sobald vor Ablauf der Frist abgebrochen werden soll.
+     * @return das Ergebnis oder null, falls es nicht rechtzeitig berechnet werden konnte.
+     */
+    private ExpertSolver.Solution getSolution(GameLogic logic, Player self, long deadline, BooleanSupplier cancelled) {
+        if (!solutionValid) {
+            long timeBefore = System.nanoTime();
+            solution = computeSolution(logic, self, deadline, cancelled);
+            //Wurde die Berechnung abgebrochen, wird es bei der nächsten Entscheidung erneut versucht
+            solutionValid = solution != null;
+            GameLogic.debugln("Ich als Experten-KI { " + self.getCharacter().getName() + " } habe "
+                    + (solution == null ? "keine Lösung" : solution.getTotal() + " Verteilungen") + " in "
+                    + (System.nanoTime() - timeBefore) / 1_000_000 + " ms berechnet");
+        }
+        return solution;
+    }
+
+    /**
+     * Übergibt das Wissen der schlauen KI an den {@link ExpertSolver} und zählt die Verteilungen.
+     *
+     * @param logic    die Hauptspiellogik.
+     * @param self     der Spieler der Experten-KI.
+     * @param deadline  der Zeitpunkt (System.nanoTime()), zu dem spätestens abgebrochen wird.
+     * @param cancelled liefert true, sobald vor Ablauf der Frist abgebrochen werden soll.
+     * @return das Ergebnis oder null, falls es nicht rechtzeitig berechnet werden konnte.
+     */
+    private ExpertSolver.Solution computeSolution(GameLogic logic, Player self, long deadline, BooleanSupplier cancelled) {
+        Card[] cards = logic.getCards();
+        if (cards.length > ExpertSolver.MAX_CARDS) {
+            return null;
+        }
+        ExpertSolver solver = new ExpertSolver(logic.getPlayers().length, cards.length, getCardTypeMasks(logic));
+        describeDeal(logic, self, solver);
+        return solver.solve(ForkJoinPool.commonPool(), deadline, cancelled);
+    }
+
+    /**
+     * Wählt die Karte eines Typs mit der höchsten Wahrscheinlichkeit, in der Lösung zu liegen
+     * (bei gleicher Wahrscheinlichkeit nach der Reihenfolge der Notizen). Steht die Karte sicher fest,
+     * wird stattdessen nach der ersten eigenen Karte dieses Typs gefragt, falls vorhanden.
+     *
+     * @param logic           die Hauptspiellogik.
+     * @param self            der Spieler der Experten-KI.
+     * @param currentSolution das Ergebnis der Berechnung.
+     * @param type            der Typ der Karte.
+     * @return die gewählte Karte.
+     */
+    private Card chooseCard(GameLogic logic, Player self, ExpertSolver.Solution currentSolution, CardType type) {
+        Card[] cards = logic.getCards();
+        int best = -1;
+        for (int cardIndex = 0; cardIndex < cards.length; cardIndex++) {
+            if (cards[cardIndex].getType() == type && (best == -1
+                    || currentSolution.getEnvelopeProbability(cardIndex) > currentSolution.getEnvelopeProbability(best))) {
+                best = cardIndex;
+            }
+        }
+        if (currentSolution.getEnvelopeProbability(best) == 1) {
+            for (Card card : cards) {
+                if (card.getType() == type && self.getCards().contains(card)) {
+                    return card;
+                }
+            }
+        }
+        return cards[best];
+    }
+}
@@ -0,0 +1,157 @@
+package logic;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Diese Klasse stellt die Implementierung der Monte-Carlo-KI-Stärke dar.
+ * Sie zieht dieselben Schlüsse wie die schlaue KI, wählt ihre Verdächtigungen aber über zufällig gezogene
+ * Kartenverteilungen, die zu der Spielhistorie passen (siehe {@link DealSampler}). Für jede mögliche
+ * Kombination aus Person und Waffe wird geschätzt, wie viel die gezeigten Karten über die Lösung verraten würden,
+ * die Verdächtigung mit dem höchsten erwarteten Informationsgewinn wird geäußert.
+ * <p>
+ * Die Hälfte der Zeit bis zur Frist der Entscheidung (ohne Frist eine einstellbare Zeit) wird zum Ziehen,
+ * der Rest zum Bewerten verwendet. Gibt es keine Ziehungen, verhält sich die KI wie die schlaue KI.
+ */
+public class AIMonteCarlo extends AISmart {
+    //Standardmäßige Zeit je Entscheidung in Millisekunden
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+    //Höchste Anzahl an Ziehungen je Entscheidung
+    private static final int MAX_SAMPLES = 1 << 14;
+
+    //Zeit je Entscheidung in Millisekunden
+    private long budgetMillis = DEFAULT_BUDGET_MILLIS;
+    //Zufallsgenerator, von dem je Entscheidung die Generatoren der parallelen Aufgaben abgeteilt werden
+    private final SplittableRandom random = new SplittableRandom();
+    //Anzahl der Ziehungen der letzten Entscheidung
+    private int lastSampleCount;
+
+    /**
+     * Konstruktor der Monte-Carlo-KI-Stärke.
+     *
+     * @param otherPlayerCount Anzahl der anderen Spieler im Spiel.
+     * @param cardCount        die Anzahl an im Spiel befindlichen Karten.
+     */
+    public AIMonteCarlo(int otherPlayerCount, int cardCount) {
+        super(otherPlayerCount, cardCount);
+    }
+
+    @Override
+    public AIDifficulty getDifficulty() {
+        return AIDifficulty.MONTE_CARLO;
+    }
+
+    /**
+     * Liefert die Zeit, die eine Entscheidung höchstens benötigen darf.
+     *
+     * @return die Zeit in Millisekunden.
+     */
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Setzt die Zeit, die eine Entscheidung höchstens benötigen darf.
+     *
+     * @param budgetMillis die Zeit in Millisekunden.
+     */
+    public void setBudgetMillis(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+    }
+
+    /**
+     * Liefert die Anzahl der Ziehungen der letzten Entscheidung.
+     *
+     * @return die Anzahl der Ziehungen.
+     */
+    public int getLastSampleCount() {
+        return lastSampleCount;
+    }
+
+    @Override
+    public CardTriple expressSuspicion(GameLogic logic, Player currentPlayer, Card enteredRoomCard) {
+        return expressSuspicion(logic, currentPlayer, enteredRoomCard, System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    @Override
+    protected CardTriple expressSuspicionUntil(GameLogic logic, Player currentPlayer, Card enteredRoomCard, long deadline) {
+        long timeBefore = System.nanoTime();
+        Player[] players = logic.getPlayers();
+        Card[] cards = logic.getCards();
+
+        DealSampler.Samples samples = null;
+        if (cards.length <= DealSampler.MAX_CARDS && players.length <= DealSampler.MAX_PLAYERS) {
+            DealSampler sampler = new DealSampler(players.length, cards.length, getCardTypeMasks(logic));
+            describeDeal(logic, currentPlayer, sampler);
+            samples = sampler.sample(ForkJoinPool.commonPool(), (timeBefore >> 1) + (deadline >> 1), MAX_SAMPLES,
+                    random.split());
+        }
+        lastSampleCount = samples == null ? 0 : samples.getCount();
+
+        CardTriple suspicion = null;
+        if (lastSampleCount > 0) {
+            suspicion = chooseSuspicion(logic, currentPlayer, enteredRoomCard, samples, deadline);
+        }
+        GameLogic.debugln("Ich als Monte-Carlo-KI { " + currentPlayer.getCharacter().getName() + " } habe aus "
+                + lastSampleCount + " Verteilungen in " + (System.nanoTime() - timeBefore) / 1_000_000 + " ms { "
+                + suspicion + " } gewählt");
+        return suspicion;
+    }
+
+    @Override
+    protected CardTriple expressSuspicionFallback(GameLogic logic, Player currentPlayer, Card enteredRoomCard) {
+        return super.expressSuspicion(logic, currentPlayer, enteredRoomCard);
+    }
+
+    /**
+     * Wählt die Verdächtigung mit dem höchsten erwarteten Informationsgewinn
+     * (bei gleichem Gewinn nach der Reihenfolge der Notizen).
+     *
+     * @param logic           die Hauptspiellogik.
+     * @param self            der Spieler der Monte-Carlo-KI.
+     * @param enteredRoomCard der Raum, in dem verdächtigt wird.
+     * @param samples         die gezogenen Verteilungen.
+     * @param deadline        der Zeitpunkt (System.nanoTime()), zu dem spätestens abgebrochen wird.
+     * @return die Verdächtigung oder null, falls keine vor der Frist bewertet wurde.
+     */
+    private CardTriple chooseSuspicion(GameLogic logic, Player self, Card enteredRoomCard,
+                                       DealSampler.Samples samples, long deadline) {
+        Card[] cards = logic.getCards();
+        int roomIndex = getCardIndexInNotes(cards, enteredRoomCard);
+        int characterCount = 0;
+        int weaponCount = 0;
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i].isCharacter()) {
+                characterCount++;
+            } else if (cards[i].isWeapon()) {
+                weaponCount++;
+            }
+        }
+        int[][] suspicions = new int[characterCount * weaponCount][];
+        int next = 0;
+        for (int character = 0; character < cards.length; character++) {
+            for (int weapon = 0; weapon < cards.length; weapon++) {
+                if (cards[character].isCharacter() && cards[weapon].isWeapon()) {
+                    suspicions[next++] = new int[]{character, weapon, roomIndex};
+                }
+            }
+        }
+
+        double[] gains = samples.informationGains(ForkJoinPool.commonPool(), deadline,
+                getIndexOfPlayer(logic.getPlayers(), self), suspicions);
+        int best = -1;
+        for (int i = 0; i < gains.length; i++) {
+            if (!Double.isNaN(gains[i]) && (best == -1 || gains[i] > gains[best])) {
+                best = i;
+            }
+        }
+        if (best == -1) {
+            return null;
+        }
+        CardTriple suspicion = new CardTriple();
+        suspicion.setRoom(enteredRoomCard);
+        suspicion.setCharacter(cards[suspicions[best][0]]);
+        suspicion.setWeapon(cards[suspicions[best][1]]);
+        return suspicion;
+    }
+}
@@ -37,8 +37,13 @@ public class AISmart extends AI {
     private int weaponOnHandCounter;
     //Zähler der bei mehreren offenen Personenkarten hochgezählt wird, um diese der Reihe nach zu zeigen.
     private int characterOnHandCounter;
-    //Die Spielhistorie (enthält nich die Züge bei denen die KI selbst eine Verdächtigung geäußert hat)
-    private final List<Turn> gameHistory;
+    //Die Spielhistorie (enthält nich die Züge bei denen die KI selbst eine Verdächtigung geäußert hat),
+    //Spielerindizes wie im Array aller Spieler
+    private final TurnHistory gameHistory;
+    //Die aus der Spielhistorie und den Notizen aufgebaute Wissensbasis, [Spielerindex][Kartenindex] wie im Array aller Spieler
+    private final DeductionEngine knowledge;
+    //Ob die eigenen Karten bereits in die Wissensbasis übernommen wurden
+    private boolean handLearned;
 
     /**
      * Konstruktor der schlauen KI-Stärke.
@@ -49,83 +54,9 @@ public class AISmart extends AI {
     public AISmart(int otherPlayerCount, int cardCount) {
         //-1 da man sich selbst keine Karten zeigen kann
         shownCardsCount = new int[otherPlayerCount - 1][cardCount];
-        gameHistory = new ArrayList<>();
-    }
-
-    /**
-     * Innere Statische Klasse welche einen Spielzug repräsentiert.
-     */
-    private static class Turn {
-        //Die Person welche die Verdächtigung geäußert hat.
-        private final Character suspector;
-        //Die Verdächtigung die die Person geäußert hat.
-        private final CardTriple suspicion;
-        //Die daraufhin von den anderen teilnehmenden Spielern gezeigten Karten.
-        //(Dürfen nur auf vorhandensein geprüft werden)
-        //In derselben Reihefolge, wie die Notizen über andere Spieler
-        private final Card[] cardsShown;
-
-        /**
-         * Konstruktor für einen Zug.
-         *
-         * @param suspector  die Person welche die Verdächtigung geäußert hat.
-         * @param suspicion  die Verdächtigung die die Person geäußert hat.
-         * @param cardsShown die daraufhin von den anderen teilnehmenden Spielern gezeigten Karten.
-         */
-        private Turn(Character suspector, CardTriple suspicion, Card[] cardsShown) {
-            this.suspector = suspector;
-            this.suspicion = suspicion;
-            this.cardsShown = cardsShown;
-        }
-
-        /**
-         * Liefert die Person welche die Verdächtigung geäußert hat.
-         *
-         * @return die Person welche die Verdächtigung geäußert hat.
-         */
-        private Character getSuspector() {
-            return suspector;
-        }
-
-        /**
-         * Liefert die Verdächtigung die die Person geäußert hat.
-         *
-         * @return die Verdächtigung die die Person geäußert hat.
-         */
-        private CardTriple getSuspicion() {
-            return suspicion;
-        }
-
-        /**
-         * Liefert die daraufhin von den anderen teilnehmenden Spielern gezeigten Karten.
-         *
-         * @return die daraufhin von den anderen teilnehmenden Spielern gezeigten Karten.
-         */
-        private Card[] getCardsShown() {
-            return cardsShown;
-        }
-    }
-
-    /**
-     * Aufählung für aus der die temporären Notizen bestehen. Diese werden benutzt,
-     * um Rückschlüsse auf die von anderen Spielern gezeigten Karten zu ziehen.
-     */
-    private enum TempNotes {
-        HAS, HAS_NOT, UNKNOWN;
-
-        @Override
-        public String toString() {
-            switch (this) {
-                case HAS:
-                    return "+";
-                case HAS_NOT:
-                    return "-";
-                case UNKNOWN:
-                    return "?";
-                default:
-                    throw new IllegalArgumentException("Existiert nicht");
-            }
-        }
+        //otherPlayerCount ist die Anzahl aller Spielfiguren und damit mindestens die Anzahl der Spieler
+        gameHistory = new TurnHistory(otherPlayerCount);
+        knowledge = new DeductionEngine(otherPlayerCount, cardCount);
     }
 
     @Override
@@ -194,13 +125,17 @@ public class AISmart extends AI {
     private Set<Card> getMostShownCardsToAskingPlayer(Player[] players, Card[] cards, Player currentPlayer, Player self, CardTriple suspicionResult) {
         //Die mögl. finden die zeigbar sind
         Set<Card> mostShownCards = new HashSet<>();
-        Set<Card> possibleCardsToShow = self.possibleCardsToShow(suspicionResult).getCards();
+        long possibleCardsToShow = self.possibleCardsToShow(suspicionResult.pack(cards));
         //Index des Fragen Spielers für das interne Array im dem die Anzahl gespeichert wir wie häufig wem was gezeigt wurde
         int askingPlayerIndex = getCharacterIndexInNotes(players, self, currentPlayer.getCharacter());
         int maxShownCount = Integer.MIN_VALUE;
         //Anzahl wie häufig eine Karte gezeigt wurde für jede mogl. Karte ermitteln(kann auch ein leeres Set sein)
-        for (Card card : possibleCardsToShow) {
-            int cardToShowIndex = getCardIndexInNotes(cards, card);
+        for (int position = PackedCardTriple.CHARACTER; position <= PackedCardTriple.ROOM; position++) {
+            int cardToShowIndex = PackedCardTriple.get(possibleCardsToShow, position);
+            if (cardToShowIndex == -1) {
+                continue;
+            }
+            Card card = cards[cardToShowIndex];
             int cardShownCount = shownCardsCount[askingPlayerIndex][cardToShowIndex];
             if (cardShownCount >= maxShownCount) {
                 if (cardShownCount > maxShownCount) {
@@ -232,14 +167,14 @@ public class AISmart extends AI {
                 cardToShow = mostShownCards.iterator().next();
                 //In den eigenen Notizen merken, dass diese nun häufiger gezeigt wurde
                 GameLogic.debugln("Als schlaue KI { " + self.getCharacter().getName() + " } notiere ich mir, dass ich { " + cardToShow + " } einmal häufiger gezeigt habe");
-                takeNoteCardShown(cards, cardToShow, self.getNoteSelf());
+                takeNoteCardShown(cards, cardToShow, self);
                 break;
             default: //Die Es wurden 2 oder mehr(3) der mögl. Karten dem Anklagenden Spieler gleich häufig gezeigt
                 //Es wird die erste Karte laut Notiz genommen
                 cardToShow = getFirstCardByNoteOrder(cards, mostShownCards);
                 //In den eigenen Notizen merken, dass diese nun häufiger gezeigt wurde
                 GameLogic.debugln("Als schlaue KI { " + self.getCharacter().getName() + " } notiere ich mir, dass ich { " + cardToShow + " } einmal häufiger gezeigt habe");
-                takeNoteCardShown(cards, cardToShow, self.getNoteSelf());
+                takeNoteCardShown(cards, cardToShow, self);
 
         }
         //Interne Datenstruktur beschreiben WEM sie bereits wie HÄUFIG eine KARTE gezeigt hat
@@ -261,7 +196,7 @@ public class AISmart extends AI {
      * @param target  der gesuchte Spieler.
      * @return der Index des gesuchten Spielers.
      */
-    private int getIndexOfPlayer(Player[] players, Player target) {
+    int getIndexOfPlayer(Player[] players, Player target) {
         for (int i = 0; i < players.length; i++) {
             if (players[i].equals(target)) {
                 return i;
@@ -289,9 +224,12 @@ public class AISmart extends AI {
      * @param players    alle Spieler.
      * @param cards      alle Karten.
      * @param self       der eigene KI-Spieler.
-     * @param noteOthers die Notizen über andere des eigenen KI-Spielers.
+     * @param notes      die Notizen des eigenen KI-Spielers.
      */
-    private void printNoteOthers(Player[] players, Card[] cards, Player self, NoteOthers[][] noteOthers) {
+    private void printNoteOthers(Player[] players, Card[] cards, Player self, NotesMatrix notes) {
+        if (!GameLogic.isDebugMode()) { //Tabelle nur aufbauen, wenn sie auch ausgegeben wird
+            return;
+        }
         GameLogic.debugln("Ich Als Schlaue KI {" + self.getCharacter().getName() + "} habe in meinen NoteOthers : ");
         GameLogic.debug(padRight(" ", 20));
         for (Player player : players) {
@@ -303,235 +241,196 @@ public class AISmart extends AI {
         for (Card card : cards) {
             GameLogic.debug(padRight(card.getName() + ": ", 20));
             int cardIndex = getCardIndexInNotes(cards, card);
+            NoteOthers[] row = notes.getOthersRow(cardIndex);
             for (Player player : players) {
                 if (!player.equals(self)) {
                     int playerIndexInNoteOthers = getCharacterIndexInNotes(players, self, player.getCharacter());
-                    GameLogic.debug(padRight(noteOthers[playerIndexInNoteOthers][cardIndex].toString(), 20));
+                    GameLogic.debug(padRight(row[playerIndexInNoteOthers].toString(), 20));
                 }
             }
             GameLogic.debugln();
         }
     }
 
-    /**
-     * Schreibt die temporären Notizen auf denen ausschlüsse von Karten getätigt werden
-     * auf die Konsole.
-     * (Debugausgaben)
-     *
-     * @param players   alle Spieler.
-     * @param cards     alle Karten.
-     * @param self      der eigene KI-Spieler.
-     * @param tempNotes die temporären Notizen des eigenen KI-Spielers.
-     */
-    private void printTempNotes(Player[] players, Card[] cards, Player self, TempNotes[][] tempNotes) {
-        GameLogic.debugln("Ich Als Schlaue KI {" + self.getCharacter().getName() + "} habe in meinen TempNotes : ");
-        GameLogic.debug(padRight(" ", 20));
-        for (Player player : players) {
-            GameLogic.debug(padRight(player.getCharacter().getName(), 20));
-        }
-        GameLogic.debugln();
-        for (Card card : cards) {
-            GameLogic.debug(padRight(card.getName() + ": ", 20));
-            int cardIndex = getCardIndexInNotes(cards, card);
-            for (Player player : players) {
-                int playerIndexInNoteOthers = getIndexOfPlayer(players, player);
-                GameLogic.debug(padRight(tempNotes[playerIndexInNoteOthers][cardIndex].toString(), 20));
-
-            }
-            GameLogic.debugln();
-        }
-    }
-
-
     /**
      * Wertet die Spielhistorie aus um neue Erkenntnisse zu gewinnen, welcher Spieler, welche Karte
      * auf der Hand haben könnte.
-     * Dafür wird eine temporäre Notiz erstellt, welche die eigenen, die bereits gesehenen
-     * sowie die ausgeschlossenen Karten enthält.
-     * Diese wird nun Zeilenweise abgelaufen und bei gesehenen Karten ausgeschlossen, dass diese jemand
-     * anders haben könnte.
-     * Falls ein Spieler einem anderen Spieler nun eine Karte gezeigt hat und zwei von den im Verdacht
-     * vorkommenden Karten bei dem zeigenden Spieler auf jeden Fall vorhanden sind, so wird daraus geschlossen,
+     * Dafür werden die eigenen Karten sowie die seit dem letzten Aufruf neu eingetragenen gesehenen
+     * und ausgeschlossenen Karten an die Wissensbasis übergeben.
+     * Diese schließt bei gesehenen Karten aus, dass diese jemand anders haben könnte.
+     * Falls ein Spieler einem anderen Spieler eine Karte gezeigt hat und zwei von den im Verdacht
+     * vorkommenden Karten bei dem zeigenden Spieler ausgeschlossen sind, so wird daraus geschlossen,
      * dass es sich bei der gezeigten Karte um die verbleibende Karte handelt.
-     * Dies wird jedes mal für alle in der Historie enthaltenden Spielzüge gemacht, wenn die Notizen über andere Spieler
-     * beschieben werden, da daraus eventuell neue Erkenntnisse gewonnen werden könnten.
+     * Es werden dabei nur die Spielzüge erneut betrachtet, welche von einer neuen Erkenntnis betroffen sind.
+     * Die daraus gefolgerten Einträge werden in die Notizen über andere Spieler übernommen.
      *
      * @param players alle Spieler im Spiel.
      * @param cards   alle Karten im Spiel.
      * @param self    der Spieler der schauen KI
      */
-    private void analyzeHistory(Player[] players, Card[] cards, Player self) {
-
-        //Zwischendatenstruktur aufbauen und mit Fragezeichen füllen
-        TempNotes[][] tempNotes = new TempNotes[players.length][cards.length];
-        //Mit Fragezeichen befüllen
-        for (TempNotes[] tempNote : tempNotes) {
-            Arrays.fill(tempNote, TempNotes.UNKNOWN);
-        }
-
+    void analyzeHistory(Player[] players, Card[] cards, Player self) {
         //Eigene Spalte (Index für den Spaltenzugriff ausrechnen)
         int selfIndex = getIndexOfPlayer(players, self);
 
-        // mit hat oder hat nicht befüllen ausgehend von der Hand
-        List<Card> cardsOnHand = self.getCards();
-        for (int cardInTempNotesIndex = 0; cardInTempNotesIndex < cards.length; cardInTempNotesIndex++) {
-            if (cardsOnHand.contains(cards[cardInTempNotesIndex])) {
-                tempNotes[selfIndex][cardInTempNotesIndex] = TempNotes.HAS;
-            } else {
-                tempNotes[selfIndex][cardInTempNotesIndex] = TempNotes.HAS_NOT;
-            }
-        }
-
-
-        //Schreibe aus den Notizen Informationen über andere Spieler in die Zwischendatenstruktur ob diese Karten haben oder nicht
-        NoteOthers[][] noteOthers = self.getNoteOthers();
-
-        printNoteOthers(players, cards, self, noteOthers);
-
-        int tempNotesPlayerIndex = 0;
-        for (Player player : players) {
-            //getCharacterIndexInNotes gibt bei dem eigenen Character -1 zurück
-            int playerInNoteOthersIndex = getCharacterIndexInNotes(players, self, player.getCharacter());
-            if (playerInNoteOthersIndex != -1) {
-                for (Card card : cards) {
-                    int currentCardIndex = getCardIndexInNotes(cards, card);
-                    if (noteOthers[playerInNoteOthersIndex][currentCardIndex] == NoteOthers.HAS_NOT) {
-                        tempNotes[tempNotesPlayerIndex][currentCardIndex] = TempNotes.HAS_NOT;
-                    } else if (noteOthers[playerInNoteOthersIndex][currentCardIndex] == NoteOthers.SEEN) {
-                        tempNotes[tempNotesPlayerIndex][currentCardIndex] = TempNotes.HAS;
-                    }
+        //Eigene Spalte einmalig mit hat oder hat nicht befüllen ausgehend von der Hand
+        if (!handLearned) {
+            boolean[] onHand = new boolean[cards.length];
+            for (Card card : self.getCards()) {
+                int cardIndex = getCardIndexInNotes(cards, card);
+                if (cardIndex != -1) {
+                    onHand[cardIndex] = true;
                 }
             }
-            tempNotesPlayerIndex++;
+            for (int cardIndex = 0; cardIndex < cards.length; cardIndex++) {
+                knowledge.learn(selfIndex, cardIndex, onHand[cardIndex] ? DeductionEngine.HAS : DeductionEngine.HAS_NOT);
+            }
+            handLearned = true;
         }
 
-        //Zeilenweise ablaufen und versuchen dinge auszuschließen
-        analizeRowInTempNotes(tempNotes);
+        //Neue Informationen aus den Notizen über andere Spieler übernehmen
+        CardKnowledge notes = self.getKnowledge();
 
-        //Historie Eintrag für Eintrag ablaufen
-        for (Turn turn : gameHistory) {
-            Character currentSuspector = turn.getSuspector();
-            CardTriple currentSuspicion = turn.getSuspicion();
-            Card[] currentShownCards = turn.getCardsShown();
-            //Über alle Spieler die auf eine Verdächtigung reagiert haben laufen (außer einem selber)
-            int shownCardsIndex = 0;
-            for (Player player : players) {
-                if (!player.getCharacter().equals(currentSuspector)) {
-                    if (currentShownCards[shownCardsIndex] != null) { //Es wurde etwas gezeigt
-                        if (!player.equals(self)) { //Wenn man selber etwas gezeigt hat,dann kann man daraus keine Rückschlüsse ziehen
-                            int playerIndexInTempNotes = getIndexOfPlayer(players, player);
-                            //In die Spalte des Spielers schauen und prüfen ob bereits 2 der 3 Karten der Verdächtigung bei Ihm ausgeschlossen werden konnten
-                            int indexOfRemainingCardToExclude = getIndexOfCardToExclude(cards, tempNotes[playerIndexInTempNotes], currentSuspicion);
-                            if (indexOfRemainingCardToExclude != -1) { //Es wurde tatsächlich solch eine Karte gefunden
-                                //Durch den Ausschluss kann die Karte nun als gesehen betrachtet werden
-                                tempNotes[playerIndexInTempNotes][indexOfRemainingCardToExclude] = TempNotes.HAS;
-                                GameLogic.debugln("ES WURDE EIN AUSSCHLUSS GETÄTIGT");
-                                //Es könnten eventuell nun weitere Karten ausgeschlossen werden
-                                analizeRowInTempNotes(tempNotes);
-                            }
-                        }
+        printNoteOthers(players, cards, self, self.getNotes());
+
+        for (int playerIndex = 0; playerIndex < players.length; playerIndex++) {
+            if (playerIndex != selfIndex) {
+                //Die Notizen enthalten alle Spieler außer einem selber
+                int column = playerIndex < selfIndex ? playerIndex : playerIndex - 1;
+                for (int cardIndex = 0; cardIndex < cards.length; cardIndex++) {
+                    if (notes.hasNot(column, cardIndex)) {
+                        knowledge.learn(playerIndex, cardIndex, DeductionEngine.HAS_NOT);
+                    } else if (notes.has(column, cardIndex)) {
+                        knowledge.learn(playerIndex, cardIndex, DeductionEngine.HAS);
                     }
-                    shownCardsIndex++;
                 }
             }
         }
 
-        //Daten aus der Zwischendatenstruktur wieder in die Notizen über die anderen Spieler überführen
-        for (int tempNoteCharacterIndex = 0; tempNoteCharacterIndex < tempNotes.length; tempNoteCharacterIndex++) {
-            Player player = players[tempNoteCharacterIndex];
-            if (!player.equals(self)) {
-                //Der Index des Spielers in den Notizen über andere
-                int playerInNotesIndex = getCharacterIndexInNotes(players, self, player.getCharacter());
-                for (Card card : cards) { //Die Spalte ablaufen und neue Erkenntnisse in die Notizen über andere Spieler eintragen
-                    int currentCardIndex = getCardIndexInNotes(cards, card);
-                    if (tempNotes[tempNoteCharacterIndex][currentCardIndex] == TempNotes.HAS) {
-                        noteOthers[playerInNotesIndex][currentCardIndex] = NoteOthers.SEEN;
-                    } else if (tempNotes[tempNoteCharacterIndex][currentCardIndex] == TempNotes.HAS_NOT) {
-                        noteOthers[playerInNotesIndex][currentCardIndex] = NoteOthers.HAS_NOT;
-                    }
-                }
+        //Nur die von den neuen Informationen betroffenen Regeln prüfen
+        knowledge.propagate();
+
+        //Die neuen Erkenntnisse in die Notizen über die anderen Spieler überführen
+        int changedCount = knowledge.pollChanged();
+        for (int i = 0; i < changedCount; i++) {
+            int cell = knowledge.getChanged(i);
+            int playerIndex = cell / cards.length;
+            int cardIndex = cell % cards.length;
+            //Die Wissensbasis enthält Zeilen für alle Spielfiguren, eingetragen werden nur die Mitspieler
+            if (playerIndex != selfIndex && playerIndex < players.length) {
+                GameLogic.debugln("ES WURDE EIN AUSSCHLUSS GETÄTIGT");
+                self.setNoteOthers(playerIndex < selfIndex ? playerIndex : playerIndex - 1, cardIndex,
+                        knowledge.get(playerIndex, cardIndex) == DeductionEngine.HAS ? NoteOthers.SEEN : NoteOthers.HAS_NOT);
             }
         }
-        printNoteOthers(players, cards, self, noteOthers);
+        printNoteOthers(players, cards, self, self.getNotes());
         //Nun sind die Notizen über andere Spieler mit neuen Infos angereichert
     }
 
     /**
-     * Liefert den Index der Karte in den temporären Notizen, welche aufgrund eines Auschlusses,
-     * nun als gesehen angenommen werden kann.
+     * Liefert die aus der Spielhistorie und den Notizen aufgebaute Wissensbasis.
+     * Ist erst nach {@link #analyzeHistory(Player[], Card[], Player)} aktuell.
      *
-     * @param cards            alle Karten im Spiel.
-     * @param tempNote         die temporären Notizen auf denen die Ausschlüsse getätigt werden.
-     * @param currentSuspicion die Verdächtigung in dem aktuell betrachtetem Fall.
-     * @return der Index der Karte die als gesehen angenommen werden kann.
-     * Falls nicht mögl., dann -1.
+     * @return die Wissensbasis, indiziert über die Spieler wie im Array aller Spieler.
      */
-    private int getIndexOfCardToExclude(Card[] cards, TempNotes[] tempNote, CardTriple currentSuspicion) {
-        List<Card> cardsThePlayerDontHave = new ArrayList<>();
-        Set<Card> suspicion = currentSuspicion.getCards();
-        for (int cardInTempNotesIndex = 0; cardInTempNotesIndex < cards.length; cardInTempNotesIndex++) {
-            if (suspicion.contains(cards[cardInTempNotesIndex])) {
-                if (tempNote[cardInTempNotesIndex] == TempNotes.HAS_NOT) {
-                    cardsThePlayerDontHave.add(cards[cardInTempNotesIndex]);
-                }
-            }
-        }
-        if (cardsThePlayerDontHave.size() == 2) { //Wenn schon 2 Karten der damaligen Verdächtigung ausgeschlossen werden konnten
-            //Dieser Spieler aber eine Karte gezeigt hat, dann muss der Spieler die verbleibende Karte definitiv auf der Hand haben
-            //Aus der damaligen Verdächtigung die Karten die der Spieler definitiv nicht hat abziehen
-            suspicion.removeAll(cardsThePlayerDontHave);
-            Card playersCard = suspicion.iterator().next();
-            return getCardIndexInNotes(cards, playersCard);
-        }
-        return -1;
+    DeductionEngine getKnowledgeBase() {
+        return knowledge;
     }
 
-
     /**
-     * Prüft, ob eine der Karten bereits gesehen wurde
-     * Wenn der Fall, dann in gesamter Zeile "hat nicht" eintragen außer bei der gesehenen Karte.
+     * Wertet die Spielhistorie aus und übergibt das Wissen über alle Spieler als Bitmasken,
+     * zusammen mit den Verdächtigungen, bei denen eine Karte gezeigt wurde (je Spieler aus der Spielhistorie).
      *
-     * @param tempNotes die temporären Notizen.
+     * @param logic  die Hauptspiellogik.
+     * @param self   der Spieler der KI.
+     * @param target das Ziel, an welches das Wissen übergeben wird.
+     * @return false, falls es mehr Karten gibt als in eine Maske passen, dann wird nichts übergeben.
      */
-    private void analizeRowInTempNotes(TempNotes[][] tempNotes) {
-        //Zeilenweise durch das Array laufen
-        for (int noteIndex = 0; noteIndex < tempNotes[0].length; noteIndex++) { //Alle Zeilen sind gleich lang
-            int hasIndex = -1;
-            for (int characterIndex = 0; characterIndex < tempNotes.length; characterIndex++) {
-                if (tempNotes[characterIndex][noteIndex] == TempNotes.HAS) {
-                    hasIndex = characterIndex;
+    boolean describeDeal(GameLogic logic, Player self, DealConstraints target) {
+        Player[] players = logic.getPlayers();
+        Card[] cards = logic.getCards();
+        if (cards.length > Long.SIZE) {
+            return false;
+        }
+        analyzeHistory(players, cards, self);
+        for (int playerIndex = 0; playerIndex < players.length; playerIndex++) {
+            long has = 0L;
+            long hasNot = 0L;
+            for (int cardIndex = 0; cardIndex < cards.length; cardIndex++) {
+                byte state = knowledge.get(playerIndex, cardIndex);
+                if (state == DeductionEngine.HAS) {
+                    has |= 1L << cardIndex;
+                } else if (state == DeductionEngine.HAS_NOT) {
+                    hasNot |= 1L << cardIndex;
                 }
             }
-            if (hasIndex != -1) { //Es wurde ein HAS Eintrag gefunden
-                //Nochmal durch die Zeile und alles außer dem hasIndex auf Has_Not setzen
-                for (int characterIndex = 0; characterIndex < tempNotes.length; characterIndex++) {
-                    if (characterIndex != hasIndex) {
-                        tempNotes[characterIndex][noteIndex] = TempNotes.HAS_NOT;
-                    }
+            //Die Anzahl der Karten auf der Hand ist für alle Spieler sichtbar
+            target.setPlayer(playerIndex, has, hasNot, players[playerIndex].getCards().size());
+            //Nur die Züge, in denen der Spieler eine Karte gezeigt hat
+            for (int i = 0; i < gameHistory.countShownBy(playerIndex); i++) {
+                long packed = gameHistory.getSuspicion(gameHistory.getShownByTurn(playerIndex, i));
+                long suspicion = 0L;
+                for (int position = PackedCardTriple.CHARACTER; position <= PackedCardTriple.ROOM; position++) {
+                    suspicion |= 1L << PackedCardTriple.get(packed, position);
                 }
+                target.addShownConstraint(playerIndex, suspicion);
             }
         }
+        return true;
+    }
 
-
+    /**
+     * Liefert die Karten je Kartentyp als Maske über die Kartenindizes.
+     * Nur gültig, wenn es höchstens 64 Karten gibt.
+     *
+     * @param logic die Hauptspiellogik.
+     * @return die Masken, indiziert über CardType.ordinal().
+     */
+    static long[] getCardTypeMasks(GameLogic logic) {
+        long[] typeMasks = new long[CardType.values().length];
+        for (CardType type : CardType.values()) {
+            typeMasks[type.ordinal()] = logic.getCardTypeMask(type)[0];
+        }
+        return typeMasks;
     }
 
     /**
-     * Prüft ob zwei genau Karten aus dem Verdacht in dem übergebenen Set vorhanden sind.
+     * Hängt den Zug an die Spielhistorie an und verzeichnet in der Wissensbasis für alle anderen Spieler,
+     * die auf eine Verdächtigung eine Karte gezeigt haben, dass sie eine der drei Karten besitzen.
      *
-     * @param ownCards  ein Set mit den eigenen Karten.
-     * @param suspicion die Verdächtigung aus der zwei Elemente im Set vorhanden sein sollen.
-     * @return ob genau zwei Elemente vorhanden sind oder nicht.
+     * @param players       alle Spieler im Spiel.
+     * @param cards         alle Karten im Spiel.
+     * @param self          der Spieler der schlauen KI.
+     * @param currentPlayer der Spieler der die Verdächtigung geäußert hat.
+     * @param suspicion     die Verdächtigung.
+     * @param shownCards    die von den Spielern gezeigten Karten.(prüfung nur == null)
      */
-    private boolean containsTwo(Set<Card> ownCards, CardTriple suspicion) {
-        return (ownCards.contains(suspicion.getRoom()) && ownCards.contains(suspicion.getCharacter()))
-                || (ownCards.contains(suspicion.getRoom()) && ownCards.contains(suspicion.getWeapon()))
-                || (ownCards.contains(suspicion.getCharacter()) && ownCards.contains(suspicion.getWeapon()));
+    private void rememberShownConstraints(Player[] players, Card[] cards, Player self, Player currentPlayer,
+                                          CardTriple suspicion, Card[] shownCards) {
+        int selfIndex = getIndexOfPlayer(players, self);
+        long shownBy = 0;
+        int shownCardsIndex = 0;
+        for (int playerIndex = 0; playerIndex < players.length; playerIndex++) {
+            if (!players[playerIndex].equals(currentPlayer)) {
+                if (shownCards[shownCardsIndex] != null) {
+                    shownBy |= 1L << playerIndex;
+                }
+                shownCardsIndex++;
+            }
+        }
+        //Wenn man selber etwas gezeigt hat,dann kann man daraus keine Rückschlüsse ziehen
+        long shownByOthers = selfIndex == -1 ? shownBy : shownBy & ~(1L << selfIndex);
+        long packed = suspicion.pack(cards);
+        gameHistory.add(packed, shownByOthers);
+        for (long shown = shownByOthers; shown != 0; shown &= shown - 1) {
+            knowledge.addShownConstraint(Long.numberOfTrailingZeros(shown), PackedCardTriple.get(packed, PackedCardTriple.CHARACTER),
+                    PackedCardTriple.get(packed, PackedCardTriple.WEAPON), PackedCardTriple.get(packed, PackedCardTriple.ROOM));
+        }
     }
 
     @Override
     public void watchCardsGetShown(Player[] allPlayers, Card[] allCards, Player myself, Player
             currentPlayer, CardTriple suspicion, Card[] shownCards) {
-        gameHistory.add(new Turn(currentPlayer.getCharacter(), suspicion, shownCards));
+        rememberShownConstraints(allPlayers, allCards, myself, currentPlayer, suspicion, shownCards);
 
         //Bei denjenigen die nichts gezeigt haben notieren, dass diese definitiv keine dieser 3 Karten besitzen
         int shownCardsIndexDEBUG = 0;
@@ -543,9 +442,7 @@ public class AISmart extends AI {
                     print = "nichts";
                     //Notiz machen, dass dieser Spieler definitiv keine der 3 Karten hat
                     if (!player.equals(myself)) { //Keine Notizen in Note Others über meine Eigene Karten machen
-                        takeNote(allPlayers, allCards, myself, player.getCharacter(), suspicion.getCharacter(), NoteOthers.HAS_NOT);
-                        takeNote(allPlayers, allCards, myself, player.getCharacter(), suspicion.getWeapon(), NoteOthers.HAS_NOT);
-                        takeNote(allPlayers, allCards, myself, player.getCharacter(), suspicion.getRoom(), NoteOthers.HAS_NOT);
+                        takeNotes(allPlayers, allCards, myself, player.getCharacter(), suspicion, NoteOthers.HAS_NOT);
                         GameLogic.debugln("Ich Als Schlaue KI { " + myself.getCharacter().getName() + " } notiere mir dass, { " + player.getCharacter().getName() + " } definitiv keine { " + suspicion.getCharacter() + " } hat");
                         GameLogic.debugln("Ich Als Schlaue KI { " + myself.getCharacter().getName() + " } notiere mir dass, { " + player.getCharacter().getName() + " } definitiv keine { " + suspicion.getWeapon() + " } hat");
                         GameLogic.debugln("Ich Als Schlaue KI { " + myself.getCharacter().getName() + " } notiere mir dass, { " + player.getCharacter().getName() + " } definitiv keine { " + suspicion.getRoom() + " } hat");
@@ -561,9 +458,9 @@ public class AISmart extends AI {
         //Über die gesamte Historie laufen und schauen ob man etwas herleiten kann und falls ja dies in die Notizen eintragen
 
         //Falls Die KI 2 Karten des Verdachtes auf der Hand hat und jemand eine Karte zeigt, dann hat derjenige diese Karte
-        Set<Card> ownCards = new HashSet<>(myself.getCards());
-        if (containsTwo(ownCards, suspicion)) {
-            concludeTwoCardsOfSuspicionOnHand(allPlayers, allCards, myself, currentPlayer, suspicion, shownCards, ownCards);
+        long packedSuspicion = suspicion.pack(allCards);
+        if (myself.countCardsOnHand(packedSuspicion) == 2) {
+            concludeTwoCardsOfSuspicionOnHand(allPlayers, allCards, myself, currentPlayer, packedSuspicion, shownCards);
         }
 
         analyzeHistory(allPlayers, allCards, myself);
@@ -579,12 +476,11 @@ public class AISmart extends AI {
      * @param allCards      alle Karten im Spiel.
      * @param myself        der Spieler der KI.
      * @param currentPlayer der Spieler der aktuell eine Verdächtigung geäußert hat.
-     * @param suspicion     die Verdächtigung die der aktuelle Spieler geäußert hat.
+     * @param suspicion     die gepackte Verdächtigung die der aktuelle Spieler geäußert hat.
      * @param shownCards    die von den Spielern gezeigten Karten.(prüfung nur == null)
-     * @param ownCards      die Karten auf der Hand des KI-Spielers.
      */
     private void concludeTwoCardsOfSuspicionOnHand(Player[] allPlayers, Card[] allCards, Player
-            myself, Player currentPlayer, CardTriple suspicion, Card[] shownCards, Set<Card> ownCards) {
+            myself, Player currentPlayer, long suspicion, Card[] shownCards) {
         int shownCardsIndex = 0;
         for (Player player : allPlayers) {
             if (!player.equals(currentPlayer)) { //Der aktuelle Spieler ist nicht in den gezeigten Karten enthalten
@@ -592,10 +488,15 @@ public class AISmart extends AI {
                 //kann ich draus schließen, dass die Karte welche ich nicht habe die Karte ist die der Andere spieler gezeigt hat
                 if (shownCards[shownCardsIndex] != null && !player.equals(myself)) {
                     //Ich könnte die Karte die
-                    Set<Card> shownCardSet = suspicion.getCards();
-                    shownCardSet.removeAll(ownCards);
-                    assert shownCardSet.size() == 1;
-                    Card shownCard = shownCardSet.iterator().next();
+                    long shownCardSet = PackedCardTriple.removeHand(suspicion, myself.getKnowledge().ownMask());
+                    assert PackedCardTriple.size(shownCardSet) == 1;
+                    Card shownCard = null;
+                    for (int position = PackedCardTriple.CHARACTER; position <= PackedCardTriple.ROOM; position++) {
+                        int cardIndex = PackedCardTriple.get(shownCardSet, position);
+                        if (cardIndex != -1) {
+                            shownCard = allCards[cardIndex];
+                        }
+                    }
                     assert shownCard.equals(shownCards[shownCardsIndex]);
                     takeNote(allPlayers, allCards, myself, player.getCharacter(), shownCard, NoteOthers.SEEN);
                     GameLogic.debugln("Ich Als Schlaue KI { " + myself.getCharacter().getName() + " } notiere mir dass, { " + player.getCharacter().getName() + " } definitiv ein { " + shownCard + " } hat da ich 2 Karten des Verdachtes auf der Hand habe");
@@ -0,0 +1,185 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * A*-Suche auf dem Nachbarschaftsgraphen. Als Schätzung dient die Manhattan-Distanz zum nächstgelegenen Ziel,
+ * welche die tatsächliche Entfernung nie überschätzt, sodass der gefundene Weg der kürzeste ist.
+ * <p>
+ * Die offene Liste ist ein binärer Heap aus long-Werten (Schätzung in den oberen, Flur-Id in den unteren 32 Bit).
+ * Veraltete Einträge werden beim Entnehmen übersprungen.
+ */
+class AStarPathFinder extends AbstractPathFinder {
+    //Bisherige Kosten je Flur-Id, gültig wenn besucht
+    private int[] costs = new int[0];
+    //Markierung der abgeschlossenen Flur-Ids, gültig wenn gleich stamp
+    private int[] closed = new int[0];
+    //Heap der offenen Flur-Ids
+    private long[] heap = new long[0];
+    //Anzahl der Einträge im Heap
+    private int heapSize;
+
+    //Koordinaten der Ziele auf dem Flur
+    private int[] destinationX = new int[0];
+    private int[] destinationY = new int[0];
+    //Anzahl der Ziele auf dem Flur
+    private int destinationCount;
+
+    @Override
+    void onCapacityChanged(int corridorCount) {
+        costs = new int[corridorCount];
+        closed = new int[corridorCount];
+        heap = new long[corridorCount * 4 + 4]; //Jede Flur-Id wird höchstens je Nachbar einmal eingefügt
+    }
+
+    @Override
+    void onStampReset() {
+        Arrays.fill(closed, 0);
+    }
+
+    @Override
+    List<Position> search(BoardGraph graph, Position[] starts, Set<Position> destinations, IntPredicate blocked) {
+        prepare(graph, destinations);
+        collectDestinations(graph, destinations);
+        if (destinationCount == 0) {
+            return null;
+        }
+        heapSize = 0;
+        //Startpositionen auf dem Flur
+        for (Position start : starts) {
+            int id = graph.idAt(start);
+            if (id != BoardGraph.NO_CORRIDOR && !isVisited(id)) {
+                open(graph, id, ROOT, 0);
+            }
+        }
+        //Startpositionen außerhalb des Flures (z.B. Wände) starten bei ihren freien Nachbarn
+        for (int i = 0; i < starts.length; i++) {
+            if (graph.idAt(starts[i]) == BoardGraph.NO_CORRIDOR) {
+                for (int id : freeNeighboursOf(graph, starts[i], blocked)) {
+                    if (id != BoardGraph.NO_CORRIDOR && !isVisited(id)) {
+                        open(graph, id, -2 - i, 0); //Verweis auf die Startposition
+                    }
+                }
+            }
+        }
+        while (heapSize > 0) {
+            int current = (int) pop();
+            if (closed[current] == stamp) { //Veralteter Eintrag
+                continue;
+            }
+            closed[current] = stamp;
+            if (isDestination(current)) {
+                return buildPath(graph, current, starts);
+            }
+            int nextCost = costs[current] + 1;
+            for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current); n++) {
+                int next = graph.neighbourAt(n);
+                if (closed[next] != stamp && !blocked.test(next) && (!isVisited(next) || nextCost < costs[next])) {
+                    open(graph, next, current, nextCost);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merkt sich die Koordinaten der Ziele auf dem Flur für die Schätzung.
+     *
+     * @param graph        der Nachbarschaftsgraph des Spielfeldes.
+     * @param destinations die Zielpositionen.
+     */
+    private void collectDestinations(BoardGraph graph, Set<Position> destinations) {
+        if (destinationX.length < destinations.size()) {
+            destinationX = new int[destinations.size()];
+            destinationY = new int[destinations.size()];
+        }
+        destinationCount = 0;
+        for (Position dest : destinations) {
+            if (graph.idAt(dest) != BoardGraph.NO_CORRIDOR) {
+                destinationX[destinationCount] = dest.getX();
+                destinationY[destinationCount] = dest.getY();
+                destinationCount++;
+            }
+        }
+    }
+
+    /**
+     * Schätzt die Entfernung zum nächstgelegenen Ziel über die Manhattan-Distanz.
+     *
+     * @param graph der Nachbarschaftsgraph des Spielfeldes.
+     * @param id    die Flur-Id.
+     * @return die geschätzte Entfernung.
+     */
+    private int estimate(BoardGraph graph, int id) {
+        int x = graph.getX(id);
+        int y = graph.getY(id);
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < destinationCount; i++) {
+            best = Math.min(best, Math.abs(destinationX[i] - x) + Math.abs(destinationY[i] - y));
+        }
+        return best;
+    }
+
+    /**
+     * Nimmt eine Flur-Id mit den übergebenen Kosten in die offene Liste auf.
+     *
+     * @param graph      der Nachbarschaftsgraph des Spielfeldes.
+     * @param id         die Flur-Id.
+     * @param parentOfId der Vorgänger.
+     * @param cost       die Kosten bis zu der Flur-Id.
+     */
+    private void open(BoardGraph graph, int id, int parentOfId, int cost) {
+        visit(id, parentOfId);
+        costs[id] = cost;
+        push(((long) (cost + estimate(graph, id)) << 32) | id);
+    }
+
+    /**
+     * Fügt einen Eintrag in den Heap ein.
+     *
+     * @param entry der Eintrag.
+     */
+    private void push(long entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int index = heapSize++;
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            if (heap[parentIndex] <= entry) {
+                break;
+            }
+            heap[index] = heap[parentIndex];
+            index = parentIndex;
+        }
+        heap[index] = entry;
+    }
+
+    /**
+     * Entnimmt den kleinsten Eintrag aus dem Heap.
+     *
+     * @return die Flur-Id des kleinsten Eintrags.
+     */
+    private long pop() {
+        long result = heap[0];
+        long last = heap[--heapSize];
+        int index = 0;
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return result & 0xFFFFFFFFL;
+    }
+}
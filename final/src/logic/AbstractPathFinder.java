@@ -0,0 +1,195 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Gemeinsame Grundlage der Wegsuchen auf dem Nachbarschaftsgraphen.
+ * Übernimmt die Sonderfälle (leere Eingaben, Start ist Ziel) und hält wiederverwendbare Arrays, welche über
+ * eine fortlaufende Markierung ungültig gemacht werden, statt sie bei jeder Suche zu leeren.
+ * <p>
+ * Vorgänger werden als Flur-Id gespeichert. -1 markiert eine Startposition auf dem Flur,
+ * -2 - i einen Nachbarn der i-ten Startposition, welche nicht auf dem Flur liegt.
+ */
+abstract class AbstractPathFinder implements PathFinder {
+    //Vorgänger einer Startposition auf dem Flur
+    static final int ROOT = -1;
+
+    //Vorgänger je Flur-Id
+    int[] parent = new int[0];
+    //Markierung der besuchten Flur-Ids, gültig wenn gleich stamp
+    int[] visited = new int[0];
+    //Markierung der Ziel-Flur-Ids, gültig wenn gleich stamp
+    int[] destination = new int[0];
+    //Aktuelle Markierung
+    int stamp;
+
+    @Override
+    public final List<Position> findShortestPath(BoardGraph graph, Set<Position> starts, Set<Position> destinations, IntPredicate blocked) {
+        if (destinations == null || destinations.isEmpty() || starts.isEmpty()) { //Muss mind. ein Ziel haben
+            return null;
+        }
+        Position[] startPositions = starts.toArray(new Position[0]);
+        for (Position start : startPositions) {
+            if (destinations.contains(start)) {
+                List<Position> path = new ArrayList<>();
+                path.add(start);
+                return path;
+            }
+        }
+        return search(graph, startPositions, destinations, blocked);
+    }
+
+    /**
+     * Führt die eigentliche Suche durch. Keine Startposition ist ein Ziel und es gibt mindestens ein Ziel.
+     *
+     * @param graph        der Nachbarschaftsgraph des Spielfeldes.
+     * @param starts       die möglichen Ausgangspositionen.
+     * @param destinations die Zielpositionen.
+     * @param blocked      prüft, ob ein Flurfeld von einer Spielfigur versperrt ist.
+     * @return der kürzeste Pfad oder null.
+     */
+    abstract List<Position> search(BoardGraph graph, Position[] starts, Set<Position> destinations, IntPredicate blocked);
+
+    /**
+     * Bereitet die Arrays für eine neue Suche vor und markiert die Ziele auf dem Flur.
+     *
+     * @param graph        der Nachbarschaftsgraph des Spielfeldes.
+     * @param destinations die Zielpositionen.
+     */
+    void prepare(BoardGraph graph, Set<Position> destinations) {
+        int corridorCount = graph.getCorridorCount();
+        if (parent.length < corridorCount) {
+            parent = new int[corridorCount];
+            visited = new int[corridorCount];
+            destination = new int[corridorCount];
+            stamp = 0;
+            onCapacityChanged(corridorCount);
+        }
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            Arrays.fill(destination, 0);
+            stamp = 0;
+            onStampReset();
+        }
+        stamp++;
+        for (Position dest : destinations) {
+            int id = graph.idAt(dest);
+            if (id != BoardGraph.NO_CORRIDOR) {
+                destination[id] = stamp;
+            }
+        }
+    }
+
+    /**
+     * Wird aufgerufen, wenn die Arrays für einen größeren Graphen neu angelegt wurden,
+     * damit Unterklassen eigene Arrays anpassen können.
+     *
+     * @param corridorCount die neue Anzahl an Flurfeldern.
+     */
+    void onCapacityChanged(int corridorCount) {
+    }
+
+    /**
+     * Wird aufgerufen, wenn die Markierung wieder bei null beginnt,
+     * damit Unterklassen eigene Markierungsarrays leeren können.
+     */
+    void onStampReset() {
+    }
+
+    /**
+     * Prüft, ob die Flur-Id in der aktuellen Suche besucht wurde.
+     *
+     * @param id die Flur-Id.
+     * @return ob die Flur-Id besucht wurde.
+     */
+    boolean isVisited(int id) {
+        return visited[id] == stamp;
+    }
+
+    /**
+     * Markiert die Flur-Id als besucht und merkt sich den Vorgänger.
+     *
+     * @param id         die Flur-Id.
+     * @param parentOfId der Vorgänger.
+     */
+    void visit(int id, int parentOfId) {
+        visited[id] = stamp;
+        parent[id] = parentOfId;
+    }
+
+    /**
+     * Prüft, ob die Flur-Id ein Ziel der aktuellen Suche ist.
+     *
+     * @param id die Flur-Id.
+     * @return ob die Flur-Id ein Ziel ist.
+     */
+    boolean isDestination(int id) {
+        return destination[id] == stamp;
+    }
+
+    /**
+     * Liefert die freien Nachbarn einer Startposition außerhalb des Flures.
+     * Reihenfolge: oben, links, rechts, unten.
+     *
+     * @param graph   der Nachbarschaftsgraph des Spielfeldes.
+     * @param start   die Startposition.
+     * @param blocked prüft, ob ein Flurfeld versperrt ist.
+     * @return die Flur-Ids der Nachbarn, NO_CORRIDOR für nicht betretbare Nachbarn.
+     */
+    static int[] freeNeighboursOf(BoardGraph graph, Position start, IntPredicate blocked) {
+        int x = start.getX();
+        int y = start.getY();
+        int[] ids = {graph.idAt(x, y - 1), graph.idAt(x - 1, y), graph.idAt(x + 1, y), graph.idAt(x, y + 1)};
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != BoardGraph.NO_CORRIDOR && blocked.test(ids[i])) {
+                ids[i] = BoardGraph.NO_CORRIDOR;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Erstellt den Pfad von der Startposition bis zu dem übergebenen Flurfeld anhand der Vorgänger.
+     *
+     * @param graph  der Nachbarschaftsgraph des Spielfeldes.
+     * @param end    die Flur-Id des Endes.
+     * @param starts die Startpositionen der Suche.
+     * @return der Pfad inklusive Start und Ende.
+     */
+    List<Position> buildPath(BoardGraph graph, int end, Position[] starts) {
+        List<Position> path = new ArrayList<>();
+        appendPathTo(graph, end, starts, path);
+        return path;
+    }
+
+    /**
+     * Hängt den Pfad von der Startposition bis zu dem übergebenen Flurfeld an die Liste an.
+     *
+     * @param graph  der Nachbarschaftsgraph des Spielfeldes.
+     * @param end    die Flur-Id des Endes.
+     * @param starts die Startpositionen der Suche.
+     * @param path   die Liste, an welche der Pfad angehängt wird.
+     */
+    void appendPathTo(BoardGraph graph, int end, Position[] starts, List<Position> path) {
+        int length = 0;
+        int current = end;
+        while (current >= 0) {
+            length++;
+            current = parent[current];
+        }
+        Position[] positions = new Position[current == ROOT ? length : length + 1];
+        if (current != ROOT) { //Start außerhalb des Flures
+            positions[0] = starts[-2 - current];
+        }
+        current = end;
+        for (int i = positions.length - 1; current >= 0; i--) {
+            positions[i] = graph.getPosition(current);
+            current = parent[current];
+        }
+        path.addAll(Arrays.asList(positions));
+    }
+}
@@ -0,0 +1,58 @@
+package logic;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Breitensuche auf dem Nachbarschaftsgraphen mit einer Warteschlange als Array.
+ */
+class BfsPathFinder extends AbstractPathFinder {
+    //Warteschlange der Flur-Ids
+    private int[] queue = new int[0];
+
+    @Override
+    void onCapacityChanged(int corridorCount) {
+        queue = new int[corridorCount];
+    }
+
+    @Override
+    List<Position> search(BoardGraph graph, Position[] starts, Set<Position> destinations, IntPredicate blocked) {
+        prepare(graph, destinations);
+        int head = 0;
+        int tail = 0;
+        //Startpositionen auf dem Flur
+        for (Position start : starts) {
+            int id = graph.idAt(start);
+            if (id != BoardGraph.NO_CORRIDOR && !isVisited(id)) {
+                visit(id, ROOT);
+                queue[tail++] = id;
+            }
+        }
+        //Startpositionen außerhalb des Flures (z.B. Wände) starten bei ihren freien Nachbarn
+        for (int i = 0; i < starts.length; i++) {
+            if (graph.idAt(starts[i]) == BoardGraph.NO_CORRIDOR) {
+                for (int id : freeNeighboursOf(graph, starts[i], blocked)) {
+                    if (id != BoardGraph.NO_CORRIDOR && !isVisited(id)) {
+                        visit(id, -2 - i); //Verweis auf die Startposition
+                        queue[tail++] = id;
+                    }
+                }
+            }
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            if (isDestination(current)) {
+                return buildPath(graph, current, starts);
+            }
+            for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current); n++) {
+                int next = graph.neighbourAt(n);
+                if (!isVisited(next) && !blocked.test(next)) { //Noch nicht besucht und frei
+                    visit(next, current); //Von current nach next
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return null; //Keinen Weg vorhanden extraverhalten z.b. wenn letze Tür versperrt oder eingestellt
+    }
+}
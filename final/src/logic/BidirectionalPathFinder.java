@@ -0,0 +1,141 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Bidirektionale Breitensuche auf dem Nachbarschaftsgraphen. Es wird abwechselnd von den Startpositionen und von
+ * den Zielen aus gesucht, jeweils eine vollständige Ebene der kleineren Front. Treffen sich beide Suchen, wird
+ * die Ebene noch zu Ende bearbeitet und das Treffen mit dem kürzesten Gesamtweg gewählt.
+ * <p>
+ * Liegt eine Startposition nicht auf dem Flur, wird die einfache Breitensuche verwendet.
+ */
+class BidirectionalPathFinder extends AbstractPathFinder {
+    //Breitensuche für Startpositionen außerhalb des Flures
+    private final BfsPathFinder fallback = new BfsPathFinder();
+
+    //Entfernung je Flur-Id von den Startpositionen aus, gültig wenn besucht
+    private int[] forwardDepth = new int[0];
+    //Warteschlange der Suche von den Startpositionen aus
+    private int[] forwardQueue = new int[0];
+
+    //Markierung der von den Zielen aus besuchten Flur-Ids, gültig wenn gleich stamp
+    private int[] backwardVisited = new int[0];
+    //Nachfolger je Flur-Id in Richtung Ziel
+    private int[] backwardNext = new int[0];
+    //Entfernung je Flur-Id zu den Zielen, gültig wenn von den Zielen aus besucht
+    private int[] backwardDepth = new int[0];
+    //Warteschlange der Suche von den Zielen aus
+    private int[] backwardQueue = new int[0];
+
+    //Bestes bisheriges Treffen: letzte Flur-Id der Vorwärtssuche, erste der Rückwärtssuche und Gesamtlänge
+    private int meetForward;
+    private int meetBackward;
+    private int meetLength;
+
+    @Override
+    void onCapacityChanged(int corridorCount) {
+        forwardDepth = new int[corridorCount];
+        forwardQueue = new int[corridorCount];
+        backwardVisited = new int[corridorCount];
+        backwardNext = new int[corridorCount];
+        backwardDepth = new int[corridorCount];
+        backwardQueue = new int[corridorCount];
+    }
+
+    @Override
+    void onStampReset() {
+        Arrays.fill(backwardVisited, 0);
+    }
+
+    @Override
+    List<Position> search(BoardGraph graph, Position[] starts, Set<Position> destinations, IntPredicate blocked) {
+        for (Position start : starts) {
+            if (graph.idAt(start) == BoardGraph.NO_CORRIDOR) {
+                return fallback.search(graph, starts, destinations, blocked);
+            }
+        }
+        prepare(graph, destinations);
+        meetLength = Integer.MAX_VALUE;
+        int forwardHead = 0;
+        int forwardTail = 0;
+        for (Position start : starts) {
+            int id = graph.idAt(start);
+            if (!isVisited(id)) {
+                visit(id, ROOT);
+                forwardDepth[id] = 0;
+                forwardQueue[forwardTail++] = id;
+            }
+        }
+        int backwardHead = 0;
+        int backwardTail = 0;
+        for (Position dest : destinations) {
+            int id = graph.idAt(dest);
+            if (id != BoardGraph.NO_CORRIDOR && backwardVisited[id] != stamp && !blocked.test(id)) {
+                backwardVisited[id] = stamp;
+                backwardNext[id] = ROOT;
+                backwardDepth[id] = 0;
+                backwardQueue[backwardTail++] = id;
+            }
+        }
+        while (forwardHead < forwardTail && backwardHead < backwardTail) {
+            if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+                int levelEnd = forwardTail;
+                while (forwardHead < levelEnd) {
+                    int current = forwardQueue[forwardHead++];
+                    for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current); n++) {
+                        int next = graph.neighbourAt(n);
+                        if (backwardVisited[next] == stamp) { //Treffen mit der Rückwärtssuche
+                            meet(current, next);
+                        } else if (!isVisited(next) && !blocked.test(next)) {
+                            visit(next, current);
+                            forwardDepth[next] = forwardDepth[current] + 1;
+                            forwardQueue[forwardTail++] = next;
+                        }
+                    }
+                }
+            } else {
+                int levelEnd = backwardTail;
+                while (backwardHead < levelEnd) {
+                    int current = backwardQueue[backwardHead++];
+                    for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current); n++) {
+                        int next = graph.neighbourAt(n);
+                        if (isVisited(next)) { //Treffen mit der Vorwärtssuche (auch belegte Startpositionen)
+                            meet(next, current);
+                        } else if (backwardVisited[next] != stamp && !blocked.test(next)) {
+                            backwardVisited[next] = stamp;
+                            backwardNext[next] = current;
+                            backwardDepth[next] = backwardDepth[current] + 1;
+                            backwardQueue[backwardTail++] = next;
+                        }
+                    }
+                }
+            }
+            if (meetLength != Integer.MAX_VALUE) {
+                List<Position> path = buildPath(graph, meetForward, starts);
+                for (int current = meetBackward; current != ROOT; current = backwardNext[current]) {
+                    path.add(graph.getPosition(current));
+                }
+                return path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merkt sich ein Treffen beider Suchen, falls es einen kürzeren Weg ergibt.
+     *
+     * @param forward  die benachbarte Flur-Id der Vorwärtssuche.
+     * @param backward die benachbarte Flur-Id der Rückwärtssuche.
+     */
+    private void meet(int forward, int backward) {
+        int length = forwardDepth[forward] + 1 + backwardDepth[backward];
+        if (length < meetLength) {
+            meetLength = length;
+            meetForward = forward;
+            meetBackward = backward;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Die unveränderlichen Kenntnisse über ein Spielfeld, welche die Spiellogik und die KI-Spieler für die Wegsuche
+ * benötigen: der Nachbarschaftsgraph der Flurfelder, die Entfernungen zwischen allen Flurfeldern, die
+ * Entfernungsfelder der Räume, der Graph der Wege zwischen den Räumen inkl. der Geheimgänge, die Tabelle der
+ * Erreichbarkeiten je Augenzahl sowie die Zuordnung von Türen und Zellen zu den Räumen.
+ * <p>
+ * Die Analyse wird je Spielfeldvorlage (Aufbau der Zellen, Türen und Geheimgänge der Räume und Startfelder)
+ * nur einmal erstellt und danach von allen Spiellogiken und deren KI-Spielern der JVM gemeinsam genutzt.
+ * Räume werden daher nur über ihren Index im Array der Räume angesprochen, da jedes Spiel eigene Raum-Objekte
+ * besitzt. Die Instanzen sind unveränderlich und damit threadsicher.
+ */
+final class BoardAnalysis {
+    //Markiert Zellen, die keine Tür bzw. kein Raum sind
+    static final int NO_ROOM = -1;
+
+    //Bereits erstellte Analysen je Spielfeldvorlage
+    private static final Map<String, BoardAnalysis> ANALYSES = new ConcurrentHashMap<>();
+
+    //Der Nachbarschaftsgraph der Flurfelder
+    private final BoardGraph graph;
+    //Die Entfernungen zwischen allen Flurfeldern
+    private final DistanceOracle distanceOracle;
+    //Die Entfernungsfelder der Räume
+    private final RoomDistanceFields roomDistanceFields;
+    //Der Graph der Wege zwischen den Räumen und Startfeldern
+    private final RoomGraph roomGraph;
+    //Die vorberechneten Erreichbarkeiten je Flurfeld für die Augenzahlen des Würfels
+    private final MoveTable moveTable;
+    //Index des Raumes je Zelle (y * Breite + x), NO_ROOM falls kein Raum
+    private final int[] roomOfCell;
+    //Index des Raumes je Türzelle (y * Breite + x), NO_ROOM falls keine Tür
+    private final int[] roomOfDoorCell;
+
+    /**
+     * Erstellt die Analyse des Spielfeldes.
+     *
+     * @param gameField      das Spielfeld.
+     * @param rooms          die Räume des Spielfeldes.
+     * @param startPositions die Startfelder der Personen.
+     */
+    private BoardAnalysis(GameCell[][] gameField, Room[] rooms, Position[] startPositions) {
+        this.graph = new BoardGraph(gameField);
+        this.distanceOracle = DistanceOracle.forGraph(graph);
+        this.roomDistanceFields = RoomDistanceFields.forBoard(graph, rooms);
+        this.roomGraph = new RoomGraph(rooms, startPositions, graph, distanceOracle);
+        this.moveTable = MoveTable.forBoard(graph, new CorridorBitboard(gameField));
+        int width = graph.getWidth();
+        this.roomOfCell = new int[width * graph.getHeight()];
+        this.roomOfDoorCell = new int[roomOfCell.length];
+        Arrays.fill(roomOfDoorCell, NO_ROOM);
+        for (int y = 0; y < graph.getHeight(); y++) {
+            for (int x = 0; x < width; x++) {
+                roomOfCell[y * width + x] = indexOf(rooms, gameField[y][x].getRoom());
+            }
+        }
+        //Rückwärts, damit bei einer Tür mehrerer Räume wie bisher der erste Raum gilt
+        for (int i = rooms.length - 1; i >= 0; i--) {
+            if (rooms[i].getDoors() != null) {
+                for (Position door : rooms[i].getDoors()) {
+                    int cell = cellOf(door);
+                    if (cell != -1) {
+                        roomOfDoorCell[cell] = i;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert die Analyse für die Spielfeldvorlage. Wird für jede Vorlage nur einmal berechnet.
+     *
+     * @param gameField      das Spielfeld.
+     * @param rooms          die Räume des Spielfeldes.
+     * @param startPositions die Startfelder der Personen.
+     * @return die Analyse.
+     */
+    static BoardAnalysis forBoard(GameCell[][] gameField, Room[] rooms, Position[] startPositions) {
+        return ANALYSES.computeIfAbsent(templateKey(gameField, rooms, startPositions),
+                key -> new BoardAnalysis(gameField, rooms, startPositions));
+    }
+
+    /**
+     * Beschreibt die Spielfeldvorlage: je Zelle Flur, Wand oder den Index des Raumes, je Raum den Namen,
+     * die Türen und das Ziel des Geheimgangs sowie die Startfelder. Gleiche Beschreibungen ergeben
+     * dieselbe Analyse.
+     *
+     * @param gameField      das Spielfeld.
+     * @param rooms          die Räume des Spielfeldes.
+     * @param startPositions die Startfelder der Personen.
+     * @return die Beschreibung der Vorlage.
+     */
+    private static String templateKey(GameCell[][] gameField, Room[] rooms, Position[] startPositions) {
+        int height = gameField.length;
+        int width = height == 0 ? 0 : gameField[0].length;
+        StringBuilder key = new StringBuilder(width * height + 64);
+        key.append(width).append('x').append(height).append(':');
+        for (GameCell[] row : gameField) {
+            for (GameCell cell : row) {
+                if (cell == GameCell.CORRIDOR) {
+                    key.append(' ');
+                } else if (cell.isRoom()) {
+                    key.append((char) ('A' + indexOf(rooms, cell.getRoom())));
+                } else {
+                    key.append('#');
+                }
+            }
+        }
+        for (Room room : rooms) {
+            key.append('|').append(room.getName());
+            if (room.getDoors() != null) {
+                for (Position door : room.getDoors()) {
+                    key.append(';').append(door.getX()).append(',').append(door.getY());
+                }
+            }
+            if (room.getSecretCorridor() != null) {
+                key.append('>').append(room.getSecretCorridor().getName());
+            }
+        }
+        key.append('|');
+        for (Position start : startPositions) {
+            key.append(';').append(start.getX()).append(',').append(start.getY());
+        }
+        return key.toString();
+    }
+
+    /**
+     * Liefert den Index des Raumes im Array der Räume.
+     *
+     * @param rooms die Räume.
+     * @param room  der gesuchte Raum oder null.
+     * @return der Index oder NO_ROOM.
+     */
+    private static int indexOf(Room[] rooms, Room room) {
+        for (int i = 0; i < rooms.length && room != null; i++) {
+            if (rooms[i] == room) {
+                return i;
+            }
+        }
+        return NO_ROOM;
+    }
+
+    /**
+     * Liefert die Zelle einer Position.
+     *
+     * @param pos die Position.
+     * @return die Zelle (y * Breite + x) oder -1, falls außerhalb des Spielfeldes.
+     */
+    private int cellOf(Position pos) {
+        if (pos.getX() < 0 || pos.getX() >= graph.getWidth() || pos.getY() < 0 || pos.getY() >= graph.getHeight()) {
+            return -1;
+        }
+        return pos.getY() * graph.getWidth() + pos.getX();
+    }
+
+    /**
+     * Liefert den Nachbarschaftsgraphen der Flurfelder.
+     *
+     * @return der Graph.
+     */
+    BoardGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Liefert die Entfernungen zwischen allen Flurfeldern.
+     *
+     * @return die Entfernungstabelle.
+     */
+    DistanceOracle getDistanceOracle() {
+        return distanceOracle;
+    }
+
+    /**
+     * Liefert die Entfernungsfelder der Räume.
+     *
+     * @return die Entfernungsfelder.
+     */
+    RoomDistanceFields getRoomDistanceFields() {
+        return roomDistanceFields;
+    }
+
+    /**
+     * Liefert den Graphen der Wege zwischen den Räumen und Startfeldern.
+     *
+     * @return der Graph der Räume.
+     */
+    RoomGraph getRoomGraph() {
+        return roomGraph;
+    }
+
+    /**
+     * Liefert die vorberechneten Erreichbarkeiten je Augenzahl.
+     *
+     * @return die Tabelle.
+     */
+    MoveTable getMoveTable() {
+        return moveTable;
+    }
+
+    /**
+     * Liefert den Index des Raumes, zu dem die Position gehört.
+     *
+     * @param pos die Position.
+     * @return der Index des Raumes oder NO_ROOM.
+     */
+    int roomAt(Position pos) {
+        int cell = cellOf(pos);
+        return cell == -1 ? NO_ROOM : roomOfCell[cell];
+    }
+
+    /**
+     * Liefert den Index des Raumes, zu dem die Tür führt.
+     *
+     * @param door die Position der Tür.
+     * @return der Index des Raumes oder NO_ROOM, falls die Position keine Tür ist.
+     */
+    int roomOfDoor(Position door) {
+        int cell = cellOf(door);
+        return cell == -1 ? NO_ROOM : roomOfDoorCell[cell];
+    }
+}
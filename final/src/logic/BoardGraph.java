@@ -0,0 +1,240 @@
+package logic;
+
+/**
+ * Unveränderlicher Nachbarschaftsgraph der Flurfelder eines Spielfeldes.
+ * Da sich die Wände im Spielverlauf nicht ändern, wird der Graph einmalig erstellt.
+ * Jedes Flurfeld erhält eine fortlaufende Id, die Nachbarn werden im CSR-Format
+ * (compressed sparse row) abgelegt: die Nachbarn der Id i stehen in
+ * {@code neighbours[offsets[i]]} bis {@code neighbours[offsets[i + 1] - 1]}.
+ */
+class BoardGraph {
+    //Markiert Zellen, die kein Flurfeld sind
+    static final int NO_CORRIDOR = -1;
+
+    //Die Breite des Spielfeldes
+    private final int width;
+    //Die Höhe des Spielfeldes
+    private final int height;
+    //Flur-Id je Zelle (y * Breite + x), NO_CORRIDOR falls kein Flurfeld
+    private final int[] idOfCell;
+    //Zelle (y * Breite + x) je Flur-Id
+    private final int[] cellOfId;
+    //Position je Flur-Id
+    private final Position[] positionOfId;
+    //Beginn der Nachbarn je Flur-Id, an der letzten Stelle steht die Gesamtanzahl
+    private final int[] offsets;
+    //Flur-Ids der Nachbarn
+    private final int[] neighbours;
+    //Beschreibung des Spielfeldaufbaus, gleiche Aufbauten ergeben dieselben Flur-Ids
+    private final String layoutKey;
+
+    /**
+     * Erstellt den Graphen aus dem übergebenen Spielfeld.
+     *
+     * @param gameField das Spielfeld.
+     */
+    BoardGraph(GameCell[][] gameField) {
+        this.height = gameField.length;
+        this.width = height == 0 ? 0 : gameField[0].length;
+        this.idOfCell = new int[width * height];
+        StringBuilder layout = new StringBuilder(width * height + 8);
+        layout.append(width).append('x').append(height).append(':');
+        int corridorCount = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (gameField[y][x] == GameCell.CORRIDOR) {
+                    idOfCell[y * width + x] = corridorCount;
+                    corridorCount++;
+                    layout.append(' ');
+                } else {
+                    idOfCell[y * width + x] = NO_CORRIDOR;
+                    layout.append('#');
+                }
+            }
+        }
+        this.layoutKey = layout.toString();
+        this.cellOfId = new int[corridorCount];
+        this.positionOfId = new Position[corridorCount];
+        for (int cell = 0; cell < idOfCell.length; cell++) {
+            if (idOfCell[cell] != NO_CORRIDOR) {
+                cellOfId[idOfCell[cell]] = cell;
+                positionOfId[idOfCell[cell]] = Position.fromCellId(cell, width);
+            }
+        }
+        this.offsets = new int[corridorCount + 1];
+        int[] tmpNeighbours = new int[corridorCount * 4];
+        int count = 0;
+        for (int id = 0; id < corridorCount; id++) {
+            offsets[id] = count;
+            int x = cellOfId[id] % width;
+            int y = cellOfId[id] / width;
+            //Reihenfolge: oben, links, rechts, unten
+            count = addNeighbour(tmpNeighbours, count, x, y - 1);
+            count = addNeighbour(tmpNeighbours, count, x - 1, y);
+            count = addNeighbour(tmpNeighbours, count, x + 1, y);
+            count = addNeighbour(tmpNeighbours, count, x, y + 1);
+        }
+        offsets[corridorCount] = count;
+        this.neighbours = new int[count];
+        System.arraycopy(tmpNeighbours, 0, neighbours, 0, count);
+    }
+
+    /**
+     * Fügt den Nachbarn hinzu, falls dieser ein Flurfeld ist.
+     *
+     * @param tmpNeighbours der Zwischenspeicher der Nachbarn.
+     * @param count         die bisherige Anzahl an Nachbarn.
+     * @param x             die x Koordinate des Nachbarn.
+     * @param y             die y Koordinate des Nachbarn.
+     * @return die neue Anzahl an Nachbarn.
+     */
+    private int addNeighbour(int[] tmpNeighbours, int count, int x, int y) {
+        int id = idAt(x, y);
+        if (id != NO_CORRIDOR) {
+            tmpNeighbours[count] = id;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Liefert eine Beschreibung des Spielfeldaufbaus (Größe und Lage der Flurfelder).
+     * Graphen mit gleicher Beschreibung haben dieselben Flur-Ids und Nachbarn.
+     *
+     * @return die Beschreibung des Spielfeldaufbaus.
+     */
+    String getLayoutKey() {
+        return layoutKey;
+    }
+
+    /**
+     * Liefert die Anzahl der Flurfelder.
+     *
+     * @return die Anzahl der Flurfelder.
+     */
+    int getCorridorCount() {
+        return cellOfId.length;
+    }
+
+    /**
+     * Liefert die Breite des Spielfeldes.
+     *
+     * @return die Breite des Spielfeldes.
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * Liefert die Höhe des Spielfeldes.
+     *
+     * @return die Höhe des Spielfeldes.
+     */
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Liefert die Flur-Id an den übergebenen Koordinaten.
+     *
+     * @param x die x Koordinate.
+     * @param y die y Koordinate.
+     * @return die Flur-Id oder NO_CORRIDOR, falls außerhalb des Spielfeldes oder kein Flurfeld.
+     */
+    int idAt(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return NO_CORRIDOR;
+        }
+        return idOfCell[y * width + x];
+    }
+
+    /**
+     * Liefert die Flur-Id der übergebenen Position.
+     *
+     * @param pos die Position.
+     * @return die Flur-Id oder NO_CORRIDOR, falls außerhalb des Spielfeldes oder kein Flurfeld.
+     */
+    int idAt(Position pos) {
+        return idAt(pos.getX(), pos.getY());
+    }
+
+    /**
+     * Liefert die Flur-Id einer Zelle.
+     *
+     * @param cell die Zelle (y * Breite + x).
+     * @return die Flur-Id oder NO_CORRIDOR, falls kein Flurfeld.
+     */
+    int idOfCell(int cell) {
+        return idOfCell[cell];
+    }
+
+    /**
+     * Liefert die Zelle eines Flurfeldes.
+     *
+     * @param id die Flur-Id.
+     * @return die Zelle (y * Breite + x).
+     */
+    int getCell(int id) {
+        return cellOfId[id];
+    }
+
+    /**
+     * Liefert die Position eines Flurfeldes.
+     *
+     * @param id die Flur-Id.
+     * @return die Position.
+     */
+    Position getPosition(int id) {
+        return positionOfId[id];
+    }
+
+    /**
+     * Liefert die x Koordinate eines Flurfeldes.
+     *
+     * @param id die Flur-Id.
+     * @return die x Koordinate.
+     */
+    int getX(int id) {
+        return cellOfId[id] % width;
+    }
+
+    /**
+     * Liefert die y Koordinate eines Flurfeldes.
+     *
+     * @param id die Flur-Id.
+     * @return die y Koordinate.
+     */
+    int getY(int id) {
+        return cellOfId[id] / width;
+    }
+
+    /**
+     * Liefert den Beginn der Nachbarn eines Flurfeldes im Nachbar-Array.
+     *
+     * @param id die Flur-Id.
+     * @return der erste Index im Nachbar-Array.
+     */
+    int neighbourStart(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Liefert das Ende (exklusiv) der Nachbarn eines Flurfeldes im Nachbar-Array.
+     *
+     * @param id die Flur-Id.
+     * @return der Index hinter dem letzten Nachbarn.
+     */
+    int neighbourEnd(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Liefert die Flur-Id eines Eintrags im Nachbar-Array.
+     *
+     * @param index der Index im Nachbar-Array.
+     * @return die Flur-Id des Nachbarn.
+     */
+    int neighbourAt(int index) {
+        return neighbours[index];
+    }
+}
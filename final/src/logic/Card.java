@@ -11,20 +11,40 @@ import java.util.*;
  * @author Michael Smirnov
  */
 public class Card {
+    //Kennzeichnet eine Karte ohne Index
+    public static final int NO_ID = -1;
+
     //Der Name der Karte
     private final String name;
     //Der Typ der Karte
     private final CardType type;
+    //Der Index der Karte im Array aller Karten (Reihenfolge der Notizen), NO_ID falls unbekannt
+    private final int id;
+    //Der vorberechnete Hashwert, Name und Typ ändern sich nicht
+    private final int hash;
 
     /**
-     * Konstruiert eine Karte.
+     * Konstruiert eine Karte ohne Index.
      *
      * @param name der Name der Karte.
      * @param type der Typ der Karte.
      */
     public Card(String name, CardType type) {
+        this(name, type, NO_ID);
+    }
+
+    /**
+     * Konstruiert eine Karte.
+     *
+     * @param name der Name der Karte.
+     * @param type der Typ der Karte.
+     * @param id   der Index der Karte im Array aller Karten (Reihenfolge der Notizen).
+     */
+    public Card(String name, CardType type, int id) {
         this.name = name;
         this.type = type;
+        this.id = id;
+        this.hash = Objects.hash(name, type);
     }
 
     /**
@@ -69,6 +89,34 @@ public class Card {
         return type;
     }
 
+    /**
+     * Liefert den Index der Karte im Array aller Karten (Reihenfolge der Notizen).
+     *
+     * @return der Index oder NO_ID, falls die Karte ohne Index erstellt wurde.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Liefert den Index der Karte in einem Array aller Karten. Passt der eigene Index, wird dieser ohne Suche
+     * geliefert, andernfalls (z.B. bei Karten ohne Index) wird gesucht.
+     *
+     * @param allCards alle Karten (Reihenfolge wie in Notizen).
+     * @return der Index der Karte oder -1, falls sie nicht enthalten ist.
+     */
+    public int indexIn(Card[] allCards) {
+        if (id >= 0 && id < allCards.length && allCards[id].equals(this)) {
+            return id;
+        }
+        for (int i = 0; i < allCards.length; i++) {
+            if (allCards[i].equals(this)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Prüft ob es sich um eine Raumkarte handelt.
      *
@@ -104,16 +152,16 @@ public class Card {
      * @return Eine Menge aus in der übergebenen Collention enhaltenen Räumen.
      */
     public static Set<Room> getRoomsFromCards(GameLogic logic, Collection<Card> cards) {
-        //Alle bis auf die Räume entfernen
-        cards.removeIf(card -> !card.isRoom());
         Set<Room> onlyRooms = new HashSet<>();
-        //Die Karten zu Räumen umwandeln
+        //Die Raumkarten zu Räumen umwandeln, die übergebenen Karten bleiben unverändert
         for (Card card : cards) {
-            try {
-                onlyRooms.add(logic.getRoomByName(card.getName()));
-            } catch (CluedoException e) {
-                //Zu jeder Karte in cards MUSS es einen Raum geben
-                assert false;
+            if (card.isRoom()) {
+                try {
+                    onlyRooms.add(logic.getRoomByName(card.getName()));
+                } catch (CluedoException e) {
+                    //Zu jeder Raumkarte MUSS es einen Raum geben
+                    assert false;
+                }
             }
         }
         return onlyRooms;
@@ -155,7 +203,7 @@ public class Card {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, type);
+        return hash;
     }
 
     @Override
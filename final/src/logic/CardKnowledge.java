@@ -0,0 +1,350 @@
+package logic;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Das Wissen eines Spielers über die Karten als Bitmasken über die Kartenindizes (Reihenfolge wie in den Notizen).
+ * Je anderem Spieler (Spalte wie in den Notizen über andere) gibt es eine Maske der gesehenen Karten (hat)
+ * und der ausgeschlossenen Karten (hat nicht). Dazu kommt eine Maske der eigenen Karten. Die Verdachtsnotizen
+ * (A bis D) setzt nur der menschliche Spieler, sie sind für die Schlussfolgerungen der KI ohne Bedeutung.
+ * <p>
+ * Die Notizen über andere Spieler bleiben als Ansicht für die GUI und den Spielstand erhalten und werden
+ * gemeinsam mit dieser Klasse über {@link Player#setNoteOthers(int, int, NoteOthers)} geändert.
+ * Abfragen wie die noch offenen Karten benötigen so nur wenige Operationen je long.
+ * <p>
+ * Die noch offenen Karten werden je Kartentyp bei jeder Änderung einer Notiz oder der Hand nachgeführt,
+ * sobald die Typen der Karten über {@link #setHand(Card[], Iterable)} bekannt sind. Das Lesen der offenen
+ * Karten, ihrer Anzahl und der ersten offenen Karte benötigt so keine Berechnung und keinen Speicher.
+ */
+final class CardKnowledge {
+    //Anzahl der Bits pro Wort
+    private static final int WORD_SIZE = Long.SIZE;
+
+    //Anzahl der longs je Maske
+    private final int wordCount;
+    //Anzahl der anderen Spieler (Spalten)
+    private final int columnCount;
+    //Gesehene Karten je Spalte, indiziert über Spalte * wordCount + Wort
+    private final long[] has;
+    //Ausgeschlossene Karten je Spalte, gleich indiziert
+    private final long[] hasNot;
+    //Die eigenen Karten
+    private final long[] own;
+    //Je Karte die Anzahl der Spalten mit "gesehen", +1 falls auf der Hand (0 heißt offen)
+    private final int[] seenCount;
+    //Die offenen Karten je Kartentyp (Index ist die Ordinalzahl des Typs)
+    private final long[][] open;
+    //Die Anzahl der offenen Karten je Kartentyp
+    private final int[] openCount;
+    //Der Typ jeder Karte, null solange die Karten noch nicht bekannt sind
+    private CardType[] types;
+
+    /**
+     * Konstruktor für ein leeres Wissen.
+     *
+     * @param columnCount die Anzahl der anderen Spieler.
+     * @param cardCount   die Anzahl der Karten.
+     */
+    CardKnowledge(int columnCount, int cardCount) {
+        this.wordCount = (cardCount + WORD_SIZE - 1) / WORD_SIZE;
+        this.columnCount = columnCount;
+        this.has = new long[columnCount * wordCount];
+        this.hasNot = new long[columnCount * wordCount];
+        this.own = new long[wordCount];
+        this.seenCount = new int[cardCount];
+        this.open = new long[CardType.values().length][wordCount];
+        this.openCount = new int[CardType.values().length];
+    }
+
+    /**
+     * Baut das Wissen aus bereits vorhandenen Notizen eines Spielers auf (z.B. aus einem Spielstand).
+     *
+     * @param notes die Notizen des Spielers.
+     * @return das Wissen.
+     */
+    static CardKnowledge fromNotes(NotesMatrix notes) {
+        CardKnowledge knowledge = new CardKnowledge(notes.getOtherCount(), notes.getCardCount());
+        for (int column = 0; column < notes.getOtherCount(); column++) {
+            for (int card = 0; card < notes.getCardCount(); card++) {
+                knowledge.setNote(column, card, notes.getOthers(column, card));
+            }
+        }
+        return knowledge;
+    }
+
+    /**
+     * Liefert eine neue, leere Maske über die Karten.
+     *
+     * @return die leere Maske.
+     */
+    long[] newMask() {
+        return new long[wordCount];
+    }
+
+    /**
+     * Trägt eine Notiz über einen anderen Spieler ein.
+     *
+     * @param column die Spalte des Spielers in den Notizen über andere.
+     * @param card   der Index der Karte.
+     * @param note   die Notiz.
+     */
+    void setNote(int column, int card, NoteOthers note) {
+        int word = column * wordCount + card / WORD_SIZE;
+        long bit = 1L << card;
+        boolean wasSeen = (has[word] & bit) != 0;
+        has[word] &= ~bit;
+        hasNot[word] &= ~bit;
+        switch (note) {
+            case SEEN:
+                has[word] |= bit;
+                break;
+            case HAS_NOT:
+                hasNot[word] |= bit;
+                break;
+            default:
+                break;
+        }
+        boolean isSeen = note == NoteOthers.SEEN;
+        if (wasSeen != isSeen) {
+            seenCount[card] += isSeen ? 1 : -1;
+            updateOpen(card);
+        }
+    }
+
+    /**
+     * Setzt die eigenen Karten.
+     *
+     * @param allCards alle Karten im Spiel (Reihenfolge wie in den Notizen).
+     * @param hand     die Karten auf der Hand.
+     */
+    void setHand(Card[] allCards, Iterable<Card> hand) {
+        Arrays.fill(own, 0L);
+        for (Card card : hand) {
+            int i = card.indexIn(allCards);
+            if (i != -1) {
+                own[i / WORD_SIZE] |= 1L << i;
+            }
+        }
+        //Die offenen Karten einmalig vollständig aufbauen, danach werden sie nur noch nachgeführt
+        types = new CardType[allCards.length];
+        for (long[] typeOpen : open) {
+            Arrays.fill(typeOpen, 0L);
+        }
+        Arrays.fill(openCount, 0);
+        for (int card = 0; card < allCards.length; card++) {
+            types[card] = allCards[card].getType();
+            seenCount[card] = isOwn(card) ? 1 : 0;
+            for (int column = 0; column < columnCount; column++) {
+                if (has(column, card)) {
+                    seenCount[card]++;
+                }
+            }
+            updateOpen(card);
+        }
+    }
+
+    /**
+     * Gleicht nach einer Änderung der gesehenen Karten ab, ob die Karte noch offen ist.
+     *
+     * @param card der Index der Karte.
+     */
+    private void updateOpen(int card) {
+        if (types == null) {
+            return;
+        }
+        int type = types[card].ordinal();
+        long bit = 1L << card;
+        boolean wasOpen = (open[type][card / WORD_SIZE] & bit) != 0;
+        boolean isOpen = seenCount[card] == 0;
+        if (wasOpen != isOpen) {
+            open[type][card / WORD_SIZE] ^= bit;
+            openCount[type] += isOpen ? 1 : -1;
+        }
+    }
+
+    /**
+     * Prüft, ob die Karte auf der eigenen Hand ist.
+     *
+     * @param card der Index der Karte.
+     * @return ob die Karte eine eigene ist.
+     */
+    private boolean isOwn(int card) {
+        return (own[card / WORD_SIZE] & 1L << card) != 0;
+    }
+
+    /**
+     * Prüft, ob die Karte in der Spalte als gesehen notiert ist.
+     *
+     * @param column die Spalte des Spielers in den Notizen über andere.
+     * @param card   der Index der Karte.
+     * @return ob der Spieler die Karte hat.
+     */
+    boolean has(int column, int card) {
+        return (has[column * wordCount + card / WORD_SIZE] & 1L << card) != 0;
+    }
+
+    /**
+     * Prüft, ob die Karte in der Spalte als ausgeschlossen notiert ist.
+     *
+     * @param column die Spalte des Spielers in den Notizen über andere.
+     * @param card   der Index der Karte.
+     * @return ob der Spieler die Karte nicht hat.
+     */
+    boolean hasNot(int column, int card) {
+        return (hasNot[column * wordCount + card / WORD_SIZE] & 1L << card) != 0;
+    }
+
+    /**
+     * Liefert die Anzahl der noch offenen Karten eines Typs: Karten, die weder auf der Hand sind noch bei
+     * einem anderen Spieler gesehen wurden.
+     *
+     * @param type der Kartentyp.
+     * @return die Anzahl der offenen Karten.
+     */
+    int openCount(CardType type) {
+        return openCount[type.ordinal()];
+    }
+
+    /**
+     * Liefert die noch offenen Karten eines Typs als Maske. Die Maske wird bei jeder Änderung
+     * der Notizen nachgeführt und darf nicht verändert werden.
+     *
+     * @param type der Kartentyp.
+     * @return die Maske der offenen Karten.
+     */
+    long[] openMask(CardType type) {
+        return open[type.ordinal()];
+    }
+
+    /**
+     * Liefert die eigenen Karten als Maske über die Kartenindizes. Die Maske darf nicht verändert werden.
+     *
+     * @return die Maske der eigenen Karten.
+     */
+    long[] ownMask() {
+        return own;
+    }
+
+    /**
+     * Liefert die erste noch offene Karte eines Typs nach der Reihenfolge der Notizen.
+     *
+     * @param type der Kartentyp.
+     * @return der Index der Karte oder -1, falls keine Karte des Typs offen ist.
+     */
+    int firstOpen(CardType type) {
+        return nextIndex(open[type.ordinal()], -1);
+    }
+
+    /**
+     * Liefert die letzte noch offene Karte eines Typs nach der Reihenfolge der Notizen.
+     *
+     * @param type der Kartentyp.
+     * @return der Index der Karte oder -1, falls keine Karte des Typs offen ist.
+     */
+    int lastOpen(CardType type) {
+        long[] mask = open[type.ordinal()];
+        for (int w = wordCount - 1; w >= 0; w--) {
+            if (mask[w] != 0) {
+                return w * WORD_SIZE + WORD_SIZE - 1 - Long.numberOfLeadingZeros(mask[w]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Liefert eine Ansicht der noch offenen Karten eines Typs als Menge. Die Ansicht ändert sich mit den
+     * Notizen, kann nicht verändert werden und liefert die Elemente in der Reihenfolge der Notizen.
+     *
+     * @param type     der Kartentyp.
+     * @param elements das Element je Kartenindex (z.B. die Karte selbst oder der Raum zu einer Raumkarte).
+     * @param <E>      der Typ der Elemente.
+     * @return die Ansicht der offenen Karten.
+     */
+    <E> Set<E> openView(CardType type, E[] elements) {
+        return new OpenView<>(open[type.ordinal()], type.ordinal(), elements);
+    }
+
+    /**
+     * Liefert den nächsten gesetzten Index einer Kartenmaske nach dem übergebenen Index.
+     *
+     * @param mask  die Maske.
+     * @param after der zuletzt betrachtete Index (-1 für den ersten).
+     * @return der Index oder -1, falls kein weiterer gesetzt ist.
+     */
+    static int nextIndex(long[] mask, int after) {
+        int from = after + 1;
+        int w = from / WORD_SIZE;
+        if (w >= mask.length) {
+            return -1;
+        }
+        long bits = mask[w] & -1L << from;
+        while (bits == 0) {
+            if (++w == mask.length) {
+                return -1;
+            }
+            bits = mask[w];
+        }
+        return w * WORD_SIZE + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Unveränderliche Ansicht auf die offenen Karten eines Typs.
+     *
+     * @param <E> der Typ der Elemente.
+     */
+    private final class OpenView<E> extends AbstractSet<E> {
+        //Die nachgeführte Maske der offenen Karten
+        private final long[] mask;
+        //Die Ordinalzahl des Kartentyps
+        private final int type;
+        //Das Element je Kartenindex
+        private final E[] elements;
+
+        private OpenView(long[] mask, int type, E[] elements) {
+            this.mask = mask;
+            this.type = type;
+            this.elements = elements;
+        }
+
+        @Override
+        public int size() {
+            return openCount[type];
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int card = nextIndex(mask, -1); card != -1; card = nextIndex(mask, card)) {
+                if (elements[card].equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private int next = nextIndex(mask, -1);
+
+                @Override
+                public boolean hasNext() {
+                    return next != -1;
+                }
+
+                @Override
+                public E next() {
+                    if (next == -1) {
+                        throw new NoSuchElementException();
+                    }
+                    E element = elements[next];
+                    next = nextIndex(mask, next);
+                    return element;
+                }
+            };
+        }
+    }
+}
@@ -109,8 +109,53 @@ public class CardTriple {
      * @return ob die Karte enthalten ist.
      */
     public boolean contains(Card cardToCheck) {
-        Set<Card> cards = getCards();
-        return cards.contains(cardToCheck);
+        return cardToCheck != null
+                && (cardToCheck.equals(room) || cardToCheck.equals(character) || cardToCheck.equals(weapon));
+    }
+
+    /**
+     * Liefert das Triple in der kompakten Darstellung, siehe {@link PackedCardTriple}.
+     *
+     * @param allCards alle Karten im Spiel (Reihenfolge wie in den Notizen).
+     * @return das gepackte Triple.
+     */
+    long pack(Card[] allCards) {
+        return PackedCardTriple.of(indexIn(allCards, character), indexIn(allCards, weapon), indexIn(allCards, room));
+    }
+
+    /**
+     * Erstellt ein Triple aus der kompakten Darstellung, siehe {@link PackedCardTriple}.
+     *
+     * @param packed   das gepackte Triple.
+     * @param allCards alle Karten im Spiel (Reihenfolge wie in den Notizen).
+     * @return das Triple.
+     */
+    static CardTriple unpack(long packed, Card[] allCards) {
+        return new CardTriple(cardAt(allCards, PackedCardTriple.get(packed, PackedCardTriple.ROOM)),
+                cardAt(allCards, PackedCardTriple.get(packed, PackedCardTriple.CHARACTER)),
+                cardAt(allCards, PackedCardTriple.get(packed, PackedCardTriple.WEAPON)));
+    }
+
+    /**
+     * Liefert den Index einer Karte.
+     *
+     * @param allCards alle Karten im Spiel.
+     * @param card     die Karte oder null.
+     * @return der Index oder -1, falls keine Karte.
+     */
+    private static int indexIn(Card[] allCards, Card card) {
+        return card == null ? -1 : card.indexIn(allCards);
+    }
+
+    /**
+     * Liefert die Karte zu einem Index.
+     *
+     * @param allCards alle Karten im Spiel.
+     * @param index    der Index oder -1.
+     * @return die Karte oder null, falls keine Karte.
+     */
+    private static Card cardAt(Card[] allCards, int index) {
+        return index == -1 ? null : allCards[index];
     }
 
 
@@ -2,28 +2,52 @@ package logic;
 
 import logic.json.InitialCharacterJSON;
 
-import java.util.Objects;
-
 /**
  * Diese Klasse repräsentert eine Person/Spielfigur, welche im Spiel vorkommt.
  * Diese werden aus einer Initialdatei geladen.
  * Dies ermöglicht es theoretisch andere Personen/Spielfiguren im Spiel vorkommen zu lassen.
+ * <p>
+ * Eine Spielfigur ist nur mit sich selbst gleich. Da sich die Position ständig ändert, darf sie nicht in die
+ * Gleichheit eingehen, sodass Spielfiguren auch als Schlüssel in Hash-Strukturen genutzt werden können.
+ * Über den Index im Array aller Spielfiguren ({@link #getId()}) lassen sich Zuordnungen als Arrays führen,
+ * siehe {@link CharacterIndex}.
  */
 public class Character {
+    //Kennzeichnet eine Spielfigur ohne Index
+    public static final int NO_ID = -1;
+
     //Der Name der Person
     private final String name;
+    //Der Index der Spielfigur im Array aller Spielfiguren, NO_ID falls unbekannt
+    private final int id;
     //Die aktuelle Position der Spielfigur
     private Position position;
+    //Die Belegung des Spielfeldes, in der die Spielfigur registriert ist
+    private transient OccupancyGrid occupancyGrid;
+    //Der Slot der Spielfigur in der Belegung
+    private transient int occupancySlot = OccupancyGrid.OUTSIDE;
 
     /**
-     * Konstruiert eine Spielfigur/Person.
+     * Konstruiert eine Spielfigur/Person ohne Index.
      *
      * @param name     der Name der Person/Spielfigur.
      * @param position die initiale Position der Spielfigur auf dem Spielfeld.
      */
     public Character(String name, Position position) {
+        this(name, position, NO_ID);
+    }
+
+    /**
+     * Konstruiert eine Spielfigur/Person.
+     *
+     * @param name     der Name der Person/Spielfigur.
+     * @param position die initiale Position der Spielfigur auf dem Spielfeld.
+     * @param id       der Index der Spielfigur im Array aller Spielfiguren.
+     */
+    public Character(String name, Position position, int id) {
         this.name = name;
         this.position = position;
+        this.id = id;
     }
 
     /**
@@ -33,6 +57,38 @@ public class Character {
      */
     public void setPosition(Position position) {
         this.position = position;
+        if (occupancyGrid != null) {
+            occupancyGrid.moved(occupancySlot, position);
+        }
+    }
+
+    /**
+     * Verknüpft die Spielfigur mit einer Belegung des Spielfeldes, welche über Bewegungen informiert wird.
+     *
+     * @param occupancyGrid die Belegung oder null, um die Verknüpfung aufzuheben.
+     * @param occupancySlot der Slot der Spielfigur in der Belegung.
+     */
+    void attachOccupancyGrid(OccupancyGrid occupancyGrid, int occupancySlot) {
+        this.occupancyGrid = occupancyGrid;
+        this.occupancySlot = occupancySlot;
+    }
+
+    /**
+     * Liefert die Belegung, in der die Spielfigur registriert ist.
+     *
+     * @return die Belegung oder null.
+     */
+    OccupancyGrid getOccupancyGrid() {
+        return occupancyGrid;
+    }
+
+    /**
+     * Liefert den Slot der Spielfigur in der Belegung.
+     *
+     * @return der Slot.
+     */
+    int getOccupancySlot() {
+        return occupancySlot;
     }
 
     /**
@@ -44,6 +100,15 @@ public class Character {
         return name;
     }
 
+    /**
+     * Liefert den Index der Spielfigur im Array aller Spielfiguren.
+     *
+     * @return der Index oder NO_ID, falls die Spielfigur ohne Index erstellt wurde.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Liefert die aktuelle Position der Spielfigur.
      *
@@ -63,6 +128,17 @@ public class Character {
         return new Character(character.getName(), character.getPosition());
     }
 
+    /**
+     * Konstruiert eine Spielfigur aus den Initialdaten.
+     *
+     * @param character die Spielfigur aus den Initialdaten.
+     * @param id        der Index der Spielfigur in den Initialdaten.
+     * @return die erzeuge Spielfigur.
+     */
+    public static Character fromJSON(InitialCharacterJSON character, int id) {
+        return new Character(character.getName(), character.getPosition(), id);
+    }
+
     @Override
     public String toString() {
         return "Character{" +
@@ -70,18 +146,4 @@ public class Character {
                 ", position=" + position +
                 '}';
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Character)) return false;
-        Character character = (Character) o;
-        return name.equals(character.name) &&
-                position.equals(character.position);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(name, position);
-    }
 }
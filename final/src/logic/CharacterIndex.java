@@ -0,0 +1,110 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Zuordnung der Spielfiguren zu den Spielern, die sie spielen, und zu den Spalten in den Notizen über andere
+ * Spieler. Die Zuordnung ist über den Index der Spielfiguren ({@link Character#getId()}) als Array abgelegt.
+ * Spielfiguren ohne Index (nur in Tests) werden über die Spieler gesucht.
+ * <p>
+ * Sie gilt für genau ein Array von Spielern und muss neu erstellt werden, sobald sich die Spieler ändern.
+ */
+final class CharacterIndex {
+    //Markiert eine Spielfigur, die von keinem Spieler gespielt wird
+    static final int NO_PLAYER = -1;
+
+    //Die Spieler, für die die Zuordnung gilt
+    private final Player[] players;
+    //Index des Spielers je Index der Spielfigur, NO_PLAYER falls die Spielfigur nicht gespielt wird
+    private final int[] playerByCharacter;
+
+    /**
+     * Konstruktor, die Anzahl der Spielfiguren wird aus den Indizes der Spielfiguren der Spieler bestimmt.
+     *
+     * @param players die Spieler.
+     */
+    CharacterIndex(Player[] players) {
+        this(players, maxId(players) + 1);
+    }
+
+    /**
+     * Konstruktor.
+     *
+     * @param players        die Spieler.
+     * @param characterCount die Anzahl der Spielfiguren im Spiel.
+     */
+    CharacterIndex(Player[] players, int characterCount) {
+        this.players = players;
+        this.playerByCharacter = new int[characterCount];
+        Arrays.fill(playerByCharacter, NO_PLAYER);
+        //Rückwärts, damit wie bei einer Suche der erste Spieler gilt
+        for (int i = players.length - 1; i >= 0; i--) {
+            int id = players[i].getCharacter().getId();
+            if (id >= 0 && id < characterCount) {
+                playerByCharacter[id] = i;
+            }
+        }
+    }
+
+    /**
+     * Liefert den größten Index der Spielfiguren der Spieler.
+     *
+     * @param players die Spieler.
+     * @return der größte Index oder NO_ID, falls keine Spielfigur einen Index hat.
+     */
+    private static int maxId(Player[] players) {
+        int max = Character.NO_ID;
+        for (Player player : players) {
+            max = Math.max(max, player.getCharacter().getId());
+        }
+        return max;
+    }
+
+    /**
+     * Prüft, ob die Zuordnung für die übergebenen Spieler gilt.
+     *
+     * @param players die Spieler.
+     * @return ob die Zuordnung für genau dieses Array erstellt wurde.
+     */
+    boolean isFor(Player[] players) {
+        return this.players == players;
+    }
+
+    /**
+     * Liefert den Index des Spielers, der die Spielfigur spielt.
+     *
+     * @param character die Spielfigur.
+     * @return der Index des Spielers oder NO_PLAYER.
+     */
+    int playerIndexOf(Character character) {
+        int id = character.getId();
+        if (id >= 0 && id < playerByCharacter.length) {
+            int player = playerByCharacter[id];
+            if (player == NO_PLAYER || players[player].getCharacter() == character) {
+                return player;
+            }
+        }
+        for (int i = 0; i < players.length; i++) {
+            if (players[i].getCharacter() == character) {
+                return i;
+            }
+        }
+        return NO_PLAYER;
+    }
+
+    /**
+     * Liefert die Spalte, in der ein Spieler seine Notizen über die Spielfigur eines anderen Spielers führt.
+     * Die Notizen enthalten alle Spieler in der Reihenfolge des Arrays außer dem Spieler selbst.
+     *
+     * @param selfIndex der Index des Spielers, dem die Notizen gehören.
+     * @param character die Spielfigur eines anderen Spielers.
+     * @return die Spalte oder -1, falls die Spielfigur die eigene ist oder von keinem Spieler gespielt wird.
+     */
+    int noteColumnOf(int selfIndex, Character character) {
+        int player = playerIndexOf(character);
+        if (player == NO_PLAYER || player == selfIndex) {
+            return -1;
+        }
+        return player < selfIndex ? player : player - 1;
+    }
+}
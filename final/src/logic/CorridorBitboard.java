@@ -0,0 +1,242 @@
+package logic;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Stellt das Spielfeld als Bitboard dar, um die Erreichbarkeit über den Flur schnell berechnen zu können.
+ * Jede Spielfeldzelle entspricht einem Bit, der Index ergibt sich zeilenweise aus y * Breite + x.
+ * Ein Schritt in alle vier Richtungen lässt sich so für alle Positionen gleichzeitig über
+ * wenige Shift-, Und- und Oder-Operationen auf einem long[] berechnen.
+ * <p>
+ * Die Instanz hält wiederverwendbare Zwischenspeicher und ist daher nicht threadsicher.
+ */
+class CorridorBitboard {
+    //Anzahl der Bits pro Wort
+    private static final int WORD_SIZE = Long.SIZE;
+
+    //Die Breite des Spielfeldes
+    private final int width;
+    //Die Höhe des Spielfeldes
+    private final int height;
+    //Anzahl der longs, die für eine Maske benötigt werden
+    private final int wordCount;
+    //Alle Flurzellen
+    private final long[] corridor;
+    //Alle Zellen, die nicht in der ersten Spalte liegen (Ziel eines Schrittes nach rechts)
+    private final long[] notFirstColumn;
+    //Alle Zellen, die nicht in der letzten Spalte liegen (Ziel eines Schrittes nach links)
+    private final long[] notLastColumn;
+    //Zwischenspeicher für die Positionen des aktuellen Schrittes
+    private final long[] frontier;
+    //Zwischenspeicher für die Nachbarn des aktuellen Schrittes
+    private final long[] neighbours;
+
+    /**
+     * Konstruiert das Bitboard aus dem Spielfeld.
+     *
+     * @param gameField das Spielfeld.
+     */
+    CorridorBitboard(GameCell[][] gameField) {
+        this.height = gameField.length;
+        this.width = height == 0 ? 0 : gameField[0].length;
+        this.wordCount = (width * height + WORD_SIZE - 1) / WORD_SIZE;
+        this.corridor = new long[wordCount];
+        this.notFirstColumn = new long[wordCount];
+        this.notLastColumn = new long[wordCount];
+        this.frontier = new long[wordCount];
+        this.neighbours = new long[wordCount];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = y * width + x;
+                if (gameField[y][x] == GameCell.CORRIDOR) {
+                    setBit(corridor, index);
+                }
+                if (x != 0) {
+                    setBit(notFirstColumn, index);
+                }
+                if (x != width - 1) {
+                    setBit(notLastColumn, index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert eine neue, leere Maske passend zu diesem Spielfeld.
+     *
+     * @return die leere Maske.
+     */
+    long[] newMask() {
+        return new long[wordCount];
+    }
+
+    /**
+     * Prüft, ob die Koordinaten innerhalb des Spielfeldes liegen.
+     *
+     * @param x die x Koordinate.
+     * @param y die y Koordinate.
+     * @return ob die Koordinaten innerhalb des Spielfeldes liegen.
+     */
+    boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Setzt das Bit der übergebenen Position in der Maske.
+     * Positionen außerhalb des Spielfeldes werden ignoriert.
+     *
+     * @param mask die Maske.
+     * @param pos  die Position.
+     */
+    void set(long[] mask, Position pos) {
+        if (isInside(pos.getX(), pos.getY())) {
+            setBit(mask, pos.toCellId(width));
+        }
+    }
+
+    /**
+     * Setzt das Bit der übergebenen Zelle in der Maske.
+     *
+     * @param mask die Maske.
+     * @param cell die Zelle (y * Breite + x).
+     */
+    void setCell(long[] mask, int cell) {
+        setBit(mask, cell);
+    }
+
+    /**
+     * Prüft, ob das Bit der übergebenen Position in der Maske gesetzt ist.
+     *
+     * @param mask die Maske.
+     * @param pos  die Position.
+     * @return ob die Position in der Maske enthalten ist. Außerhalb des Spielfeldes immer false.
+     */
+    boolean contains(long[] mask, Position pos) {
+        return isInside(pos.getX(), pos.getY()) && testBit(mask, pos.toCellId(width));
+    }
+
+    /**
+     * Erweitert die übergebenen Startpositionen um die angegebene Anzahl an Schritten über den Flur.
+     * Entspricht schrittweise dem Hinzufügen aller freien Nachbarn. Bei einer exakten Erweiterung
+     * werden nach jedem Schritt die Positionen des vorherigen Schrittes wieder entfernt.
+     *
+     * @param reach   die Startpositionen, wird mit den erreichbaren Positionen überschrieben.
+     * @param steps   die zur Verfügung stehenden Schritte.
+     * @param exact   ob alle Schritte verbraucht werden müssen.
+     * @param blocked die von anderen Spielfiguren belegten Positionen.
+     */
+    void expand(long[] reach, int steps, boolean exact, long[] blocked) {
+        for (int step = 0; step < steps; step++) {
+            System.arraycopy(reach, 0, frontier, 0, wordCount);
+            computeNeighbours(frontier, blocked);
+            for (int i = 0; i < wordCount; i++) {
+                if (exact) {
+                    reach[i] = neighbours[i] & ~frontier[i];
+                } else {
+                    reach[i] = frontier[i] | neighbours[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Wandelt eine Maske in eine Menge von Positionen um.
+     *
+     * @param mask die Maske.
+     * @return die in der Maske enthaltenen Positionen.
+     */
+    Set<Position> toPositions(long[] mask) {
+        Set<Position> res = new HashSet<>();
+        for (int word = 0; word < wordCount; word++) {
+            long bits = mask[word];
+            while (bits != 0) {
+                int index = word * WORD_SIZE + Long.numberOfTrailingZeros(bits);
+                res.add(Position.fromCellId(index, width));
+                bits &= bits - 1;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Berechnet alle freien Flurzellen, die von den übergebenen Positionen mit einem Schritt erreichbar sind,
+     * und schreibt diese in den Zwischenspeicher der Nachbarn.
+     *
+     * @param from    die Ausgangspositionen.
+     * @param blocked die von anderen Spielfiguren belegten Positionen.
+     */
+    private void computeNeighbours(long[] from, long[] blocked) {
+        for (int i = 0; i < wordCount; i++) {
+            neighbours[i] = 0L;
+        }
+        orShiftedLeft(from, 1, neighbours, notFirstColumn);   //nach rechts
+        orShiftedRight(from, 1, neighbours, notLastColumn);   //nach links
+        orShiftedLeft(from, width, neighbours, null);         //nach unten
+        orShiftedRight(from, width, neighbours, null);        //nach oben
+        for (int i = 0; i < wordCount; i++) {
+            neighbours[i] &= corridor[i] & ~blocked[i];
+        }
+    }
+
+    /**
+     * Verschiebt die Maske um die Anzahl an Bits zu höheren Indizes und verodert das Ergebnis mit dem Ziel.
+     *
+     * @param src    die zu verschiebende Maske.
+     * @param shift  die Anzahl an Bits.
+     * @param dst    das Ziel.
+     * @param filter optionale Maske, mit der das verschobene Ergebnis verundet wird.
+     */
+    private void orShiftedLeft(long[] src, int shift, long[] dst, long[] filter) {
+        int wordShift = shift / WORD_SIZE;
+        int bitShift = shift % WORD_SIZE;
+        for (int i = wordCount - 1; i >= wordShift; i--) {
+            long value = src[i - wordShift] << bitShift;
+            if (bitShift != 0 && i - wordShift - 1 >= 0) {
+                value |= src[i - wordShift - 1] >>> (WORD_SIZE - bitShift);
+            }
+            dst[i] |= filter == null ? value : value & filter[i];
+        }
+    }
+
+    /**
+     * Verschiebt die Maske um die Anzahl an Bits zu niedrigeren Indizes und verodert das Ergebnis mit dem Ziel.
+     *
+     * @param src    die zu verschiebende Maske.
+     * @param shift  die Anzahl an Bits.
+     * @param dst    das Ziel.
+     * @param filter optionale Maske, mit der das verschobene Ergebnis verundet wird.
+     */
+    private void orShiftedRight(long[] src, int shift, long[] dst, long[] filter) {
+        int wordShift = shift / WORD_SIZE;
+        int bitShift = shift % WORD_SIZE;
+        for (int i = 0; i + wordShift < wordCount; i++) {
+            long value = src[i + wordShift] >>> bitShift;
+            if (bitShift != 0 && i + wordShift + 1 < wordCount) {
+                value |= src[i + wordShift + 1] << (WORD_SIZE - bitShift);
+            }
+            dst[i] |= filter == null ? value : value & filter[i];
+        }
+    }
+
+    /**
+     * Setzt ein Bit in der Maske.
+     *
+     * @param mask  die Maske.
+     * @param index der Index des Bits.
+     */
+    private static void setBit(long[] mask, int index) {
+        mask[index / WORD_SIZE] |= 1L << (index % WORD_SIZE);
+    }
+
+    /**
+     * Prüft ein Bit in der Maske.
+     *
+     * @param mask  die Maske.
+     * @param index der Index des Bits.
+     * @return ob das Bit gesetzt ist.
+     */
+    private static boolean testBit(long[] mask, int index) {
+        return (mask[index / WORD_SIZE] & (1L << (index % WORD_SIZE))) != 0;
+    }
+}
@@ -0,0 +1,28 @@
+package logic;
+
+/**
+ * Nimmt das Wissen über die Verteilung der Karten entgegen, welches die schlaue KI gesammelt hat.
+ * Karten werden als Bitmasken über die Kartenindizes (Reihenfolge wie in den Notizen) übergeben.
+ *
+ * @see AISmart#describeDeal(GameLogic, Player, DealConstraints)
+ */
+interface DealConstraints {
+
+    /**
+     * Setzt das Wissen über einen Spieler.
+     *
+     * @param player   der Index des Spielers.
+     * @param has      die Karten, die der Spieler sicher hat.
+     * @param hasNot   die Karten, die der Spieler sicher nicht hat.
+     * @param handSize die Anzahl der Karten auf der Hand des Spielers.
+     */
+    void setPlayer(int player, long has, long hasNot, int handSize);
+
+    /**
+     * Verzeichnet, dass ein Spieler eine der übergebenen Karten gezeigt hat.
+     *
+     * @param player der Index des Spielers.
+     * @param cards  die Karten der Verdächtigung als Maske.
+     */
+    void addShownConstraint(int player, long cards);
+}
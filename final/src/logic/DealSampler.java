@@ -0,0 +1,516 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Zieht zufällige Kartenverteilungen, welche zu dem Wissen der KI passen (siehe {@link ExpertSolver}),
+ * und schätzt darüber, wie viel eine Verdächtigung über die Lösung verraten würde.
+ * <p>
+ * Je Ziehung wird für jeden Typ eine unbekannte Karte als Lösung gewählt. Die übrigen unbekannten Karten werden
+ * nacheinander einem Spieler zugeteilt, der sie haben darf, mit Wahrscheinlichkeit proportional zu seinen
+ * verbleibenden Plätzen. Das Gewicht der Ziehung ist das Produkt der Summen der Plätze, sodass jede passende
+ * Verteilung im Mittel gleich zählt. Verteilungen, die eine Verdächtigung nicht erfüllen, werden verworfen.
+ * <p>
+ * Die Ziehungen werden parallel über einen Fork/Join-Pool erzeugt, jede Aufgabe mit einem eigenen Zufallsgenerator.
+ * Es wird bis zur übergebenen Frist oder bis zur gewünschten Anzahl an Ziehungen gezogen.
+ * Karten werden als Bitmasken über die Kartenindizes übergeben, daher werden höchstens 64 Karten unterstützt.
+ */
+final class DealSampler implements DealConstraints {
+    //Höchste Anzahl an Karten (eine Maske je long)
+    static final int MAX_CARDS = Long.SIZE;
+    //Höchste Anzahl an Spielern (je anderem Spieler zwei Bit im Ergebnis einer Verdächtigung)
+    static final int MAX_PLAYERS = 7;
+
+    //Kennzeichnung der Karten der Lösung in einer Verteilung
+    private static final byte ENVELOPE = -1;
+    //Nach wie vielen Versuchen die Frist geprüft wird
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 5;
+    //Wie viele Versuche je gewünschter Ziehung höchstens unternommen werden
+    private static final int MAX_ATTEMPTS_PER_SAMPLE = 64;
+    //Bits für den Index der Ziehung im Sortierschlüssel
+    private static final int SAMPLE_BITS = 24;
+    //Bits für die Lösung im Sortierschlüssel
+    private static final int ENVELOPE_BITS = 16;
+
+    //Anzahl der Karten
+    private final int cardCount;
+    //Anzahl der Spieler
+    private final int playerCount;
+    //Die Karten je Kartentyp, indiziert über CardType.ordinal()
+    private final long[] typeMasks;
+    //Bekannte Karten je Spieler
+    private final long[] has;
+    //Ausgeschlossene Karten je Spieler
+    private final long[] hasNot;
+    //Anzahl der Karten auf der Hand je Spieler
+    private final int[] handSizes;
+    //Spieler je Verdächtigung, bei der eine Karte gezeigt wurde
+    private final List<Integer> constraintPlayers = new ArrayList<>();
+    //Die drei Karten je Verdächtigung, gleich indiziert
+    private final List<Long> constraintCards = new ArrayList<>();
+
+    /**
+     * Konstruktor.
+     *
+     * @param playerCount die Anzahl der Spieler.
+     * @param cardCount   die Anzahl der Karten.
+     * @param typeMasks   die Karten je Kartentyp, indiziert über CardType.ordinal().
+     */
+    DealSampler(int playerCount, int cardCount, long[] typeMasks) {
+        this.cardCount = cardCount;
+        this.playerCount = playerCount;
+        this.typeMasks = typeMasks.clone();
+        this.has = new long[playerCount];
+        this.hasNot = new long[playerCount];
+        this.handSizes = new int[playerCount];
+    }
+
+    @Override
+    public void setPlayer(int player, long has, long hasNot, int handSize) {
+        this.has[player] = has;
+        this.hasNot[player] = hasNot;
+        this.handSizes[player] = handSize;
+    }
+
+    @Override
+    public void addShownConstraint(int player, long cards) {
+        constraintPlayers.add(player);
+        constraintCards.add(cards);
+    }
+
+    /**
+     * Zieht passende Kartenverteilungen.
+     *
+     * @param pool       der Pool, in welchem parallel gezogen wird.
+     * @param deadline   der Zeitpunkt (System.nanoTime()), zu dem spätestens abgebrochen wird.
+     * @param maxSamples die höchste Anzahl an Ziehungen.
+     * @param random     der Zufallsgenerator, von dem die Generatoren der Aufgaben abgeteilt werden.
+     * @return die Ziehungen (evtl. keine) oder null, falls das Wissen widersprüchlich ist
+     * oder die Größen nicht unterstützt werden.
+     */
+    Samples sample(ForkJoinPool pool, long deadline, int maxSamples, SplittableRandom random) {
+        if (cardCount > MAX_CARDS || playerCount > MAX_PLAYERS || maxSamples >= 1 << SAMPLE_BITS) {
+            return null;
+        }
+        long allCards = cardCount == MAX_CARDS ? -1L : (1L << cardCount) - 1;
+        byte[] fixedOwners = new byte[cardCount];
+        long fixed = 0L;
+        for (int p = 0; p < playerCount; p++) {
+            if ((fixed & has[p]) != 0) {
+                return null;
+            }
+            fixed |= has[p];
+            for (long cards = has[p]; cards != 0; cards &= cards - 1) {
+                fixedOwners[Long.numberOfTrailingZeros(cards)] = (byte) p;
+            }
+        }
+        long unknown = allCards & ~fixed;
+
+        //Verbleibende Plätze und mögliche Karten je Spieler
+        int[] capacities = new int[playerCount];
+        long[] allowed = new long[playerCount];
+        int capacitySum = 0;
+        for (int p = 0; p < playerCount; p++) {
+            capacities[p] = handSizes[p] - Long.bitCount(has[p]);
+            if (capacities[p] < 0) {
+                return null;
+            }
+            capacitySum += capacities[p];
+            allowed[p] = unknown & ~hasNot[p];
+        }
+        if (capacitySum != Long.bitCount(unknown) - CardType.values().length) {
+            return null;
+        }
+
+        //Nur Verdächtigungen, die nicht bereits durch eine bekannte Karte erfüllt sind
+        List<Integer> openPlayers = new ArrayList<>();
+        List<Long> openMasks = new ArrayList<>();
+        for (int i = 0; i < constraintPlayers.size(); i++) {
+            int player = constraintPlayers.get(i);
+            long cards = constraintCards.get(i);
+            if ((cards & has[player]) == 0) {
+                long possible = cards & allowed[player];
+                if (possible == 0) {
+                    return null;
+                }
+                openPlayers.add(player);
+                openMasks.add(possible);
+            }
+        }
+        int[] checkPlayers = new int[openPlayers.size()];
+        long[] checkMasks = new long[openPlayers.size()];
+        for (int i = 0; i < checkPlayers.length; i++) {
+            checkPlayers[i] = openPlayers.get(i);
+            checkMasks[i] = openMasks.get(i);
+        }
+
+        //Mögliche Karten der Lösung je Typ
+        int[][] envelopeCandidates = new int[CardType.values().length][];
+        for (CardType type : CardType.values()) {
+            long cards = unknown & typeMasks[type.ordinal()];
+            if (cards == 0) {
+                return null;
+            }
+            envelopeCandidates[type.ordinal()] = toIndices(cards);
+        }
+
+        byte[] owners = new byte[maxSamples * cardCount];
+        double[] weights = new double[maxSamples];
+        long[] envelopes = new long[maxSamples];
+        int taskCount = Math.max(1, Math.min(pool.getParallelism(), maxSamples));
+        SampleAction[] tasks = new SampleAction[taskCount];
+        int from = 0;
+        for (int task = 0; task < taskCount; task++) {
+            int to = from + maxSamples / taskCount + (task < maxSamples % taskCount ? 1 : 0);
+            tasks[task] = new SampleAction(random.split(), from, to, unknown, fixedOwners, capacities, allowed,
+                    checkPlayers, checkMasks, envelopeCandidates, owners, weights, envelopes, deadline);
+            from = to;
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        //Die Ziehungen der Aufgaben lückenlos zusammenschieben
+        int count = 0;
+        for (SampleAction task : tasks) {
+            if (task.from != count) {
+                System.arraycopy(owners, task.from * cardCount, owners, count * cardCount, task.produced * cardCount);
+                System.arraycopy(weights, task.from, weights, count, task.produced);
+                System.arraycopy(envelopes, task.from, envelopes, count, task.produced);
+            }
+            count += task.produced;
+        }
+        return new Samples(cardCount, playerCount, count, owners, weights, envelopes);
+    }
+
+    /**
+     * Liefert die Indizes der Karten einer Maske in aufsteigender Reihenfolge.
+     *
+     * @param cards die Maske.
+     * @return die Indizes.
+     */
+    private static int[] toIndices(long cards) {
+        int[] indices = new int[Long.bitCount(cards)];
+        int i = 0;
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            indices[i++] = Long.numberOfTrailingZeros(rest);
+        }
+        return indices;
+    }
+
+    /**
+     * Zieht Verteilungen in einen eigenen Bereich der gemeinsamen Arrays.
+     */
+    private final class SampleAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SplittableRandom random;
+        private final int from;
+        private final int to;
+        private final long unknown;
+        private final byte[] fixedOwners;
+        private final int[] capacities;
+        private final long[] allowed;
+        private final int[] checkPlayers;
+        private final long[] checkMasks;
+        private final int[][] envelopeCandidates;
+        private final byte[] owners;
+        private final double[] weights;
+        private final long[] envelopes;
+        private final long deadline;
+        //Anzahl der gültigen Ziehungen ab from
+        private int produced;
+
+        private SampleAction(SplittableRandom random, int from, int to, long unknown, byte[] fixedOwners,
+                             int[] capacities, long[] allowed, int[] checkPlayers, long[] checkMasks,
+                             int[][] envelopeCandidates, byte[] owners, double[] weights, long[] envelopes, long deadline) {
+            this.random = random;
+            this.from = from;
+            this.to = to;
+            this.unknown = unknown;
+            this.fixedOwners = fixedOwners;
+            this.capacities = capacities;
+            this.allowed = allowed;
+            this.checkPlayers = checkPlayers;
+            this.checkMasks = checkMasks;
+            this.envelopeCandidates = envelopeCandidates;
+            this.owners = owners;
+            this.weights = weights;
+            this.envelopes = envelopes;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected void compute() {
+            int[] remaining = new int[playerCount];
+            long maxAttempts = (long) (to - from) * MAX_ATTEMPTS_PER_SAMPLE;
+            for (long attempt = 0; from + produced < to && attempt < maxAttempts; attempt++) {
+                if (attempt % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    return;
+                }
+                int offset = (from + produced) * cardCount;
+                System.arraycopy(fixedOwners, 0, owners, offset, cardCount);
+                System.arraycopy(capacities, 0, remaining, 0, playerCount);
+                long envelope = 0L;
+                for (int[] candidates : envelopeCandidates) {
+                    int card = candidates[random.nextInt(candidates.length)];
+                    envelope |= 1L << card;
+                    owners[offset + card] = ENVELOPE;
+                }
+                double weight = 1;
+                boolean valid = true;
+                for (long cards = unknown & ~envelope; cards != 0 && valid; cards &= cards - 1) {
+                    int card = Long.numberOfTrailingZeros(cards);
+                    int total = 0;
+                    for (int p = 0; p < playerCount; p++) {
+                        if ((allowed[p] & 1L << card) != 0) {
+                            total += remaining[p];
+                        }
+                    }
+                    if (total == 0) {
+                        valid = false;
+                    } else {
+                        int pick = random.nextInt(total);
+                        int p = 0;
+                        while ((allowed[p] & 1L << card) == 0 || pick >= remaining[p]) {
+                            if ((allowed[p] & 1L << card) != 0) {
+                                pick -= remaining[p];
+                            }
+                            p++;
+                        }
+                        owners[offset + card] = (byte) p;
+                        remaining[p]--;
+                        weight *= total;
+                    }
+                }
+                for (int c = 0; c < checkPlayers.length && valid; c++) {
+                    boolean satisfied = false;
+                    for (long cards = checkMasks[c]; cards != 0 && !satisfied; cards &= cards - 1) {
+                        satisfied = owners[offset + Long.numberOfTrailingZeros(cards)] == checkPlayers[c];
+                    }
+                    valid = satisfied;
+                }
+                if (valid) {
+                    weights[from + produced] = weight;
+                    envelopes[from + produced] = envelope;
+                    produced++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Die gezogenen, gewichteten Kartenverteilungen.
+     */
+    static final class Samples {
+        private final int cardCount;
+        private final int playerCount;
+        private final int count;
+        //Besitzer je Ziehung und Karte (Spielerindex oder ENVELOPE), indiziert über Ziehung * cardCount + Karte
+        private final byte[] owners;
+        private final double[] weights;
+        //Fortlaufende Nummer der Lösung je Ziehung
+        private final int[] envelopeIds;
+        private final double totalWeight;
+        //Entropie der Lösung in Bit
+        private final double envelopeEntropy;
+
+        private Samples(int cardCount, int playerCount, int count, byte[] owners, double[] weights, long[] envelopes) {
+            this.cardCount = cardCount;
+            this.playerCount = playerCount;
+            this.count = count;
+            this.owners = owners;
+            this.weights = weights;
+            this.envelopeIds = new int[count];
+            Map<Long, Integer> ids = new HashMap<>();
+            double total = 0;
+            for (int i = 0; i < count; i++) {
+                Integer id = ids.get(envelopes[i]);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(envelopes[i], id);
+                }
+                envelopeIds[i] = id;
+                total += weights[i];
+            }
+            this.totalWeight = total;
+            double[] envelopeWeights = new double[ids.size()];
+            for (int i = 0; i < count; i++) {
+                envelopeWeights[envelopeIds[i]] += weights[i];
+            }
+            double entropy = 0;
+            for (double weight : envelopeWeights) {
+                entropy -= weight / total * log2(weight / total);
+            }
+            this.envelopeEntropy = entropy;
+        }
+
+        /**
+         * Liefert die Anzahl der Ziehungen.
+         *
+         * @return die Anzahl der Ziehungen.
+         */
+        int getCount() {
+            return count;
+        }
+
+        /**
+         * Schätzt die Wahrscheinlichkeit, dass eine Karte in der Lösung liegt.
+         *
+         * @param card der Index der Karte.
+         * @return die geschätzte Wahrscheinlichkeit, 0 falls es keine Ziehungen gibt.
+         */
+        double getEnvelopeProbability(int card) {
+            double weight = 0;
+            for (int i = 0; i < count; i++) {
+                if (owners[i * cardCount + card] == ENVELOPE) {
+                    weight += weights[i];
+                }
+            }
+            return count == 0 ? 0 : weight / totalWeight;
+        }
+
+        /**
+         * Schätzt für mehrere Verdächtigungen den erwarteten Informationsgewinn über die Lösung in Bit
+         * (Transinformation zwischen der Lösung und den gezeigten Karten).
+         * Jeder andere Spieler zeigt eine der Karten, sofern er eine hat. Welche er bei mehreren wählt,
+         * entscheidet der Spieler selbst, angenommen wird die erste in der Reihenfolge Person, Waffe, Raum.
+         * Die Verdächtigungen werden parallel bewertet.
+         *
+         * @param pool        der Pool, in welchem parallel bewertet wird.
+         * @param deadline    der Zeitpunkt (System.nanoTime()), zu dem spätestens abgebrochen wird.
+         * @param suspector   der Index des verdächtigenden Spielers.
+         * @param suspicions  je Verdächtigung die Indizes von Person, Waffe und Raum.
+         * @return je Verdächtigung der Gewinn, NaN falls sie nicht vor der Frist bewertet wurde.
+         */
+        double[] informationGains(ForkJoinPool pool, long deadline, int suspector, int[][] suspicions) {
+            double[] gains = new double[suspicions.length];
+            Arrays.fill(gains, Double.NaN);
+            if (count > 0) {
+                int chunkSize = Math.max(1, suspicions.length / (2 * pool.getParallelism()));
+                pool.invoke(new GainAction(deadline, suspector, suspicions, gains, chunkSize, 0, suspicions.length));
+            }
+            return gains;
+        }
+
+        /**
+         * Bewertet eine Verdächtigung. Dafür werden die Ziehungen nach dem Ergebnis der Verdächtigung und
+         * der Lösung sortiert und die bedingte Entropie der Lösung abgezogen.
+         *
+         * @param suspector der Index des verdächtigenden Spielers.
+         * @param suspicion die Indizes von Person, Waffe und Raum.
+         * @param keys      Platz für die Sortierschlüssel, mindestens so groß wie die Anzahl der Ziehungen.
+         * @return der Gewinn in Bit.
+         */
+        private double informationGain(int suspector, int[] suspicion, long[] keys) {
+            for (int i = 0; i < count; i++) {
+                int offset = i * cardCount;
+                long outcome = 0;
+                for (int p = 0; p < playerCount; p++) {
+                    if (p != suspector) {
+                        int shown = 0;
+                        for (int s = 0; s < suspicion.length && shown == 0; s++) {
+                            if (owners[offset + suspicion[s]] == p) {
+                                shown = s + 1;
+                            }
+                        }
+                        outcome = outcome << 2 | shown;
+                    }
+                }
+                keys[i] = (outcome << ENVELOPE_BITS | envelopeIds[i]) << SAMPLE_BITS | i;
+            }
+            Arrays.sort(keys, 0, count);
+            //Bedingte Entropie: -Summe w(o,e)/W * log(w(o,e)/w(o))
+            double conditional = 0;
+            int start = 0;
+            while (start < count) {
+                long outcome = keys[start] >>> (ENVELOPE_BITS + SAMPLE_BITS);
+                int end = start;
+                double outcomeWeight = 0;
+                while (end < count && keys[end] >>> (ENVELOPE_BITS + SAMPLE_BITS) == outcome) {
+                    outcomeWeight += weights[(int) (keys[end] & ((1 << SAMPLE_BITS) - 1))];
+                    end++;
+                }
+                int i = start;
+                while (i < end) {
+                    long group = keys[i] >>> SAMPLE_BITS;
+                    double weight = 0;
+                    while (i < end && keys[i] >>> SAMPLE_BITS == group) {
+                        weight += weights[(int) (keys[i] & ((1 << SAMPLE_BITS) - 1))];
+                        i++;
+                    }
+                    conditional -= weight / totalWeight * log2(weight / outcomeWeight);
+                }
+                start = end;
+            }
+            return envelopeEntropy - conditional;
+        }
+
+        /**
+         * Bewertet einen Bereich der Verdächtigungen und teilt diesen bei Bedarf auf.
+         */
+        private final class GainAction extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            private final long deadline;
+            private final int suspector;
+            private final int[][] suspicions;
+            private final double[] gains;
+            //Anzahl der Verdächtigungen, ab der weiter aufgeteilt wird
+            private final int chunkSize;
+            private final int from;
+            private final int to;
+
+            private GainAction(long deadline, int suspector, int[][] suspicions, double[] gains, int chunkSize,
+                               int from, int to) {
+                this.deadline = deadline;
+                this.suspector = suspector;
+                this.suspicions = suspicions;
+                this.gains = gains;
+                this.chunkSize = chunkSize;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected void compute() {
+                if (to - from > chunkSize) {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new GainAction(deadline, suspector, suspicions, gains, chunkSize, from, middle),
+                            new GainAction(deadline, suspector, suspicions, gains, chunkSize, middle, to));
+                } else {
+                    long[] keys = new long[count];
+                    //Eine Verdächtigung wird nur begonnen, wenn sie voraussichtlich vor der Frist fertig wird
+                    long duration = 0;
+                    long now = System.nanoTime();
+                    for (int i = from; i < to && now + duration <= deadline; i++) {
+                        gains[i] = informationGain(suspector, suspicions[i], keys);
+                        long end = System.nanoTime();
+                        duration = Math.max(duration, end - now);
+                        now = end;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Logarithmus zur Basis 2.
+         *
+         * @param x der Wert.
+         * @return der Logarithmus.
+         */
+        private static double log2(double x) {
+            return Math.log(x) / Math.log(2);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package logic;
+
+/**
+ * Zählt die Dauer der Entscheidungen einer KI (z.B. aller Züge oder aller Verdächtigungen).
+ * Zusätzlich wird gezählt, wie oft die Frist einer Entscheidung überschritten wurde und wie oft
+ * stattdessen auf die einfachere Entscheidung der KI ohne Frist zurückgegriffen wurde.
+ */
+public final class DecisionTimings {
+    //Anzahl der Entscheidungen
+    private int count;
+    //Summe der Dauer aller Entscheidungen in Nanosekunden
+    private long totalNanos;
+    //Dauer der letzten Entscheidung in Nanosekunden
+    private long lastNanos;
+    //Längste Dauer einer Entscheidung in Nanosekunden
+    private long maxNanos;
+    //Anzahl der Entscheidungen, welche nach der Frist fertig wurden
+    private int overrunCount;
+    //Anzahl der Entscheidungen, bei denen auf die einfachere Entscheidung zurückgegriffen wurde
+    private int fallbackCount;
+
+    /**
+     * Verzeichnet eine Entscheidung.
+     *
+     * @param nanos    die Dauer der Entscheidung in Nanosekunden.
+     * @param overrun  ob die Entscheidung nach der Frist fertig wurde.
+     * @param fallback ob auf die einfachere Entscheidung zurückgegriffen wurde.
+     */
+    void record(long nanos, boolean overrun, boolean fallback) {
+        count++;
+        totalNanos += nanos;
+        lastNanos = nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+        if (overrun) {
+            overrunCount++;
+        }
+        if (fallback) {
+            fallbackCount++;
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Entscheidungen.
+     *
+     * @return die Anzahl der Entscheidungen.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Liefert die Summe der Dauer aller Entscheidungen.
+     *
+     * @return die Dauer in Nanosekunden.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Liefert die Dauer der letzten Entscheidung.
+     *
+     * @return die Dauer in Nanosekunden.
+     */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /**
+     * Liefert die längste Dauer einer Entscheidung.
+     *
+     * @return die Dauer in Nanosekunden.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Liefert die mittlere Dauer einer Entscheidung.
+     *
+     * @return die Dauer in Nanosekunden, 0 falls es noch keine Entscheidung gab.
+     */
+    public long getAverageNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Liefert die Anzahl der Entscheidungen, welche nach der Frist fertig wurden.
+     *
+     * @return die Anzahl der Überschreitungen.
+     */
+    public int getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Liefert die Anzahl der Entscheidungen, bei denen auf die einfachere Entscheidung zurückgegriffen wurde.
+     *
+     * @return die Anzahl der Rückfälle.
+     */
+    public int getFallbackCount() {
+        return fallbackCount;
+    }
+
+    @Override
+    public String toString() {
+        return count + " Entscheidungen, im Mittel " + getAverageNanos() / 1_000 + " µs, höchstens "
+                + maxNanos / 1_000 + " µs, " + overrunCount + " Überschreitungen, " + fallbackCount + " Rückfälle";
+    }
+}
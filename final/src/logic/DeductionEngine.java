@@ -0,0 +1,235 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Wissensbasis der schlauen KI darüber, welcher Spieler welche Karte besitzt.
+ * Je Spieler (Index wie im Array aller Spieler) und Karte (Index wie in den Notizen) ist bekannt,
+ * dass der Spieler die Karte hat, nicht hat oder es ist unbekannt.
+ * <p>
+ * Neue Erkenntnisse werden über eine Arbeitsliste weitergereicht, sodass nur die davon betroffenen Regeln
+ * erneut geprüft werden müssen:
+ * <ul>
+ * <li>Hat ein Spieler eine Karte, so hat kein anderer Spieler diese Karte.</li>
+ * <li>Hat ein Spieler bei einer Verdächtigung eine Karte gezeigt und sind zwei der drei Karten bei ihm
+ * ausgeschlossen, so hat er die verbleibende Karte.</li>
+ * </ul>
+ * Die Bedingungen der zweiten Regel werden je Spieler und Karte verzeichnet, sodass ein neuer Ausschluss
+ * nur die Verdächtigungen betrachtet, in denen die Karte vorkam.
+ */
+final class DeductionEngine {
+    //Zustände einer Zelle
+    static final byte UNKNOWN = 0;
+    static final byte HAS = 1;
+    static final byte HAS_NOT = 2;
+
+    //Anzahl der Spieler
+    private final int playerCount;
+    //Anzahl der Karten
+    private final int cardCount;
+    //Zustand je Zelle, indiziert über Spieler * Kartenanzahl + Karte
+    private final byte[] states;
+
+    //Spieler je Bedingung "hat eine der drei Karten gezeigt"
+    private int[] constraintPlayers = new int[16];
+    //Die drei Karten je Bedingung, indiziert über Bedingung * 3 + i
+    private int[] constraintCards = new int[48];
+    //Anzahl der Bedingungen
+    private int constraintCount;
+    //Bedingungen je Zelle, in denen die Karte des Spielers vorkommt
+    private final int[][] watchers;
+    //Anzahl der Bedingungen je Zelle
+    private final int[] watcherCounts;
+
+    //Zellen, deren Zustand sich geändert hat und deren Folgerungen noch ausstehen
+    private final int[] worklist;
+    //Ob eine Zelle bereits in der Arbeitsliste steht
+    private final boolean[] queued;
+    private int worklistSize;
+
+    //Zellen, die seit dem letzten Abholen über Folgerungen geändert wurden
+    private final int[] changed;
+    //Ob eine Zelle bereits als geändert vermerkt ist
+    private final boolean[] marked;
+    private int changedCount;
+
+    /**
+     * Konstruktor.
+     *
+     * @param playerCount die Anzahl der Spieler.
+     * @param cardCount   die Anzahl der Karten.
+     */
+    DeductionEngine(int playerCount, int cardCount) {
+        this.playerCount = playerCount;
+        this.cardCount = cardCount;
+        int cells = playerCount * cardCount;
+        this.states = new byte[cells];
+        this.watchers = new int[cells][];
+        this.watcherCounts = new int[cells];
+        this.worklist = new int[cells];
+        this.queued = new boolean[cells];
+        this.changed = new int[cells];
+        this.marked = new boolean[cells];
+    }
+
+    /**
+     * Liefert den Zustand einer Zelle.
+     *
+     * @param player der Index des Spielers.
+     * @param card   der Index der Karte.
+     * @return UNKNOWN, HAS oder HAS_NOT.
+     */
+    byte get(int player, int card) {
+        return states[player * cardCount + card];
+    }
+
+    /**
+     * Trägt eine bekannte Tatsache ein (z.B. aus den Notizen). Die Folgerungen werden erst über
+     * {@link #propagate()} gezogen. Die Zelle gilt nicht als geändert im Sinne von {@link #pollChanged()}.
+     *
+     * @param player der Index des Spielers.
+     * @param card   der Index der Karte.
+     * @param state  HAS oder HAS_NOT.
+     */
+    void learn(int player, int card, byte state) {
+        int cell = player * cardCount + card;
+        if (states[cell] != state) {
+            states[cell] = state;
+            enqueue(cell);
+        }
+    }
+
+    /**
+     * Verzeichnet, dass ein Spieler eine der drei Karten einer Verdächtigung gezeigt hat.
+     * Die Bedingung wird sofort geprüft, weitere Folgerungen werden bei {@link #propagate()} gezogen.
+     *
+     * @param player der Index des Spielers, der gezeigt hat.
+     * @param first  der Index der ersten Karte.
+     * @param second der Index der zweiten Karte.
+     * @param third  der Index der dritten Karte.
+     */
+    void addShownConstraint(int player, int first, int second, int third) {
+        if (constraintCount == constraintPlayers.length) {
+            constraintPlayers = Arrays.copyOf(constraintPlayers, constraintCount * 2);
+            constraintCards = Arrays.copyOf(constraintCards, constraintCount * 6);
+        }
+        int constraint = constraintCount++;
+        constraintPlayers[constraint] = player;
+        constraintCards[constraint * 3] = first;
+        constraintCards[constraint * 3 + 1] = second;
+        constraintCards[constraint * 3 + 2] = third;
+        for (int i = 0; i < 3; i++) {
+            int cell = player * cardCount + constraintCards[constraint * 3 + i];
+            int[] cellWatchers = watchers[cell];
+            if (cellWatchers == null) {
+                cellWatchers = watchers[cell] = new int[4];
+            } else if (watcherCounts[cell] == cellWatchers.length) {
+                cellWatchers = watchers[cell] = Arrays.copyOf(cellWatchers, cellWatchers.length * 2);
+            }
+            cellWatchers[watcherCounts[cell]++] = constraint;
+        }
+        checkConstraint(constraint);
+    }
+
+    /**
+     * Zieht alle Folgerungen aus den seit dem letzten Aufruf geänderten Zellen.
+     */
+    void propagate() {
+        while (worklistSize > 0) {
+            int cell = worklist[--worklistSize];
+            queued[cell] = false;
+            int player = cell / cardCount;
+            int card = cell % cardCount;
+            if (states[cell] == HAS) {
+                //Niemand sonst kann diese Karte haben
+                for (int other = 0; other < playerCount; other++) {
+                    if (other != player) {
+                        deduce(other * cardCount + card, HAS_NOT);
+                    }
+                }
+            } else if (states[cell] == HAS_NOT) {
+                //Nur die Verdächtigungen betrachten, in denen diese Karte vorkam
+                for (int i = 0; i < watcherCounts[cell]; i++) {
+                    checkConstraint(watchers[cell][i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der seit dem letzten Aufruf über Folgerungen geänderten Zellen.
+     * Die Zellen stehen danach über {@link #getChanged(int)} bereit, bis diese Methode erneut aufgerufen wird.
+     *
+     * @return die Anzahl der geänderten Zellen.
+     */
+    int pollChanged() {
+        int count = changedCount;
+        for (int i = 0; i < count; i++) {
+            marked[changed[i]] = false;
+        }
+        changedCount = 0;
+        return count;
+    }
+
+    /**
+     * Liefert eine der über {@link #pollChanged()} abgeholten Zellen.
+     *
+     * @param index der Index in der Liste der geänderten Zellen.
+     * @return die Zelle als Spieler * Kartenanzahl + Karte.
+     */
+    int getChanged(int index) {
+        return changed[index];
+    }
+
+    /**
+     * Prüft, ob bei einer Bedingung genau zwei Karten ausgeschlossen sind und der Spieler damit die
+     * verbleibende Karte haben muss.
+     *
+     * @param constraint der Index der Bedingung.
+     */
+    private void checkConstraint(int constraint) {
+        int base = constraintPlayers[constraint] * cardCount;
+        int remaining = -1;
+        int excluded = 0;
+        for (int i = 0; i < 3; i++) {
+            int cell = base + constraintCards[constraint * 3 + i];
+            if (states[cell] == HAS_NOT) {
+                excluded++;
+            } else {
+                remaining = cell;
+            }
+        }
+        if (excluded == 2) {
+            deduce(remaining, HAS);
+        }
+    }
+
+    /**
+     * Trägt eine Folgerung ein und vermerkt die Zelle als geändert.
+     *
+     * @param cell  die Zelle.
+     * @param state der neue Zustand.
+     */
+    private void deduce(int cell, byte state) {
+        if (states[cell] != state) {
+            states[cell] = state;
+            enqueue(cell);
+            if (!marked[cell]) {
+                marked[cell] = true;
+                changed[changedCount++] = cell;
+            }
+        }
+    }
+
+    /**
+     * Nimmt eine Zelle in die Arbeitsliste auf, falls sie dort noch nicht steht.
+     *
+     * @param cell die Zelle.
+     */
+    private void enqueue(int cell) {
+        if (!queued[cell]) {
+            queued[cell] = true;
+            worklist[worklistSize++] = cell;
+        }
+    }
+}
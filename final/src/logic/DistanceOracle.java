@@ -0,0 +1,78 @@
+package logic;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabelle der kürzesten Entfernungen zwischen allen Flurfeldern eines Spielfeldes, ohne Berücksichtigung
+ * der Spielfiguren. Da sich die Wände nicht ändern und jedes Spiel dasselbe Spielfeld nutzt, wird die Tabelle
+ * je Spielfeldaufbau nur einmal berechnet und von allen Spiellogiken der JVM gemeinsam genutzt.
+ * <p>
+ * Die Instanzen sind unveränderlich und damit threadsicher.
+ */
+final class DistanceOracle {
+    //Entfernung zwischen nicht verbundenen Flurfeldern
+    static final int UNREACHABLE = -1;
+
+    //Bereits berechnete Tabellen je Spielfeldaufbau
+    private static final Map<String, DistanceOracle> ORACLES = new ConcurrentHashMap<>();
+
+    //Anzahl der Flurfelder
+    private final int corridorCount;
+    //Entfernungen, indiziert über von * Anzahl + nach
+    private final short[] distances;
+
+    /**
+     * Berechnet die Entfernungen über eine Breitensuche je Flurfeld.
+     *
+     * @param graph der Nachbarschaftsgraph des Spielfeldes.
+     */
+    private DistanceOracle(BoardGraph graph) {
+        this.corridorCount = graph.getCorridorCount();
+        this.distances = new short[corridorCount * corridorCount];
+        int[] queue = new int[corridorCount];
+        for (int from = 0; from < corridorCount; from++) {
+            int rowOffset = from * corridorCount;
+            for (int to = 0; to < corridorCount; to++) {
+                distances[rowOffset + to] = UNREACHABLE;
+            }
+            distances[rowOffset + from] = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = from;
+            while (head < tail) {
+                int current = queue[head++];
+                short nextDistance = (short) (distances[rowOffset + current] + 1);
+                for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current); n++) {
+                    int next = graph.neighbourAt(n);
+                    if (distances[rowOffset + next] == UNREACHABLE) {
+                        distances[rowOffset + next] = nextDistance;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Liefert die Entfernungstabelle für den Spielfeldaufbau des übergebenen Graphen.
+     * Wird für jeden Aufbau nur einmal berechnet.
+     *
+     * @param graph der Nachbarschaftsgraph des Spielfeldes.
+     * @return die Entfernungstabelle.
+     */
+    static DistanceOracle forGraph(BoardGraph graph) {
+        return ORACLES.computeIfAbsent(graph.getLayoutKey(), key -> new DistanceOracle(graph));
+    }
+
+    /**
+     * Liefert die Entfernung zwischen zwei Flurfeldern.
+     *
+     * @param fromId die Flur-Id des Starts.
+     * @param toId   die Flur-Id des Ziels.
+     * @return die Anzahl der Schritte oder UNREACHABLE.
+     */
+    int distance(int fromId, int toId) {
+        return distances[fromId * corridorCount + toId];
+    }
+}
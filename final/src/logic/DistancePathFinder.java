@@ -0,0 +1,96 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Wegsuche anhand der vorberechneten Entfernungen zwischen allen Flurfeldern. Dazu wird das Paar aus Start und
+ * Ziel mit der geringsten Entfernung gewählt und schrittweise auf ein freies Nachbarfeld mit um eins geringerer
+ * Entfernung gegangen. Gelingt dies, ist der Weg auch unter Berücksichtigung der Spieler der kürzeste.
+ * <p>
+ * Ist der Weg versperrt oder liegt eine Startposition nicht auf dem Flur, wird die übergebene Wegsuche verwendet.
+ */
+class DistancePathFinder extends AbstractPathFinder {
+    //Die Entfernungen zwischen allen Flurfeldern (ohne Spielfiguren)
+    private final DistanceOracle distanceOracle;
+    //Wegsuche, falls der statisch kürzeste Weg versperrt ist
+    private final AbstractPathFinder fallback;
+
+    /**
+     * Konstruktor.
+     *
+     * @param distanceOracle die Entfernungen des Spielfeldes, für welches gesucht wird.
+     * @param fallback       die Wegsuche, falls der statisch kürzeste Weg versperrt ist.
+     */
+    DistancePathFinder(DistanceOracle distanceOracle, AbstractPathFinder fallback) {
+        this.distanceOracle = distanceOracle;
+        this.fallback = fallback;
+    }
+
+    @Override
+    List<Position> search(BoardGraph graph, Position[] starts, Set<Position> destinations, IntPredicate blocked) {
+        List<Position> path = searchByDistances(graph, starts, destinations, blocked);
+        //Der statisch kürzeste Weg ist durch Spielfiguren versperrt, Suche unter Berücksichtigung der Spieler
+        return path != null ? path : fallback.search(graph, starts, destinations, blocked);
+    }
+
+    /**
+     * Versucht den kürzesten Weg anhand der vorberechneten Entfernungen zu finden.
+     *
+     * @param graph        der Nachbarschaftsgraph des Spielfeldes.
+     * @param starts       die möglichen Ausgangspositionen.
+     * @param destinations die Zielpositionen.
+     * @param blocked      prüft, ob ein Flurfeld von einer Spielfigur versperrt ist.
+     * @return der kürzeste Pfad inklusive Start und Ziel oder null, falls die Suche versperrt ist
+     * oder eine Startposition nicht auf dem Flur liegt.
+     */
+    private List<Position> searchByDistances(BoardGraph graph, Position[] starts, Set<Position> destinations, IntPredicate blocked) {
+        int[] startIds = new int[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            startIds[i] = graph.idAt(starts[i]);
+            if (startIds[i] == BoardGraph.NO_CORRIDOR) {
+                return null;
+            }
+        }
+        int bestStart = BoardGraph.NO_CORRIDOR;
+        int bestDestination = BoardGraph.NO_CORRIDOR;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Position destination : destinations) {
+            int destinationId = graph.idAt(destination);
+            if (destinationId != BoardGraph.NO_CORRIDOR && !blocked.test(destinationId)) {
+                for (int startId : startIds) {
+                    int distance = distanceOracle.distance(startId, destinationId);
+                    if (distance != DistanceOracle.UNREACHABLE && distance < bestDistance) {
+                        bestDistance = distance;
+                        bestStart = startId;
+                        bestDestination = destinationId;
+                    }
+                }
+            }
+        }
+        if (bestStart == BoardGraph.NO_CORRIDOR) {
+            return null;
+        }
+        Position[] path = new Position[bestDistance + 1];
+        int current = bestStart;
+        path[0] = graph.getPosition(current);
+        for (int step = 1; step <= bestDistance; step++) {
+            int next = BoardGraph.NO_CORRIDOR;
+            for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current) && next == BoardGraph.NO_CORRIDOR; n++) {
+                int neighbour = graph.neighbourAt(n);
+                if (distanceOracle.distance(neighbour, bestDestination) == bestDistance - step && !blocked.test(neighbour)) {
+                    next = neighbour;
+                }
+            }
+            if (next == BoardGraph.NO_CORRIDOR) { //Versperrt
+                return null;
+            }
+            current = next;
+            path[step] = graph.getPosition(current);
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+}
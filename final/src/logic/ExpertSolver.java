@@ -0,0 +1,488 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Berechnet die exakten Wahrscheinlichkeiten der Karten, in der Lösung (Umschlag) zu liegen.
+ * Dafür werden alle Kartenverteilungen gezählt, welche zu dem Wissen der KI passen:
+ * <ul>
+ * <li>die bekannten Karten (hat) und ausgeschlossenen Karten (hat nicht) je Spieler,</li>
+ * <li>die Anzahl der Karten auf der Hand jedes Spielers,</li>
+ * <li>die Verdächtigungen, bei denen ein Spieler eine der drei Karten gezeigt hat.</li>
+ * </ul>
+ * Für jede mögliche Lösung (eine Karte je Typ) werden die Verteilungen der übrigen Karten auf die Spieler über
+ * eine Rückverfolgung gezählt. Zwischenergebnisse werden über die verbleibenden Plätze je Spieler und die noch
+ * nicht erfüllten Verdächtigungen zusammengefasst, Verdächtigungen ohne verbleibende Karte beenden den Zweig.
+ * Die möglichen Lösungen werden parallel über einen Fork/Join-Pool gezählt.
+ * <p>
+ * Karten werden als Bitmasken über die Kartenindizes (Reihenfolge wie in den Notizen) übergeben,
+ * daher werden höchstens 64 Karten unterstützt.
+ */
+final class ExpertSolver implements DealConstraints {
+    //Höchste Anzahl an Karten (eine Maske je long)
+    static final int MAX_CARDS = Long.SIZE;
+    //Höchste Anzahl an Spielern (8 Bit je Spieler und 6 Bit für die Position im Schlüssel)
+    static final int MAX_PLAYERS = 7;
+    //Höchste Anzahl an offenen Verdächtigungen (eine Maske je long)
+    static final int MAX_CONSTRAINTS = Long.SIZE;
+
+    //Nach wie vielen Zählschritten die Frist geprüft wird
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+    //Bits je Spieler für die verbleibenden Plätze im Schlüssel
+    private static final int CAPACITY_BITS = 8;
+    //Lage der Position im Schlüssel
+    private static final int POSITION_SHIFT = 56;
+
+    //Anzahl der Karten
+    private final int cardCount;
+    //Anzahl der Spieler
+    private final int playerCount;
+    //Die Karten je Kartentyp, indiziert über CardType.ordinal()
+    private final long[] typeMasks;
+    //Bekannte Karten je Spieler
+    private final long[] has;
+    //Ausgeschlossene Karten je Spieler
+    private final long[] hasNot;
+    //Anzahl der Karten auf der Hand je Spieler
+    private final int[] handSizes;
+    //Spieler je Verdächtigung, bei der eine Karte gezeigt wurde
+    private final List<Integer> constraintPlayers = new ArrayList<>();
+    //Die drei Karten je Verdächtigung, gleich indiziert
+    private final List<Long> constraintCards = new ArrayList<>();
+
+    /**
+     * Konstruktor.
+     *
+     * @param playerCount die Anzahl der Spieler.
+     * @param cardCount   die Anzahl der Karten.
+     * @param typeMasks   die Karten je Kartentyp, indiziert über CardType.ordinal().
+     */
+    ExpertSolver(int playerCount, int cardCount, long[] typeMasks) {
+        this.cardCount = cardCount;
+        this.playerCount = playerCount;
+        this.typeMasks = typeMasks.clone();
+        this.has = new long[playerCount];
+        this.hasNot = new long[playerCount];
+        this.handSizes = new int[playerCount];
+    }
+
+    @Override
+    public void setPlayer(int player, long has, long hasNot, int handSize) {
+        this.has[player] = has;
+        this.hasNot[player] = hasNot;
+        this.handSizes[player] = handSize;
+    }
+
+    @Override
+    public void addShownConstraint(int player, long cards) {
+        constraintPlayers.add(player);
+        constraintCards.add(cards);
+    }
+
+    /**
+     * Zählt alle passenden Kartenverteilungen, bis die Frist abläuft oder die Berechnung abgebrochen wird.
+     *
+     * @param pool      der Pool, in welchem parallel gezählt wird.
+     * @param deadline  der Zeitpunkt (System.nanoTime()), zu dem spätestens abgebrochen wird.
+     * @param cancelled liefert true, sobald vor Ablauf der Frist abgebrochen werden soll.
+     * @return die Lösung oder null, falls die Berechnung nicht beendet werden konnte, das Wissen widersprüchlich ist
+     * oder die Größen nicht unterstützt werden.
+     */
+    Solution solve(ForkJoinPool pool, long deadline, BooleanSupplier cancelled) {
+        if (cardCount > MAX_CARDS || playerCount > MAX_PLAYERS) {
+            return null;
+        }
+        long allCards = cardCount == MAX_CARDS ? -1L : (1L << cardCount) - 1;
+        long fixed = 0L;
+        for (int p = 0; p < playerCount; p++) {
+            if ((fixed & has[p]) != 0) {
+                return null;
+            }
+            fixed |= has[p];
+        }
+        long unknown = allCards & ~fixed;
+
+        //Verbleibende Plätze und mögliche Karten je Spieler
+        long capacities = 0L;
+        long[] allowed = new long[playerCount];
+        for (int p = 0; p < playerCount; p++) {
+            int capacity = handSizes[p] - Long.bitCount(has[p]);
+            if (capacity < 0 || capacity >= 1 << CAPACITY_BITS) {
+                return null;
+            }
+            capacities |= (long) capacity << (p * CAPACITY_BITS);
+            allowed[p] = unknown & ~hasNot[p];
+        }
+
+        //Nur Verdächtigungen, die nicht bereits durch eine bekannte Karte erfüllt sind
+        List<Integer> players = new ArrayList<>();
+        List<Long> masks = new ArrayList<>();
+        for (int i = 0; i < constraintPlayers.size(); i++) {
+            int player = constraintPlayers.get(i);
+            long cards = constraintCards.get(i);
+            if ((cards & has[player]) == 0) {
+                long possible = cards & allowed[player];
+                if (possible == 0) {
+                    return null;
+                }
+                boolean duplicate = false;
+                for (int j = 0; j < players.size() && !duplicate; j++) {
+                    duplicate = players.get(j) == player && masks.get(j) == possible;
+                }
+                if (!duplicate) {
+                    players.add(player);
+                    masks.add(possible);
+                }
+            }
+        }
+        if (players.size() > MAX_CONSTRAINTS) {
+            return null;
+        }
+        //Je Spieler und Karte die Verdächtigungen, welche durch die Karte erfüllt werden
+        long[] satisfies = new long[playerCount * MAX_CARDS];
+        long[] constraintMasks = new long[players.size()];
+        for (int c = 0; c < players.size(); c++) {
+            constraintMasks[c] = masks.get(c);
+            for (long cards = masks.get(c); cards != 0; cards &= cards - 1) {
+                satisfies[players.get(c) * MAX_CARDS + Long.numberOfTrailingZeros(cards)] |= 1L << c;
+            }
+        }
+
+        //Mögliche Lösungen: je Typ eine unbekannte Karte
+        long rooms = unknown & typeMasks[CardType.ROOM.ordinal()];
+        long characters = unknown & typeMasks[CardType.CHARACTER.ordinal()];
+        long weapons = unknown & typeMasks[CardType.WEAPON.ordinal()];
+        long[] envelopes = new long[Long.bitCount(rooms) * Long.bitCount(characters) * Long.bitCount(weapons)];
+        if (envelopes.length == 0) {
+            return null;
+        }
+        int envelopeCount = 0;
+        for (long r = rooms; r != 0; r &= r - 1) {
+            for (long c = characters; c != 0; c &= c - 1) {
+                for (long w = weapons; w != 0; w &= w - 1) {
+                    envelopes[envelopeCount++] = Long.lowestOneBit(r) | Long.lowestOneBit(c) | Long.lowestOneBit(w);
+                }
+            }
+        }
+
+        long[] counts = new long[envelopes.length];
+        AtomicBoolean timedOut = new AtomicBoolean(System.nanoTime() > deadline || cancelled.getAsBoolean());
+        pool.invoke(new CountAction(envelopes, counts, 0, envelopes.length, unknown, capacities, allowed,
+                constraintMasks, satisfies, deadline, cancelled, timedOut));
+        if (timedOut.get()) {
+            return null;
+        }
+        return new Solution(cardCount, envelopes, counts);
+    }
+
+    /**
+     * Zählt die Verteilungen für einen Bereich der möglichen Lösungen und teilt diesen bei Bedarf auf.
+     */
+    private final class CountAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] envelopes;
+        private final long[] counts;
+        private final int from;
+        private final int to;
+        private final long unknown;
+        private final long capacities;
+        private final long[] allowed;
+        private final long[] constraintMasks;
+        private final long[] satisfies;
+        private final long deadline;
+        private final BooleanSupplier cancelled;
+        private final AtomicBoolean timedOut;
+
+        private CountAction(long[] envelopes, long[] counts, int from, int to, long unknown, long capacities,
+                            long[] allowed, long[] constraintMasks, long[] satisfies, long deadline,
+                            BooleanSupplier cancelled, AtomicBoolean timedOut) {
+            this.envelopes = envelopes;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+            this.unknown = unknown;
+            this.capacities = capacities;
+            this.allowed = allowed;
+            this.constraintMasks = constraintMasks;
+            this.satisfies = satisfies;
+            this.deadline = deadline;
+            this.cancelled = cancelled;
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CountAction(envelopes, counts, from, middle, unknown, capacities, allowed, constraintMasks, satisfies, deadline, cancelled, timedOut),
+                        new CountAction(envelopes, counts, middle, to, unknown, capacities, allowed, constraintMasks, satisfies, deadline, cancelled, timedOut));
+            } else if (!timedOut.get()) {
+                counts[from] = new Counter(unknown & ~envelopes[from], capacities, allowed, constraintMasks,
+                        satisfies, deadline, cancelled, timedOut).count();
+            }
+        }
+    }
+
+    /**
+     * Zählt die Verteilungen der verbleibenden Karten auf die Spieler für eine feste Lösung.
+     * Nicht threadsicher, jede Lösung erhält eine eigene Instanz.
+     */
+    private final class Counter {
+        //Die zu verteilenden Karten in aufsteigender Reihenfolge
+        private final int[] order;
+        //Verdächtigungen, deren letzte verbleibende Karte an der Position liegt
+        private final long[] closingAt;
+        //Verdächtigungen, deren letzte verbleibende Karte vor oder an der Position liegt
+        private final long[] closedUpTo;
+        private final long capacities;
+        private final long[] allowed;
+        private final long[] satisfies;
+        private final long deadline;
+        private final BooleanSupplier cancelled;
+        private final AtomicBoolean timedOut;
+        //Bereits gezählte Zwischenstände
+        private final Memo memo = new Memo();
+        //Ob keine Verteilung möglich ist, da eine Verdächtigung nur Karten der Lösung enthält
+        private final boolean impossible;
+        private int steps;
+
+        private Counter(long remaining, long capacities, long[] allowed, long[] constraintMasks, long[] satisfies,
+                        long deadline, BooleanSupplier cancelled, AtomicBoolean timedOut) {
+            this.capacities = capacities;
+            this.allowed = allowed;
+            this.satisfies = satisfies;
+            this.deadline = deadline;
+            this.cancelled = cancelled;
+            this.timedOut = timedOut;
+            this.order = new int[Long.bitCount(remaining)];
+            int position = 0;
+            for (long cards = remaining; cards != 0; cards &= cards - 1) {
+                order[position++] = Long.numberOfTrailingZeros(cards);
+            }
+            this.closingAt = new long[order.length];
+            this.closedUpTo = new long[order.length];
+            boolean anyImpossible = false;
+            for (int c = 0; c < constraintMasks.length; c++) {
+                long cards = constraintMasks[c] & remaining;
+                if (cards == 0) {
+                    anyImpossible = true;
+                } else {
+                    int last = 63 - Long.numberOfLeadingZeros(cards);
+                    for (int i = 0; i < order.length; i++) {
+                        if (order[i] == last) {
+                            closingAt[i] |= 1L << c;
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < order.length; i++) {
+                closedUpTo[i] = (i == 0 ? 0L : closedUpTo[i - 1]) | closingAt[i];
+            }
+            this.impossible = anyImpossible;
+        }
+
+        /**
+         * Zählt die Verteilungen.
+         *
+         * @return die Anzahl der Verteilungen, 0 bei Überschreitung der Frist.
+         */
+        private long count() {
+            int capacitySum = 0;
+            for (int p = 0; p < playerCount; p++) {
+                capacitySum += (int) (capacities >>> (p * CAPACITY_BITS)) & ((1 << CAPACITY_BITS) - 1);
+            }
+            if (impossible || capacitySum != order.length) {
+                return 0;
+            }
+            return count(0, capacities, 0L);
+        }
+
+        /**
+         * Zählt rekursiv die Verteilungen ab einer Position.
+         *
+         * @param position   die Position der nächsten zu verteilenden Karte.
+         * @param capacities die verbleibenden Plätze je Spieler.
+         * @param satisfied  die bereits erfüllten, noch nicht abgeschlossenen Verdächtigungen.
+         * @return die Anzahl der Verteilungen.
+         */
+        private long count(int position, long capacities, long satisfied) {
+            if (position == order.length) {
+                return 1;
+            }
+            if (++steps == DEADLINE_CHECK_INTERVAL) {
+                steps = 0;
+                if (timedOut.get() || System.nanoTime() > deadline || cancelled.getAsBoolean()) {
+                    timedOut.set(true);
+                }
+            }
+            if (timedOut.get()) {
+                return 0;
+            }
+            long key = capacities | (long) position << POSITION_SHIFT;
+            long known = memo.get(key, satisfied);
+            if (known != Memo.MISSING) {
+                return known;
+            }
+            int card = order[position];
+            long result = 0;
+            for (int p = 0; p < playerCount; p++) {
+                long capacity = (capacities >>> (p * CAPACITY_BITS)) & ((1 << CAPACITY_BITS) - 1);
+                if (capacity > 0 && (allowed[p] & 1L << card) != 0) {
+                    long nowSatisfied = satisfied | satisfies[p * MAX_CARDS + card];
+                    //Alle hier abgeschlossenen Verdächtigungen müssen erfüllt sein
+                    if ((closingAt[position] & ~nowSatisfied) == 0) {
+                        result += count(position + 1, capacities - (1L << (p * CAPACITY_BITS)),
+                                nowSatisfied & ~closedUpTo[position]);
+                    }
+                }
+            }
+            memo.put(key, satisfied, result);
+            return result;
+        }
+    }
+
+    /**
+     * Hashtabelle der Zwischenstände mit offener Adressierung. Ein Schlüssel besteht aus zwei longs
+     * (Position mit verbleibenden Plätzen und erfüllte Verdächtigungen), sodass je Eintrag keine Objekte entstehen.
+     */
+    private static final class Memo {
+        //Rückgabe bei unbekanntem Schlüssel (Anzahlen sind nie negativ)
+        private static final long MISSING = -1;
+
+        private long[] firstKeys = new long[1 << 10];
+        private long[] secondKeys = new long[1 << 10];
+        private long[] values = new long[1 << 10];
+        private boolean[] used = new boolean[1 << 10];
+        private int size;
+
+        /**
+         * Liefert den Wert zu einem Schlüssel.
+         *
+         * @param first  der erste Teil des Schlüssels.
+         * @param second der zweite Teil des Schlüssels.
+         * @return der Wert oder MISSING.
+         */
+        private long get(long first, long second) {
+            for (int slot = slot(first, second); used[slot]; slot = (slot + 1) & (used.length - 1)) {
+                if (firstKeys[slot] == first && secondKeys[slot] == second) {
+                    return values[slot];
+                }
+            }
+            return MISSING;
+        }
+
+        /**
+         * Legt einen Wert zu einem noch nicht vorhandenen Schlüssel ab.
+         *
+         * @param first  der erste Teil des Schlüssels.
+         * @param second der zweite Teil des Schlüssels.
+         * @param value  der Wert.
+         */
+        private void put(long first, long second, long value) {
+            if (2 * (size + 1) > used.length) {
+                grow();
+            }
+            int slot = slot(first, second);
+            while (used[slot]) {
+                slot = (slot + 1) & (used.length - 1);
+            }
+            used[slot] = true;
+            firstKeys[slot] = first;
+            secondKeys[slot] = second;
+            values[slot] = value;
+            size++;
+        }
+
+        /**
+         * Verdoppelt die Größe der Tabelle.
+         */
+        private void grow() {
+            long[] oldFirstKeys = firstKeys;
+            long[] oldSecondKeys = secondKeys;
+            long[] oldValues = values;
+            boolean[] oldUsed = used;
+            firstKeys = new long[oldUsed.length * 2];
+            secondKeys = new long[oldUsed.length * 2];
+            values = new long[oldUsed.length * 2];
+            used = new boolean[oldUsed.length * 2];
+            size = 0;
+            for (int i = 0; i < oldUsed.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldFirstKeys[i], oldSecondKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private int slot(long first, long second) {
+            long hash = (first * 0x9E3779B97F4A7C15L) ^ (second * 0xC2B2AE3D27D4EB4FL);
+            return (int) (hash ^ (hash >>> 32)) & (used.length - 1);
+        }
+    }
+
+    /**
+     * Ergebnis der Zählung: die Anzahl der Verteilungen je möglicher Lösung.
+     */
+    static final class Solution {
+        //Anzahl der Verteilungen insgesamt
+        private final long total;
+        //Wahrscheinlichkeit je Karte, in der Lösung zu liegen
+        private final double[] envelopeProbabilities;
+        //Die einzige mögliche Lösung als Maske, 0 falls es mehrere gibt
+        private final long certainEnvelope;
+
+        private Solution(int cardCount, long[] envelopes, long[] counts) {
+            long sum = 0;
+            long certain = 0;
+            int possible = 0;
+            for (int i = 0; i < counts.length; i++) {
+                sum += counts[i];
+                if (counts[i] > 0) {
+                    possible++;
+                    certain = envelopes[i];
+                }
+            }
+            this.total = sum;
+            this.certainEnvelope = possible == 1 ? certain : 0L;
+            this.envelopeProbabilities = new double[cardCount];
+            for (int i = 0; i < counts.length && sum > 0; i++) {
+                for (long cards = envelopes[i]; cards != 0; cards &= cards - 1) {
+                    envelopeProbabilities[Long.numberOfTrailingZeros(cards)] += (double) counts[i] / sum;
+                }
+            }
+        }
+
+        /**
+         * Liefert die Anzahl aller passenden Kartenverteilungen.
+         *
+         * @return die Anzahl der Verteilungen, 0 bei widersprüchlichem Wissen.
+         */
+        long getTotal() {
+            return total;
+        }
+
+        /**
+         * Liefert die Wahrscheinlichkeit einer Karte, in der Lösung zu liegen.
+         *
+         * @param card der Index der Karte.
+         * @return die Wahrscheinlichkeit.
+         */
+        double getEnvelopeProbability(int card) {
+            return envelopeProbabilities[card];
+        }
+
+        /**
+         * Liefert die Lösung, falls nur noch eine möglich ist.
+         *
+         * @return die Karten der Lösung als Maske, 0 falls noch mehrere möglich sind.
+         */
+        long getCertainEnvelope() {
+            return certainEnvelope;
+        }
+    }
+}
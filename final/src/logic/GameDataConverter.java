@@ -105,7 +105,9 @@ public class GameDataConverter {
         //Im Spielsand wird nicht zwischen menschl. und "normaler" KI unterschieden
         if (ai == null || ai.getDifficulty().equals(AIDifficulty.NORMAL)) {
             return "normal";
-        } else if (ai.getDifficulty() == AIDifficulty.SMART) {
+        } else if (ai.getDifficulty() == AIDifficulty.SMART || ai.getDifficulty() == AIDifficulty.EXPERT
+                || ai.getDifficulty() == AIDifficulty.MONTE_CARLO) {
+            //Das Speicherformat kennt keine Experten- und Monte-Carlo-KI, sie werden als schlaue KI geladen
             return "schlau";
         } else {
             return "dumm";
@@ -190,7 +192,7 @@ public class GameDataConverter {
     private static NoteJSON convertNoteOthersOfPlayerToNoteJSON(Card[] allCards, Character[] allCharacters, Player player, int destinationIndex, int sourceIndex) {
         //den Index ausgehend von dem aktuellem player für die Notiz über den Spieler an characterIndex
         //Die indece berechnug muss pro spieler anders sein, da die eigenen notizen in den others ja fehlen
-        NoteOthers[] noteOthers = player.getNoteOthers()[sourceIndex];
+        NoteOthers[] noteOthers = player.getNotes().getOthersColumn(sourceIndex);
         String name = allCharacters[destinationIndex].getName(); //Name des Spielers dessen Notizen wir generieren
         List<String> ownPersonas = new ArrayList<>();
         List<String> ownRooms = new ArrayList<>();
@@ -213,7 +215,7 @@ public class GameDataConverter {
      * @return die Konvertierten eigenen Notizen des Spielers in Speicherformat.
      */
     private static NoteJSON convertOwnNotesOfPlayerToNoteJSON(Card[] allCards, Player player) {
-        NoteSelf[] ownNotes = player.getNoteSelf();
+        NoteSelf[] ownNotes = player.getNotes().getSelfColumn();
         String name = player.getCharacter().getName();
         List<String> ownPersonas = new ArrayList<>();
         List<String> ownRooms = new ArrayList<>();
@@ -284,8 +286,16 @@ public class GameDataConverter {
         boolean characterFound = false;
         CardTriple envelope = new CardTriple();
         assert (allCardsOfPlayers.size() + CardTriple.TRIPLE_SIZE == allCards.length);
-        for (Card currCard : allCards) {
-            if (!allCardsOfPlayers.contains(currCard)) {
+        boolean[] onHand = new boolean[allCards.length];
+        for (Card card : allCardsOfPlayers) {
+            int cardIndex = card.indexIn(allCards);
+            if (cardIndex != -1) {
+                onHand[cardIndex] = true;
+            }
+        }
+        for (int cardIndex = 0; cardIndex < allCards.length; cardIndex++) {
+            Card currCard = allCards[cardIndex];
+            if (!onHand[cardIndex]) {
                 switch (currCard.getType()) {
                     case CHARACTER:
                         if (!characterFound) {
@@ -403,8 +413,9 @@ public class GameDataConverter {
             NoteOthers[][] playerNoteOthers = convertToNoteOthers(logic, playerNoteOthersToLoad, playerCharacter.getName());
 
             //Spieler konstruieren und in Array
-            //List<Card> cards, Position pos, AIDifficulty aiDifficulty, Character character, NoteSelf[] noteSelf, boolean requested, NoteOthers[][] noteOthers
-            playersInGameResult[playerToLoadIndex] = new Player(playerCards, playerPosition, playerAIDifficulty, playerCharacter, playerOwnNotes, playerRequested, playerNoteOthers);
+            //List<Card> cards, Position pos, AIDifficulty aiDifficulty, Character character, NotesMatrix notes, boolean requested
+            playersInGameResult[playerToLoadIndex] = new Player(playerCards, playerPosition, playerAIDifficulty, playerCharacter,
+                    NotesMatrix.of(playerOwnNotes, playerNoteOthers), playerRequested);
         }
         return playersInGameResult;
     }
@@ -445,7 +456,7 @@ public class GameDataConverter {
         String[] roomsToLoad = playerOwnNoteToLoad.getMemo().getRooms();
         int noteLength = charactersToLoad.length + weaponsToLoad.length + roomsToLoad.length;
         //Notizenlänge muss übereinstimmen
-        if (logic.getPlayers()[0].getNoteOthers()[0].length != noteLength) {
+        if (logic.getPlayers()[0].getNotes().getCardCount() != noteLength) {
             throw new CluedoException(ExceptionType.NoteOthersLength);
         }
         NoteOthers[] result = new NoteOthers[noteLength];
@@ -475,7 +486,7 @@ public class GameDataConverter {
         }
         int noteLength = charactersToLoad.length + weaponsToLoad.length + roomsToLoad.length;
         //Notizenlänge muss übereinstimmen
-        if (logic.getPlayers()[0].getNoteSelf().length != noteLength) {
+        if (logic.getPlayers()[0].getNotes().getCardCount() != noteLength) {
             throw new CluedoException(ExceptionType.NoteSelfLength);
         }
         NoteSelf[] result = new NoteSelf[noteLength];
@@ -13,6 +13,7 @@ import logic.json.InitialRoomJSON;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.IntPredicate;
 
 /**
  * Diese Klasse repräsentiert die Spiellogik von Cluedo.
@@ -26,9 +27,72 @@ public class GameLogic {
     //Debugmodus schalter.
     private static final boolean DEBUG_MODE = false;
 
+    //Standardmäßige Zeit je Entscheidung (Zug oder Verdächtigung) eines KI-Spielers in Millisekunden
+    public static final long DEFAULT_AI_DECISION_MILLIS = 100;
+
     //Das Spielfeld
     private final GameCell[][] gameField;
 
+    //Die von allen Spielen mit derselben Spielfeldvorlage gemeinsam genutzte Analyse des Spielfeldes
+    private final BoardAnalysis boardAnalysis;
+
+    //Der Nachbarschaftsgraph der Flurfelder
+    private final BoardGraph boardGraph;
+
+    //Die Entfernungen zwischen allen Flurfeldern (ohne Spielfiguren)
+    private final DistanceOracle distanceOracle;
+
+    //Die Entfernungsfelder der Räume (ohne Spielfiguren)
+    private final RoomDistanceFields roomDistanceFields;
+
+    //Die Startfelder der Personen
+    private final Position[] startPositions;
+
+    //Die Wege zwischen den Räumen und von den Startfeldern zu den Räumen
+    private final RoomGraph roomGraph;
+
+    //Die Wegsuche für die kürzesten Wege über den Flur
+    private PathFinder pathFinder;
+
+    //Prüft, ob ein Flurfeld von der Spielfigur eines anderen Spielers versperrt ist
+    private final IntPredicate blockedByOtherPlayer = id -> isBlocked(id, getOtherPlayerSlots());
+
+    //Das Spielfeld als Bitboard für die Berechnung der erreichbaren Flurfelder
+    private final CorridorBitboard corridorBitboard;
+
+    //Die vorberechneten Erreichbarkeiten je Flurfeld für die Augenzahlen des Würfels
+    private final MoveTable moveTable;
+
+    //Wiederverwendbare Flur-Ids der Startpositionen für die Tabelle der Erreichbarkeiten
+    private int[] moveStartIds = new int[1];
+
+    //Wiederverwendbare Maske der erreichbaren Flurfelder
+    private final long[] reachMask;
+
+    //Wiederverwendbare Maske der von anderen Spielern belegten Felder
+    private final long[] otherPlayersMask;
+
+    //Zwischenspeicher der Erreichbarkeiten innerhalb eines Zuges
+    private final ReachabilityCache reachabilityCache;
+
+    //Die Belegung des Spielfeldes durch die Spielfiguren
+    private final OccupancyGrid occupancyGrid;
+
+    //Die Slots der Spielfiguren der Spieler in der Belegung als Bitmaske
+    private long playerSlots;
+
+    //Die von allen Spielen mit denselben Namen gemeinsam genutzte Zuordnung der Namen zu den Indizes
+    private final NameRegistry nameRegistry;
+
+    //Zuordnung der Personen zu den Spielern und den Spalten der Notizen
+    private CharacterIndex characterIndex;
+
+    //Version der Belegung, für welche die Maske der von anderen Spielern belegten Felder berechnet wurde
+    private long otherPlayersMaskVersion = -1;
+
+    //Index des Spielers, für welchen die Maske der von anderen Spielern belegten Felder berechnet wurde
+    private int otherPlayersMaskPlayer = -1;
+
     //Alle im Spiel befindl. Charaktere
     private final Character[] characters;
 
@@ -41,6 +105,12 @@ public class GameLogic {
     //Alle im Spiel befindichen. Karten
     private final Card[] cards;
 
+    //Bitmasken über die Kartenindizes je Kartentyp, indiziert über CardType.ordinal()
+    private final long[][] cardTypeMasks;
+
+    //Der Raum je Kartenindex (null bei Waffen- und Personenkarten)
+    private final Room[] roomsByCardIndex;
+
     //Generator für zufällige Zahlen
     private final Random random = new Random();
 
@@ -66,6 +136,18 @@ public class GameLogic {
     //Alle im Spiel befindichen Spieler
     private Player[] players;
 
+    //Zeit je Entscheidung eines KI-Spielers in Millisekunden
+    private long aiDecisionMillis = DEFAULT_AI_DECISION_MILLIS;
+
+    //Lässt die KI-Spieler vorausdenken, während auf die GUI gewartet wird
+    private final Ponderer ponderer = new Ponderer();
+
+    //Wird bei jeder Verdächtigung und jedem gesetzten Zug erhöht, vorausgedachte Züge sind dann ungültig
+    private long ponderVersion;
+
+    //Die Spieler der Logik, von welcher dies eine Momentaufnahme ist (null bei der eigentlichen Logik)
+    private Player[] snapshotOf;
+
 
     /**
      * Testkonstruktor für Spielfeld welches vom Standart abweicht.
@@ -88,7 +170,7 @@ public class GameLogic {
      */
     public GameLogic(GameCell[][] gameField, Player[] players, Character[] characters, AIDifficulty[] difficulties) {
         this(new Room[0], characters, null, gameField, new Card[0], players.length, difficulties);
-        this.players = players;
+        setPlayers(players);
     }
 
     /**
@@ -108,16 +190,92 @@ public class GameLogic {
         this.characters = characters;
         this.weapons = weapons;
         this.gameField = gameField;
+        this.startPositions = new Position[characters.length];
+        for (int i = 0; i < characters.length; i++) {
+            this.startPositions[i] = characters[i].getPosition();
+        }
+        this.boardAnalysis = BoardAnalysis.forBoard(gameField, rooms, startPositions);
+        this.boardGraph = boardAnalysis.getGraph();
+        this.distanceOracle = boardAnalysis.getDistanceOracle();
+        this.pathFinder = new DistancePathFinder(distanceOracle, new BfsPathFinder());
+        this.roomDistanceFields = boardAnalysis.getRoomDistanceFields();
+        this.roomGraph = boardAnalysis.getRoomGraph();
+        //Das Bitboard hält Zwischenspeicher und wird daher nicht geteilt
+        this.corridorBitboard = new CorridorBitboard(gameField);
+        this.moveTable = boardAnalysis.getMoveTable();
+        this.reachMask = corridorBitboard.newMask();
+        this.otherPlayersMask = corridorBitboard.newMask();
+        this.reachabilityCache = new ReachabilityCache(otherPlayersMask.length, rooms.length);
         this.cards = cards;
+        this.nameRegistry = NameRegistry.forGame(characters, weapons, rooms, cards);
+        this.cardTypeMasks = new long[CardType.values().length][(cards.length + Long.SIZE - 1) / Long.SIZE];
+        this.roomsByCardIndex = new Room[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            cardTypeMasks[cards[i].getType().ordinal()][i / Long.SIZE] |= 1L << i;
+            int roomIndex = cards[i].isRoom() ? nameRegistry.getRoomIndex(cards[i].getName()) : NameRegistry.NOT_FOUND;
+            if (roomIndex != NameRegistry.NOT_FOUND) {
+                roomsByCardIndex[i] = rooms[roomIndex];
+            }
+        }
         this.playerCount = playerCount;
         this.players = new Player[playerCount];
         //Initialisieren der Spieler
         for (int i = 0; i < playerCount; i++) {
             this.players[i] = new Player(characters[i], difficulties[i], characters.length, cards.length);
         }
+        this.occupancyGrid = new OccupancyGrid(boardGraph.getWidth(), boardGraph.getHeight());
+        registerCharacters();
         prepareGameLogic();
     }
 
+    /**
+     * Konstruktor einer Momentaufnahme, in welcher die KI-Spieler im Hintergrund vorausdenken.
+     * Das Spielfeld, die Karten und die Analyse des Spielfeldes werden geteilt, die Spielfiguren,
+     * die Belegung und alle Zwischenspeicher gehören der Momentaufnahme. Die Spieler teilen Karten,
+     * KI und Wissen mit den Spielern der Logik, steuern aber die kopierten Spielfiguren.
+     * Der Spielstand wird über {@link #copyStateFrom(GameLogic)} übernommen.
+     *
+     * @param source die Spiellogik, von welcher die Momentaufnahme erstellt wird.
+     */
+    private GameLogic(GameLogic source) {
+        this.rooms = source.rooms;
+        this.weapons = source.weapons;
+        this.gameField = source.gameField;
+        this.startPositions = source.startPositions;
+        this.boardAnalysis = source.boardAnalysis;
+        this.boardGraph = source.boardGraph;
+        this.distanceOracle = source.distanceOracle;
+        this.pathFinder = new DistancePathFinder(distanceOracle, new BfsPathFinder());
+        this.roomDistanceFields = source.roomDistanceFields;
+        this.roomGraph = source.roomGraph;
+        this.corridorBitboard = new CorridorBitboard(gameField);
+        this.moveTable = source.moveTable;
+        this.reachMask = corridorBitboard.newMask();
+        this.otherPlayersMask = corridorBitboard.newMask();
+        this.reachabilityCache = new ReachabilityCache(otherPlayersMask.length, rooms.length);
+        this.cards = source.cards;
+        this.nameRegistry = source.nameRegistry;
+        this.cardTypeMasks = source.cardTypeMasks;
+        this.roomsByCardIndex = source.roomsByCardIndex;
+        this.playerCount = source.playerCount;
+        this.characters = new Character[source.characters.length];
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = new Character(source.characters[i].getName(), source.characters[i].getPosition(),
+                    source.characters[i].getId());
+        }
+        this.players = new Player[source.players.length];
+        for (int i = 0; i < players.length; i++) {
+            Character character = source.players[i].getCharacter();
+            int index = Arrays.asList(source.characters).indexOf(character);
+            players[i] = new Player(source.players[i], index == -1
+                    ? new Character(character.getName(), character.getPosition(), character.getId())
+                    : characters[index]);
+        }
+        this.snapshotOf = source.players;
+        this.occupancyGrid = new OccupancyGrid(boardGraph.getWidth(), boardGraph.getHeight());
+        registerCharacters();
+    }
+
     /**
      * Bereitet die Spiellogik nach dem Laden der notwendigen Informationen aus der
      * Initialisierungsdatei vor.
@@ -154,7 +312,7 @@ public class GameLogic {
 
         //Initiales setzen der eigenen Notitzen der Spieler
         for (Player player : players) {
-            player.initNoteSelf(this.cards);
+            player.initNoteSelf(this.cards, roomsByCardIndex);
         }
 
         //Vereilt die Waffen auf die Räume
@@ -175,6 +333,23 @@ public class GameLogic {
     public void init(GUIConnector gui) {
         this.gui = gui;
         this.startTurn();
+        if (!getCurrentPlayer().isAI()) {
+            startPondering();
+        }
+    }
+
+    /**
+     * Initialisiert die Logik mit einer GUI und lässt anschließend die KI-Spieler ziehen,
+     * bis das Spiel beendet ist oder ein menschlicher Spieler am Zug ist.
+     * Wird für Spiele ohne menschlichen Spieler genutzt (z.B. Messungen).
+     *
+     * @param gui die GUI für das Spiel.
+     * @throws CluedoException falls inkonsistente Zustände auftreten, oder während des Zuges etwas
+     *                         fehlschlägt.
+     */
+    void runAIGame(GUIConnector gui) throws CluedoException {
+        init(gui);
+        handleAILoop();
     }
 
     /**
@@ -219,6 +394,7 @@ public class GameLogic {
      * @param newPlayerPos die neue Position.
      */
     public void setCurrentPlayerPosition(Position newPlayerPos) {
+        invalidatePondering();
         getCurrentPlayer().setPos(newPlayerPos);
     }
 
@@ -252,6 +428,7 @@ public class GameLogic {
      * @throws CluedoException falls beim laden ein Fehler auftritt.
      */
     public void loadGame(File file, InitialGameDataJSON initialGameDataJSON) throws CluedoException {
+        invalidatePondering();
         Reader r;
         try {
             r = new FileReader(file, StandardCharsets.UTF_8);
@@ -293,6 +470,7 @@ public class GameLogic {
      * @param file die Datei in die der Spielstand geschieben werden soll.
      */
     public void saveGame(File file) throws CluedoException {
+        ponderer.stop();
         Writer w;
         Gson gson = new GsonBuilder().setPrettyPrinting().create();
         try {
@@ -305,22 +483,6 @@ public class GameLogic {
     }
 
 
-    /**
-     * Entfernt alle Nachbarn, welche nicht innerhalb des Spielfeldes liegen
-     *
-     * @param positions die Positionen welche überprüft werden sollen.
-     * @return die Positionen, welche innerhalb des Spielfeldes liegen.
-     */
-    private Set<Position> validateNeighbours(Set<Position> positions) {
-        int gameFieldHeight = gameField.length;
-        int gameFieldWidth = gameField[0].length;
-        //Keine Außerhalb des Spielfeldes
-        positions.removeIf(p -> p.getX() < 0 || p.getX() >= gameFieldWidth || p.getY() < 0 || p.getY() >= gameFieldHeight);
-        //Keine versprerrten
-        positions.removeIf(p -> getGameCell(p) != GameCell.CORRIDOR);
-        return positions;
-    }
-
     /**
      * Prüft ob der ausgewählte Schritt zulässig/erreichbar ist
      *
@@ -331,7 +493,7 @@ public class GameLogic {
      * @return ob der aktuelle Spieler innerhalb der angegebenen Schrittzahl das übergebene Feld erreichen kann.
      */
     public boolean isCorridorReachable(Position pos, int steps, boolean exact) {
-        return generateValidCorridorMovesForCurrentPlayer(steps, exact).contains(pos);
+        return corridorBitboard.contains(getCorridorReachForCurrentPlayer(steps, exact), pos);
     }
 
     /**
@@ -342,93 +504,94 @@ public class GameLogic {
      * @return die erreichbaren Positionen des aktuellen Spielers.
      */
     private Set<Position> generateValidCorridorMovesForCurrentPlayer(int steps, boolean exact) {
-        Set<Position> startPosition = new HashSet<>();
-        Position currentPlayerPosition = getCurrentPlayer().getPos();
-        //Bei einem Raum muss nicht die Position des Spielers als Startpunkt, sondern
-        //die Türen des Raumes genommen werden.
-        if (isRoom(currentPlayerPosition)) {
-            //Wenn ich in einem Raum bin muss das herausgehen aus der Tür bereits einen Schritt verbrauchen
-            //Da die Türen der Räume als VOR den Räumen definiert sind muss ein schritt abgezogen werden
-            steps--;
-            Position[] currRoomDors = getGameCell(currentPlayerPosition).getRoom().getDoors();
-            startPosition.addAll(Arrays.asList(currRoomDors));
-            Set<Position> otherPlayers = getOtherPlayerPositions();
-            startPosition.removeIf(otherPlayers::contains);
-        } else {
-            startPosition.add(currentPlayerPosition);
-        }
-        return generateValidMoves(startPosition, steps, exact);
+        return corridorBitboard.toPositions(getCorridorReachForCurrentPlayer(steps, exact));
     }
 
     /**
-     * Liefert gegeben einer Menge an Positionen alle von dort aus erreichbaren Positionen.
+     * Liefert die erreichbaren Positionen des aktuellen Spielers über den Flur als Maske.
+     * Die Maske wird innerhalb eines Zuges zwischengespeichert und darf nicht verändert werden.
      *
-     * @param startPositions die gegebenen Startpositionen.
-     * @param steps          die zur Verfügung stehenden Schritte
-     * @param exact          ob die Ziel genau mit den gegebenen Schritten erreichbar sein soll,
-     *                       oder ob auch weniger Schritte erlaubt sind.
-     * @return die erreichbaren Positionen.
-     */
-    private Set<Position> generateValidMoves(Set<Position> startPositions, int steps, boolean exact) {
-        Set<Position> working = new HashSet<>(startPositions);
-        Set<Position> lastStep = new HashSet<>(working);
-        for (int i = 0; i < steps; i++) {
-            working.addAll(nextMove(working));
-            if (exact) {
-                working.removeAll(lastStep);
-                lastStep.clear();
-                lastStep.addAll(working);
-            }
+     * @param steps die zur Verfügung stehenden Schritte.
+     * @param exact ob alle Schritte innerhalb des Zuges verbraucht werden müssen oder nicht.
+     * @return die Maske der erreichbaren Flurfelder.
+     */
+    private long[] getCorridorReachForCurrentPlayer(int steps, boolean exact) {
+        validateReachabilityCache();
+        long[] reach = reachabilityCache.getCorridorReach(steps, exact);
+        if (reach == null) {
+            computeCorridorReachForCurrentPlayer(steps, exact);
+            reach = reachabilityCache.putCorridorReach(steps, exact, reachMask);
         }
-        return working;
+        return reach;
     }
 
     /**
-     * Liefert alle Positonen von den anderen Spielern
-     *
-     * @return eine Menge von den Positonen aller anderen Spieler
+     * Aktualisiert die Maske der von anderen Spielern belegten Felder und verwirft den Zwischenspeicher
+     * der Erreichbarkeiten, falls sich der aktuelle Spieler oder die Belegung (auch die eigene Position) geändert hat.
      */
-    private Set<Position> getOtherPlayerPositions() {
-        //Von anderen Spielern belegte Felder
-        Set<Position> otherPlayers = new HashSet<>();
-        for (Player player : players) {
-            if (player != players[this.currentPlayerIndex]) {
-                otherPlayers.add(player.getPos());
+    private void validateReachabilityCache() {
+        long version = occupancyGrid.getVersion();
+        if (version != otherPlayersMaskVersion || currentPlayerIndex != otherPlayersMaskPlayer) {
+            Arrays.fill(otherPlayersMask, 0L);
+            long otherPlayerSlots = getOtherPlayerSlots();
+            while (otherPlayerSlots != 0) {
+                int cell = occupancyGrid.getCell(Long.numberOfTrailingZeros(otherPlayerSlots));
+                if (cell != OccupancyGrid.OUTSIDE) {
+                    corridorBitboard.setCell(otherPlayersMask, cell);
+                }
+                otherPlayerSlots &= otherPlayerSlots - 1;
             }
+            otherPlayersMaskVersion = version;
+            otherPlayersMaskPlayer = currentPlayerIndex;
         }
-        return otherPlayers;
+        reachabilityCache.validate(currentPlayerIndex, version);
     }
 
     /**
-     * Gibt ausgehened von einem Set mit Positionen, alle Positionen an,
-     * welche mit einem Schritt erreicht werden können.
+     * Liefert die Slots der Spielfiguren aller anderen Spieler in der Belegung als Bitmaske.
      *
-     * @param positions das Set mit Ausgangspositionen.
-     * @return das Set mit den errreichbaren Positionen
+     * @return die Slots der Spielfiguren aller anderen Spieler.
      */
-    private Set<Position> nextMove(Set<Position> positions) {
-        Set<Position> res = new HashSet<>();
-        //Von anderen Spielern belegte Felder
-        Set<Position> otherPlayers = getOtherPlayerPositions();
-        for (Position p : positions) {
-            Set<Position> freePositons = new HashSet<>(this.validateNeighbours(p.getNeighbours(1)));
-            freePositons.removeIf(otherPlayers::contains); //Von Spielerpos bereinigt
-            res.addAll(freePositons);
-        }
-        return res;
+    private long getOtherPlayerSlots() {
+        return playerSlots & ~occupancyGrid.slotMaskOf(getCurrentPlayer().getCharacter());
     }
 
     /**
-     * Gibt ausgehened von einer Position, alle Positionen an,
-     * welche mit einem Schritt erreicht werden können.
+     * Berechnet die erreichbaren Positionen des aktuellen Spielers über den Flur und
+     * legt diese in der Maske der erreichbaren Flurfelder ab.
+     * Setzt eine aktuelle Maske der von anderen Spielern belegten Felder voraus.
      *
-     * @param position die Ausgangsposition.
-     * @return das Set mit den errreichbaren Positionen.
+     * @param steps die zur Verfügung stehenden Schritte.
+     * @param exact ob alle Schritte innerhalb des Zuges verbraucht werden müssen oder nicht.
      */
-    private Set<Position> nextMove(Position position) {
-        Set<Position> positions = new HashSet<>();
-        positions.add(position);
-        return nextMove(positions);
+    private void computeCorridorReachForCurrentPlayer(int steps, boolean exact) {
+        Arrays.fill(reachMask, 0L);
+        Position currentPlayerPosition = getCurrentPlayer().getPos();
+        int startCount = 0;
+        //Bei einem Raum muss nicht die Position des Spielers als Startpunkt, sondern
+        //die Türen des Raumes genommen werden.
+        if (isRoom(currentPlayerPosition)) {
+            //Wenn ich in einem Raum bin muss das herausgehen aus der Tür bereits einen Schritt verbrauchen
+            //Da die Türen der Räume als VOR den Räumen definiert sind muss ein schritt abgezogen werden
+            steps--;
+            Position[] doors = getGameCell(currentPlayerPosition).getRoom().getDoors();
+            if (moveStartIds.length < doors.length) {
+                moveStartIds = new int[doors.length];
+            }
+            for (Position door : doors) {
+                if (!corridorBitboard.contains(otherPlayersMask, door)) {
+                    corridorBitboard.set(reachMask, door);
+                    moveStartIds[startCount++] = boardGraph.idAt(door);
+                }
+            }
+        } else {
+            corridorBitboard.set(reachMask, currentPlayerPosition);
+            moveStartIds[startCount++] = boardGraph.idAt(currentPlayerPosition);
+        }
+        //Steht keine Spielfigur in der Nähe, kann das Ergebnis direkt aus der Tabelle gelesen werden
+        if (!moveTable.lookup(moveStartIds, startCount, steps, exact, otherPlayersMask, reachMask)) {
+            corridorBitboard.expand(reachMask, steps, exact, otherPlayersMask);
+        }
     }
 
     /**
@@ -439,12 +602,11 @@ public class GameLogic {
      * @throws CluedoException falls der Waffenname nicht gefunden wurde.
      */
     public int getWeaponIndexByName(String weaponName) throws CluedoException {
-        for (int i = 0; i < this.weapons.length; i++) {
-            if (this.weapons[i].getName().equals(weaponName)) {
-                return i;
-            }
+        int index = nameRegistry.getWeaponIndex(weaponName);
+        if (index == NameRegistry.NOT_FOUND) {
+            throw new CluedoException(ExceptionType.WeaponNameNotFound);
         }
-        throw new CluedoException(ExceptionType.WeaponNameNotFound);
+        return index;
     }
 
 
@@ -501,6 +663,34 @@ public class GameLogic {
      */
     public void setPlayers(Player[] players) {
         this.players = players;
+        for (Player player : players) {
+            player.initKnowledge(cards, roomsByCardIndex);
+        }
+        registerCharacters();
+    }
+
+    /**
+     * Registriert alle Spielfiguren und die Spielfiguren aller Spieler neu in der Belegung des Spielfeldes.
+     */
+    private void registerCharacters() {
+        occupancyGrid.clear();
+        for (Character character : characters) {
+            occupancyGrid.register(character);
+        }
+        playerSlots = 0L;
+        for (Player player : players) {
+            playerSlots |= 1L << occupancyGrid.register(player.getCharacter());
+        }
+        characterIndex = new CharacterIndex(players, characters.length);
+    }
+
+    /**
+     * Liefert die Zuordnung der Personen zu den Spielern und den Spalten der Notizen.
+     *
+     * @return die Zuordnung für die aktuellen Spieler.
+     */
+    CharacterIndex getCharacterIndex() {
+        return characterIndex;
     }
 
     /**
@@ -568,6 +758,8 @@ public class GameLogic {
      *                         fehlschlägt.
      */
     public void makeMove(Position gameCellPosition) throws CluedoException {
+        //Ab hier gehören die KIs wieder dem Zug des Spielers
+        ponderer.stop();
         //Wurde auf einen Raum geklickt?
         if (isRoom(gameCellPosition)) { //Klick auf Raum
             Room clickedRoom = getGameCell(gameCellPosition).getRoom();
@@ -624,6 +816,8 @@ public class GameLogic {
      *                         fehlschlägt.
      */
     private void getSuspectedItemsIntoRoom(Player currentPlayer, CardTriple suspicion, Room enteredRoom) throws CluedoException {
+        //Verdächtigte Spieler werden versetzt und die KIs erhalten neues Wissen
+        invalidatePondering();
         Character suspectedCharacter = getCharacterByName(suspicion.getCharacter().getName());
         //Nur wenn ein anderer Spieler verdächtigt wurde, wird dieser in den Raum gezogen und requested auf true gesetzt
         if (!currentPlayer.getCharacter().equals(suspectedCharacter)) {
@@ -693,7 +887,7 @@ public class GameLogic {
     private void handleAISuspicion(Room enteredRoom) throws CluedoException {
         Card enteredRoomCard = getCardByName(enteredRoom.getName());
         Player currentPlayer = getCurrentPlayer();
-        CardTriple suspicion = currentPlayer.getAi().expressSuspicion(this, currentPlayer, enteredRoomCard);
+        CardTriple suspicion = currentPlayer.getAi().expressSuspicion(this, currentPlayer, enteredRoomCard, getAIDecisionDeadline());
         GameLogic.debugln("Ich bin { " + currentPlayer.getCharacter().getName() + " } ich verdächtige { " + suspicion + " }");
         getSuspectedItemsIntoRoom(currentPlayer, suspicion, enteredRoom);
         //Dialog der angezeigt, wer welchen Verdacht ausgesprochen hat
@@ -706,7 +900,10 @@ public class GameLogic {
         //Karten bekommen mit welche Karten gezeigt wurden
         showShownCardsToAIs(currentPlayer, suspicion, shownCards);
         //Der spieler bekommt angezeigt ob die KI-Spieler eine Karte gezeigt haben oder nicht
+        //Währenddessen denkt der nächste Spieler voraus
+        startPondering();
         gui.handleOthersSuspicionResult(players, currentPlayer, shownCards, suspicion);
+        ponderer.stop();
     }
 
     /**
@@ -728,7 +925,9 @@ public class GameLogic {
         Card[] shownCards = handleShownCards(currentPlayer, suspicion);
         //Alle Schlauen KIs-Bekommen ebenfalls die Information ob ein Bestimmter Spieler der KI eine Karte gezeigt hat oder nicht
         showShownCardsToAIs(currentPlayer, suspicion, shownCards);
+        startPondering();
         gui.handleOwnSuspicionResult(players, shownCards, suspicion);
+        ponderer.stop();
     }
 
 
@@ -754,7 +953,12 @@ public class GameLogic {
                     }
                 } else {
                     //KI Zug Position Berechnen
-                    Position dest = getCurrentPlayer().getAi().computeNextMove(this, getCurrentPlayer(), getDice());
+                    Position dest;
+                    if (ponderer.hasMove(getCurrentPlayerIndex(), getDice(), getPonderVersion())) {
+                        dest = ponderer.getMove(getDice());
+                    } else {
+                        dest = getCurrentPlayer().getAi().computeNextMove(this, getCurrentPlayer(), getDice(), getAIDecisionDeadline());
+                    }
                     if (dest != null) { //Ein zug wurde berechnet
                         //Ist der Move der KI valide?
                         assert generateValidMovesForCurrentPlayer().contains(dest);
@@ -787,6 +991,81 @@ public class GameLogic {
                 nextTurn();
             }
         }
+        //Während der menschliche Spieler überlegt, denken die KI-Spieler voraus
+        if (!gameEnded) {
+            startPondering();
+        }
+    }
+
+    /**
+     * Lässt den nächsten Spieler und alle KI-Spieler im Hintergrund vorausdenken, bis die Logik
+     * wieder gebraucht wird. Darf nur aufgerufen werden, wenn anschließend auf die GUI gewartet wird.
+     */
+    private void startPondering() {
+        ponderer.start(this, (currentPlayerIndex + 1) % playerCount, getPonderVersion());
+    }
+
+    /**
+     * Bricht das Vorausdenken ab und verwirft die vorausgedachten Züge,
+     * da sich Spielfiguren bewegen oder die KIs neues Wissen erhalten.
+     */
+    private void invalidatePondering() {
+        ponderer.invalidate();
+        ponderVersion++;
+    }
+
+    /**
+     * Liefert die Version des Spielstandes, zu der Züge vorausgedacht werden.
+     * Beide Summanden wachsen nur, daher ändert sich die Summe bei jeder Bewegung einer Spielfigur
+     * und bei jeder Verdächtigung.
+     *
+     * @return die Version.
+     */
+    private long getPonderVersion() {
+        return ponderVersion + occupancyGrid.getVersion();
+    }
+
+    /**
+     * Liefert eine Momentaufnahme des aktuellen Spielstandes, in welcher im Hintergrund vorausgedacht wird,
+     * ohne den Spielstand dieser Logik zu verändern. Darf nur im Thread des Spiels aufgerufen werden.
+     *
+     * @param previous eine frühere Momentaufnahme dieser Logik, welche wenn möglich wiederverwendet wird,
+     *                 oder null.
+     * @return die Momentaufnahme.
+     */
+    GameLogic snapshot(GameLogic previous) {
+        //Nach dem Laden gibt es neue Spieler, dann wird eine neue Momentaufnahme erstellt
+        GameLogic snapshot = previous != null && previous.snapshotOf == players ? previous : new GameLogic(this);
+        snapshot.copyStateFrom(this);
+        return snapshot;
+    }
+
+    /**
+     * Übernimmt den veränderlichen Spielstand in eine Momentaufnahme: die Positionen der Spielfiguren,
+     * die in Räume gewünschten Spieler, die Waffen in den Räumen und den aktuellen Spieler.
+     *
+     * @param source die Logik, von welcher dies eine Momentaufnahme ist.
+     */
+    private void copyStateFrom(GameLogic source) {
+        for (int i = 0; i < characters.length; i++) {
+            characters[i].setPosition(source.characters[i].getPosition());
+        }
+        for (int i = 0; i < players.length; i++) {
+            players[i].setPos(source.players[i].getPos());
+            players[i].setRequested(source.players[i].getRequested());
+        }
+        weaponInRooms = source.weaponInRooms == null ? null : source.weaponInRooms.clone();
+        currentPlayerIndex = source.currentPlayerIndex;
+        aiDecisionMillis = source.aiDecisionMillis;
+    }
+
+    /**
+     * Liefert das Vorausdenken der KI-Spieler (z.B. für die Anzahl der vorausgedachten Züge).
+     *
+     * @return das Vorausdenken.
+     */
+    Ponderer getPonderer() {
+        return ponderer;
     }
 
     /**
@@ -826,14 +1105,8 @@ public class GameLogic {
      * @return Liefert einen Raum zu einer Türposition oder null.
      */
     public Room getRoomFromDoor(Position door) {
-        for (Room currRoom : getRooms()) {
-            for (Position currDoor : currRoom.getDoors()) {
-                if (currDoor.equals(door)) {
-                    return currRoom;
-                }
-            }
-        }
-        return null;
+        int roomIndex = boardAnalysis.roomOfDoor(door);
+        return roomIndex == BoardAnalysis.NO_ROOM ? null : rooms[roomIndex];
     }
 
     /**
@@ -856,12 +1129,11 @@ public class GameLogic {
      * @throws CluedoException Waffe ist nicht im Weapons Array.
      */
     public int getWeaponIndex(Weapon weapon) throws CluedoException {
-        for (int i = 0; i < weapons.length; i++) {
-            if (weapons[i].equals(weapon)) {
-                return i;
-            }
+        int index = weapon == null ? NameRegistry.NOT_FOUND : nameRegistry.getWeaponIndex(weapon.getName());
+        if (index == NameRegistry.NOT_FOUND || !weapons[index].equals(weapon)) {
+            throw new CluedoException(ExceptionType.WeaponNotFound); //Waffe nicht im weapons Array
         }
-        throw new CluedoException(ExceptionType.WeaponNotFound); //Waffe nicht im weapons Array
+        return index;
     }
 
     /**
@@ -871,12 +1143,7 @@ public class GameLogic {
      * @return ob die Person/Spielfigur ein aktiver Spieler ist oder nicht.
      */
     private boolean isPlayer(Character character) {
-        for (Player player : players) {
-            if (player.getCharacter().equals(character)) {
-                return true;
-            }
-        }
-        return false;
+        return characterIndex.playerIndexOf(character) != CharacterIndex.NO_PLAYER;
     }
 
 
@@ -888,6 +1155,10 @@ public class GameLogic {
      * @throws CluedoException falls diese nicht gefunden.
      */
     private int getCharacterIndex(Character character) throws CluedoException {
+        int id = character.getId();
+        if (id >= 0 && id < characters.length && characters[id] == character) {
+            return id;
+        }
         for (int i = 0; i < characters.length; i++) {
             if (characters[i].equals(character)) {
                 return i;
@@ -1013,26 +1284,93 @@ public class GameLogic {
      * @return ob der übergebene Raum von der aktuellen Position des aktuellen Spielers erreichbar ist oder nicht.
      */
     public boolean roomIsReachable(Room dest, int steps) {
-        boolean destFound = false;
-        GameCell currPlayerPos = getGameCell(getCurrentPlayerPosition());
-        if (currPlayerPos.isRoom()) {
-            Room secretCorridorDest = currPlayerPos.getRoom().getSecretCorridor();
-            if (secretCorridorDest != null && secretCorridorDest == dest) {
-                //Unabhängig der Schrittzahl erreichabr
-                destFound = true;
-            }
+        validateReachabilityCache();
+        int roomIndex = getRoomIndex(dest);
+        Boolean cached = reachabilityCache.getRoomReachable(roomIndex, steps);
+        if (cached != null) {
+            return cached;
         }
+        GameCell currPlayerPos = getGameCell(getCurrentPlayerPosition());
+        //Über einen Geheimgang unabhängig der Schrittzahl erreichbar
+        boolean destFound = currPlayerPos.isRoom() && isSecretPassage(currPlayerPos.getRoom(), dest);
         if (!destFound && dest.getDoors() != null) {
+            //Ein schritt noch für in den Raum notw.
+            long[] reach = getCorridorReachForCurrentPlayer(steps - 1, false);
             Position[] doors = dest.getDoors();
-            for (Position door : doors) {
-                if (isCorridorReachable(door, steps - 1, false)) { //Ein schritt noch für in den Raum notw.
-                    destFound = true;
-                }
+            for (int i = 0; i < doors.length && !destFound; i++) {
+                destFound = corridorBitboard.contains(reach, doors[i]);
             }
         }
+        reachabilityCache.putRoomReachable(roomIndex, steps, destFound);
         return destFound;
     }
 
+    /**
+     * Prüft, ob ein Geheimgang von einem Raum in einen anderen führt.
+     *
+     * @param from der Startraum.
+     * @param to   der Zielraum.
+     * @return ob ein Geheimgang von from nach to führt.
+     */
+    public boolean isSecretPassage(Room from, Room to) {
+        return roomGraph.isSecretPassage(getRoomIndex(from), getRoomIndex(to));
+    }
+
+    /**
+     * Liefert den Raum, welcher von der übergebenen Position aus nach den erwarteten Zügen am schnellsten
+     * zu erreichen ist. Die Position muss ein Raum oder ein Startfeld sein, da nur diese Knoten des Graphen
+     * der Räume sind. Andere Spielfiguren werden nicht berücksichtigt.
+     *
+     * @param from       die Position.
+     * @param candidates die in Frage kommenden Räume.
+     * @return der am schnellsten erreichbare Raum oder null, falls die Position kein Knoten ist
+     * oder keiner der Räume erreichbar ist.
+     */
+    public Room findClosestRoom(Position from, Set<Room> candidates) {
+        int node = -1;
+        if (isRoom(from)) {
+            node = getRoomIndex(getGameCell(from).getRoom());
+        } else {
+            for (int i = 0; i < startPositions.length && node == -1; i++) {
+                if (startPositions[i].equals(from)) {
+                    node = roomGraph.getStartNode(i);
+                }
+            }
+        }
+        if (node == -1) {
+            return null;
+        }
+        boolean[] candidateRooms = new boolean[rooms.length];
+        for (Room room : candidates) {
+            int roomIndex = getRoomIndex(room);
+            if (roomIndex >= 0) {
+                candidateRooms[roomIndex] = true;
+            }
+        }
+        int closest = roomGraph.findClosestRoom(node, candidateRooms);
+        return closest == -1 ? null : rooms[closest];
+    }
+
+    /**
+     * Liefert den Index des Raumes im Array aller Räume.
+     *
+     * @param room der Raum.
+     * @return der Index des Raumes oder -1, falls der Raum nicht im Spiel ist.
+     */
+    private int getRoomIndex(Room room) {
+        //Über die Zelle des Mittelpunktes, nur falls dieser nicht im Raum liegt über alle Räume
+        int roomIndex = room == null || room.getMidPoint() == null ? BoardAnalysis.NO_ROOM : boardAnalysis.roomAt(room.getMidPoint());
+        if (roomIndex != BoardAnalysis.NO_ROOM && rooms[roomIndex] == room) {
+            return roomIndex;
+        }
+        for (int i = 0; i < rooms.length; i++) {
+            if (rooms[i] == room) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Liefert den kürzesten Weg von einer Startposition aus zu einer Menge an Zielpositionen.
      *
@@ -1042,30 +1380,132 @@ public class GameLogic {
      * Gibt null zurück, falls kein Pfad gefunden wurde.
      */
     public List<Position> getShortestPath(Position startPosition, Set<Position> destinations) {
-        if (destinations != null && destinations.size() > 0) { //Muss mind. ein Ziel haben
-            List<Position> open = new LinkedList<>();
-            open.add(startPosition);
-            Map<Position, Position> cameFrom = new HashMap<>();
-            cameFrom.put(startPosition, null);
-            while (!open.isEmpty()) {
-                Position current = open.remove(0); //nimmt das erste Element
-                if (destinations.contains(current)) {
-                    List<Position> path = new LinkedList<>();
-                    while (current != null) { //Beim Abbruch ist Start schon enthalten
-                        path.add(0, current); //Vorne einfügen um nicht umkehren zu müssen
-                        current = cameFrom.get(current); //Vorgänger vom Aktuellen
-                    }
-                    return path;
+        return getShortestPathFromAny(Collections.singleton(startPosition), destinations);
+    }
+
+    /**
+     * Liefert den kürzesten Weg von einer beliebigen der Startpositionen aus zu einer Menge an Zielpositionen.
+     * Von anderen Spielern belegte Felder werden dabei umgangen.
+     *
+     * @param startPositions die möglichen Ausgangspositionen.
+     * @param destinations   die Zielpositionen zu denen der kürzeste Pfad berechnent werden soll.
+     * @return der kürzeste Pfad beginnend bei der gewählten Startposition bis zu der Endposition.
+     * Gibt null zurück, falls kein Pfad gefunden wurde.
+     */
+    public List<Position> getShortestPathFromAny(Set<Position> startPositions, Set<Position> destinations) {
+        return pathFinder.findShortestPath(boardGraph, startPositions, destinations, blockedByOtherPlayer);
+    }
+
+    /**
+     * Liefert den kürzesten Weg zu der nächstgelegenen freien Tür eines der übergebenen Räume anhand der
+     * Entfernungsfelder der Räume. Dazu wird der Raum mit der geringsten Entfernung gewählt und schrittweise
+     * auf ein freies Nachbarfeld mit um eins geringerer Entfernung gegangen.
+     * Gelingt dies, ist der Weg auch unter Berücksichtigung der Spieler der kürzeste.
+     *
+     * @param destinations   die Zielräume.
+     * @param startPositions die möglichen Ausgangspositionen.
+     * @return der kürzeste Pfad beginnend bei der gewählten Startposition bis zu der Tür des Raumes.
+     * Gibt null zurück, falls der Weg von anderen Spielern versperrt ist, eine Startposition nicht auf dem Flur
+     * liegt oder kein Raum erreichbar ist. Dann muss über {@link #getShortestPathFromAny(Set, Set)} gesucht werden.
+     */
+    public List<Position> getShortestPathToRooms(Collection<Room> destinations, Set<Position> startPositions) {
+        int[] startIds = new int[startPositions.size()];
+        int startCount = 0;
+        for (Position start : startPositions) {
+            startIds[startCount] = boardGraph.idAt(start);
+            if (startIds[startCount++] == BoardGraph.NO_CORRIDOR) {
+                return null;
+            }
+        }
+        //Nächstgelegenen Raum über die Entfernungsfelder bestimmen, O(Räume * Startpositionen)
+        short[] bestField = null;
+        int bestStart = BoardGraph.NO_CORRIDOR;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Room room : destinations) {
+            int roomIndex = getRoomIndex(room);
+            int openDoorMask = roomIndex < 0 ? 0 : getOpenDoorMask(room);
+            short[] field = openDoorMask == 0 ? null : roomDistanceFields.getField(roomIndex, openDoorMask);
+            if (field == null) {
+                continue;
+            }
+            for (int startId : startIds) {
+                int distance = field[startId];
+                if (distance != RoomDistanceFields.UNREACHABLE && distance < bestDistance) {
+                    bestDistance = distance;
+                    bestStart = startId;
+                    bestField = field;
                 }
-                for (Position next : nextMove(current)) {
-                    if (!cameFrom.containsKey(next)) { //Noch nicht besucht
-                        open.add(next);
-                        cameFrom.put(next, current); //Von current nach next
-                    }
+            }
+        }
+        if (bestField == null) {
+            return null;
+        }
+        //Dem Entfernungsfeld folgen
+        long blockingSlots = getOtherPlayerSlots();
+        Position[] path = new Position[bestDistance + 1];
+        int current = bestStart;
+        path[0] = boardGraph.getPosition(current);
+        for (int step = 1; step <= bestDistance; step++) {
+            int next = BoardGraph.NO_CORRIDOR;
+            for (int n = boardGraph.neighbourStart(current); n < boardGraph.neighbourEnd(current) && next == BoardGraph.NO_CORRIDOR; n++) {
+                int neighbour = boardGraph.neighbourAt(n);
+                if (bestField[neighbour] == bestDistance - step && !isBlocked(neighbour, blockingSlots)) {
+                    next = neighbour;
                 }
             }
+            if (next == BoardGraph.NO_CORRIDOR) { //Versperrt
+                return null;
+            }
+            current = next;
+            path[step] = boardGraph.getPosition(current);
+        }
+        return new ArrayList<>(Arrays.asList(path));
+    }
+
+    /**
+     * Liefert die nicht von anderen Spielern belegten Türen eines Raumes als Bitmaske über seine Türen.
+     *
+     * @param room der Raum.
+     * @return die Bitmaske der freien Türen.
+     */
+    private int getOpenDoorMask(Room room) {
+        Position[] doors = room.getDoors();
+        int mask = 0;
+        for (int i = 0; doors != null && i < doors.length && i < Integer.SIZE - 1; i++) {
+            if (!isOccupied(doors[i])) {
+                mask |= 1 << i;
+            }
         }
-        return null; //Keinen Weg vorhanden extraverhalten z.b. wenn letze Tür versperrt oder eingestellt
+        return mask;
+    }
+
+    /**
+     * Setzt die Wegsuche, welche für die kürzesten Wege verwendet wird.
+     *
+     * @param pathFinder die Wegsuche.
+     */
+    void setPathFinder(PathFinder pathFinder) {
+        this.pathFinder = pathFinder;
+    }
+
+    /**
+     * Liefert den Nachbarschaftsgraphen der Flurfelder.
+     *
+     * @return der Nachbarschaftsgraph.
+     */
+    BoardGraph getBoardGraph() {
+        return boardGraph;
+    }
+
+    /**
+     * Prüft, ob ein Flurfeld von einer der übergebenen Spielfiguren belegt ist.
+     *
+     * @param id            die Flur-Id.
+     * @param blockingSlots die Slots der Spielfiguren, welche das Feld versperren.
+     * @return ob das Flurfeld belegt ist.
+     */
+    private boolean isBlocked(int id, long blockingSlots) {
+        return (occupancyGrid.getOccupants(boardGraph.getCell(id)) & blockingSlots) != 0;
     }
 
     /**
@@ -1095,6 +1535,34 @@ public class GameLogic {
         return players;
     }
 
+    /**
+     * Liefert die Zeit, nach der die Entscheidung eines KI-Spielers feststehen soll.
+     *
+     * @return die Zeit in Millisekunden.
+     */
+    public long getAIDecisionMillis() {
+        return aiDecisionMillis;
+    }
+
+    /**
+     * Setzt die Zeit, nach der die Entscheidung eines KI-Spielers feststehen soll.
+     * Rechnet eine KI länger, entscheidet sie auf ihre einfachere Art ohne aufwändige Berechnung.
+     *
+     * @param aiDecisionMillis die Zeit in Millisekunden.
+     */
+    public void setAIDecisionMillis(long aiDecisionMillis) {
+        this.aiDecisionMillis = aiDecisionMillis;
+    }
+
+    /**
+     * Liefert die Frist für eine ab jetzt zu treffende Entscheidung eines KI-Spielers.
+     *
+     * @return der Zeitpunkt (System.nanoTime()), zu dem die Entscheidung feststehen soll.
+     */
+    private long getAIDecisionDeadline() {
+        return System.nanoTime() + aiDecisionMillis * 1_000_000L;
+    }
+
     /**
      * Liefert alle Karten im Spiel.
      *
@@ -1161,17 +1629,18 @@ public class GameLogic {
         Card[] cards = new Card[rooms.length + characters.length + weapons.length];
         int cardIndexCounter = 0;
         //cards wird in der selben Reihenfolge befüllt, wie die Karten in der init. Datei stehen und
-        //somit auch in derselben Reihenfolge, wie in der GUI die Zeilen der Notitzen
+        //somit auch in derselben Reihenfolge, wie in der GUI die Zeilen der Notitzen.
+        //Der Index wird als Id in der Karte vermerkt, damit er nicht gesucht werden muss
         for (Character character : characters) {
-            cards[cardIndexCounter] = new Card(character.getName(), CardType.CHARACTER);
+            cards[cardIndexCounter] = new Card(character.getName(), CardType.CHARACTER, cardIndexCounter);
             cardIndexCounter++;
         }
         for (Weapon weapon : weapons) {
-            cards[cardIndexCounter] = new Card(weapon.getName(), CardType.WEAPON);
+            cards[cardIndexCounter] = new Card(weapon.getName(), CardType.WEAPON, cardIndexCounter);
             cardIndexCounter++;
         }
         for (Room room : rooms) {
-            cards[cardIndexCounter] = new Card(room.getName(), CardType.ROOM);
+            cards[cardIndexCounter] = new Card(room.getName(), CardType.ROOM, cardIndexCounter);
             cardIndexCounter++;
         }
         return new GameLogic(rooms, characters, weapons, gameField, cards, playerAmount, difficulties);
@@ -1188,7 +1657,7 @@ public class GameLogic {
         InitialCharacterJSON[] initialCharacters = initGameDataJSON.getPlayers();
         Character[] characters = new Character[initialCharacters.length];
         for (int i = 0; i < initialCharacters.length; i++) {
-            characters[i] = Character.fromJSON(initialCharacters[i]);
+            characters[i] = Character.fromJSON(initialCharacters[i], i);
         }
         return characters;
     }
@@ -1204,6 +1673,26 @@ public class GameLogic {
         return this.cards[index];
     }
 
+    /**
+     * Liefert die Karten eines Typs als Bitmaske über die Kartenindizes (Reihenfolge der Notizen).
+     *
+     * @param type der Kartentyp.
+     * @return die Bitmaske, darf nicht verändert werden.
+     */
+    long[] getCardTypeMask(CardType type) {
+        return cardTypeMasks[type.ordinal()];
+    }
+
+    /**
+     * Liefert den Raum zu einer Raumkarte ausgehend von ihrem Index in den Notizen.
+     *
+     * @param index der Index der Karte.
+     * @return der Raum oder null, falls es sich nicht um eine Raumkarte handelt.
+     */
+    Room getRoomByCardIndex(int index) {
+        return roomsByCardIndex[index];
+    }
+
     /**
      * Liefert die offenen/nicht besetzten Türen des übergebenen Raumes.
      *
@@ -1227,12 +1716,7 @@ public class GameLogic {
      * @return ob Position von einer anderen Spielfigur belegt ist.
      */
     private boolean isOccupied(Position position) {
-        for (Character character : characters) {
-            if (!getCurrentPlayer().getCharacter().equals(character) && character.getPosition().equals(position)) {
-                return true;
-            }
-        }
-        return false;
+        return occupancyGrid.isOccupied(position, occupancyGrid.slotMaskOf(getCurrentPlayer().getCharacter()));
     }
 
     /**
@@ -1243,12 +1727,7 @@ public class GameLogic {
      * @throws CluedoException falls eine Waffe mit dem Namen nicht vorhanden ist.
      */
     public Weapon getWeaponByName(String weaponName) throws CluedoException {
-        for (Weapon weapon : this.weapons) {
-            if (weapon.getName().equals(weaponName)) {
-                return weapon;
-            }
-        }
-        throw new CluedoException(ExceptionType.WeaponNameNotFound);
+        return weapons[getWeaponIndexByName(weaponName)];
     }
 
 
@@ -1260,13 +1739,11 @@ public class GameLogic {
      * @throws CluedoException falls der Raum mit dem Namen nicht vorhanden ist.
      */
     public Room getRoomByName(String roomName) throws CluedoException {
-        for (Room room : this.rooms) {
-            if (room.getName().equals(roomName)) {
-                return room;
-            }
+        int index = nameRegistry.getRoomIndex(roomName);
+        if (index == NameRegistry.NOT_FOUND) {
+            throw new CluedoException(ExceptionType.RoomNameNotFound);
         }
-        throw new CluedoException(ExceptionType.RoomNameNotFound);
-
+        return rooms[index];
     }
 
     /**
@@ -1277,12 +1754,11 @@ public class GameLogic {
      * @throws CluedoException Falls die Spielfigur nicht gefunden wurde.
      */
     public Character getCharacterByName(String characterName) throws CluedoException {
-        for (Character current : this.characters) {
-            if (current.getName().equals(characterName)) {
-                return current;
-            }
+        int index = nameRegistry.getCharacterIndex(characterName);
+        if (index == NameRegistry.NOT_FOUND) {
+            throw new CluedoException(ExceptionType.CharacterNameNotFound);
         }
-        throw new CluedoException(ExceptionType.CharacterNameNotFound);
+        return characters[index];
     }
 
     /**
@@ -1293,6 +1769,12 @@ public class GameLogic {
      * @throws CluedoException falls kein Spieler im Spiel mit der Spielfigur spielt.
      */
     public Player getPlayerByName(String characterName) throws CluedoException {
+        int index = nameRegistry.getCharacterIndex(characterName);
+        int playerIndex = index == NameRegistry.NOT_FOUND ? CharacterIndex.NO_PLAYER : characterIndex.playerIndexOf(characters[index]);
+        if (playerIndex != CharacterIndex.NO_PLAYER) {
+            return players[playerIndex];
+        }
+        //Spieler, deren Person nicht zu den Personen des Spiels gehört (nur in Tests)
         for (Player player : players) {
             if (player.getCharacter().getName().equals(characterName)) {
                 return player;
@@ -1309,15 +1791,23 @@ public class GameLogic {
      * @throws CluedoException falls die Karte nicht im Spiel vorhanden ist.
      */
     public Card getCardByName(String cardName) throws CluedoException {
-        for (Card currCard : this.cards) {
-            if (currCard.getName().equals(cardName)) {
-                return currCard;
-            }
+        int index = nameRegistry.getCardIndex(cardName);
+        if (index == NameRegistry.NOT_FOUND) {
+            throw new CluedoException(ExceptionType.CardNameNotFound);
         }
-        throw new CluedoException(ExceptionType.CardNameNotFound);
+        return cards[index];
     }
 
 
+    /**
+     * Liefert, ob Debugausgaben aktiv sind. Aufwendige Debugausgaben sollten nur dann aufgebaut werden.
+     *
+     * @return ob Debugausgaben aktiv sind.
+     */
+    public static boolean isDebugMode() {
+        return DEBUG_MODE;
+    }
+
     /**
      * Hilfsmethode zum debuggen.
      *
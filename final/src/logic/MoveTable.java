@@ -0,0 +1,139 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vorberechnete Erreichbarkeiten je Flurfeld für die Augenzahlen des Würfels auf einem leeren Spielfeld.
+ * Je Flurfeld und Schrittzahl (0 bis MAX_STEPS) werden die mit exakter und mit maximaler Schrittzahl
+ * erreichbaren Flurfelder als Bitmaske (siehe {@link CorridorBitboard}) abgelegt.
+ * <p>
+ * Ein Eintrag gilt auch während des Spiels, solange keine Spielfigur innerhalb der Schrittzahl um das Startfeld
+ * steht, die Maske mit maximaler Schrittzahl also keine belegten Felder enthält. Andernfalls muss wie bisher
+ * schrittweise erweitert werden.
+ * <p>
+ * Die Tabelle hängt nur von den Wänden ab und wird je Spielfeldaufbau einmal berechnet und
+ * von allen Spiellogiken der JVM gemeinsam genutzt. Die Instanzen sind unveränderlich und damit threadsicher.
+ */
+final class MoveTable {
+    //Größte vorberechnete Schrittzahl (Augenzahl des Würfels)
+    static final int MAX_STEPS = 6;
+
+    //Bereits berechnete Tabellen je Spielfeldaufbau
+    private static final Map<String, MoveTable> TABLES = new ConcurrentHashMap<>();
+
+    //Der Nachbarschaftsgraph des Spielfeldes
+    private final BoardGraph graph;
+    //Anzahl der longs je Maske
+    private final int wordCount;
+    //Erreichbare Flurfelder bei exakter Schrittzahl, indiziert über (Flur-Id * (MAX_STEPS + 1) + Schritte) * wordCount
+    private final long[] exactReach;
+    //Erreichbare Flurfelder bei maximaler Schrittzahl, gleich indiziert
+    private final long[] inexactReach;
+
+    /**
+     * Berechnet die Tabelle über das Bitboard des Spielfeldes.
+     *
+     * @param graph    der Nachbarschaftsgraph des Spielfeldes.
+     * @param bitboard das Bitboard des Spielfeldes, dessen Zwischenspeicher verwendet werden.
+     */
+    private MoveTable(BoardGraph graph, CorridorBitboard bitboard) {
+        this.graph = graph;
+        long[] empty = bitboard.newMask();
+        this.wordCount = empty.length;
+        int entries = graph.getCorridorCount() * (MAX_STEPS + 1);
+        this.exactReach = new long[entries * wordCount];
+        this.inexactReach = new long[entries * wordCount];
+        long[] exact = bitboard.newMask();
+        long[] inexact = bitboard.newMask();
+        for (int id = 0; id < graph.getCorridorCount(); id++) {
+            Arrays.fill(exact, 0L);
+            Arrays.fill(inexact, 0L);
+            bitboard.setCell(exact, graph.getCell(id));
+            bitboard.setCell(inexact, graph.getCell(id));
+            for (int steps = 0; steps <= MAX_STEPS; steps++) {
+                if (steps > 0) {
+                    bitboard.expand(exact, 1, true, empty);
+                    bitboard.expand(inexact, 1, false, empty);
+                }
+                System.arraycopy(exact, 0, exactReach, offset(id, steps), wordCount);
+                System.arraycopy(inexact, 0, inexactReach, offset(id, steps), wordCount);
+            }
+        }
+    }
+
+    /**
+     * Liefert die Tabelle für den Spielfeldaufbau des übergebenen Graphen.
+     * Wird für jeden Aufbau nur einmal berechnet.
+     *
+     * @param graph    der Nachbarschaftsgraph des Spielfeldes.
+     * @param bitboard das Bitboard desselben Spielfeldes.
+     * @return die Tabelle.
+     */
+    static MoveTable forBoard(BoardGraph graph, CorridorBitboard bitboard) {
+        return TABLES.computeIfAbsent(graph.getLayoutKey(), key -> new MoveTable(graph, bitboard));
+    }
+
+    /**
+     * Versucht die erreichbaren Flurfelder aus der Tabelle zu bestimmen. Dies gelingt, wenn die Schrittzahl
+     * vorberechnet ist, alle Startpositionen auf dem Flur liegen und keine Spielfigur innerhalb der Schrittzahl
+     * um eine Startposition steht.
+     * <p>
+     * Die Erweiterung mit maximaler Schrittzahl ist für mehrere Startpositionen die Vereinigung der einzelnen
+     * Einträge. Bei exakter Schrittzahl gilt dies nur, wenn alle Startpositionen auf gleichfarbigen Feldern
+     * (gleiche Parität von x + y) liegen, da sich die Schritte sonst gegenseitig aufheben.
+     *
+     * @param startIds   die Flur-Ids der Startpositionen.
+     * @param startCount die Anzahl der Startpositionen.
+     * @param steps      die zur Verfügung stehenden Schritte.
+     * @param exact      ob alle Schritte verbraucht werden müssen.
+     * @param blocked    die von anderen Spielfiguren belegten Positionen.
+     * @param target     die Maske, in welche die erreichbaren Flurfelder geschrieben werden.
+     * @return ob die Tabelle verwendet werden konnte. Andernfalls ist target unverändert.
+     */
+    boolean lookup(int[] startIds, int startCount, int steps, boolean exact, long[] blocked, long[] target) {
+        if (steps < 0 || steps > MAX_STEPS || startCount == 0) {
+            return false;
+        }
+        int parity = -1;
+        for (int i = 0; i < startCount; i++) {
+            int id = startIds[i];
+            if (id == BoardGraph.NO_CORRIDOR) {
+                return false;
+            }
+            int startParity = (graph.getX(id) + graph.getY(id)) & 1;
+            if (exact && parity != -1 && parity != startParity) {
+                return false;
+            }
+            parity = startParity;
+            //Steht eine Spielfigur innerhalb der Schrittzahl, gilt der Eintrag nicht
+            int offset = offset(id, steps);
+            for (int w = 0; w < wordCount; w++) {
+                if ((inexactReach[offset + w] & blocked[w]) != 0) {
+                    return false;
+                }
+            }
+        }
+        long[] table = exact ? exactReach : inexactReach;
+        Arrays.fill(target, 0L);
+        for (int i = 0; i < startCount; i++) {
+            int offset = offset(startIds[i], steps);
+            for (int w = 0; w < wordCount; w++) {
+                target[w] |= table[offset + w];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Liefert den Beginn eines Eintrags in den Tabellen.
+     *
+     * @param id    die Flur-Id.
+     * @param steps die Schrittzahl.
+     * @return der Index des ersten longs des Eintrags.
+     */
+    private int offset(int id, int steps) {
+        return (id * (MAX_STEPS + 1) + steps) * wordCount;
+    }
+}
@@ -0,0 +1,150 @@
+package logic;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unveränderliche Zuordnung der Namen von Personen, Waffen, Räumen und Karten zu ihrem Index in den
+ * jeweiligen Arrays der Spiellogik. Die Objekte selbst gehören zu jedem Spiel, die Zuordnung wird dagegen je
+ * Spielvorlage (Namen in der Reihenfolge der Arrays) nur einmal erstellt und von allen Spiellogiken der JVM
+ * gemeinsam genutzt.
+ * <p>
+ * Kommt ein Name mehrfach vor, gilt wie bei einer Suche von vorne der erste Index.
+ */
+final class NameRegistry {
+    //Markiert einen unbekannten Namen
+    static final int NOT_FOUND = -1;
+
+    //Bereits erstellte Zuordnungen je Spielvorlage
+    private static final Map<String, NameRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    //Index je Name einer Person
+    private final Map<String, Integer> characters;
+    //Index je Name einer Waffe
+    private final Map<String, Integer> weapons;
+    //Index je Name eines Raumes
+    private final Map<String, Integer> rooms;
+    //Index je Name einer Karte
+    private final Map<String, Integer> cards;
+
+    /**
+     * Konstruktor.
+     *
+     * @param characterNames die Namen der Personen.
+     * @param weaponNames    die Namen der Waffen.
+     * @param roomNames      die Namen der Räume.
+     * @param cardNames      die Namen der Karten.
+     */
+    private NameRegistry(String[] characterNames, String[] weaponNames, String[] roomNames, String[] cardNames) {
+        this.characters = indexNames(characterNames);
+        this.weapons = indexNames(weaponNames);
+        this.rooms = indexNames(roomNames);
+        this.cards = indexNames(cardNames);
+    }
+
+    /**
+     * Liefert die Zuordnung für die Objekte eines Spiels. Wird für jede Vorlage nur einmal erstellt.
+     *
+     * @param characters die Personen im Spiel.
+     * @param weapons    die Waffen im Spiel, darf null sein.
+     * @param rooms      die Räume im Spiel.
+     * @param cards      die Karten im Spiel.
+     * @return die Zuordnung.
+     */
+    static NameRegistry forGame(Character[] characters, Weapon[] weapons, Room[] rooms, Card[] cards) {
+        String[] characterNames = new String[characters.length];
+        for (int i = 0; i < characters.length; i++) {
+            characterNames[i] = characters[i].getName();
+        }
+        String[] weaponNames = new String[weapons == null ? 0 : weapons.length];
+        for (int i = 0; i < weaponNames.length; i++) {
+            weaponNames[i] = weapons[i].getName();
+        }
+        String[] roomNames = new String[rooms.length];
+        for (int i = 0; i < rooms.length; i++) {
+            roomNames[i] = rooms[i].getName();
+        }
+        String[] cardNames = new String[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            cardNames[i] = cards[i].getName();
+        }
+        //Die Namen mit ihrer Länge, damit verschiedene Vorlagen nie dieselbe Beschreibung ergeben
+        StringBuilder key = new StringBuilder();
+        for (String[] names : new String[][]{characterNames, weaponNames, roomNames, cardNames}) {
+            key.append(names.length).append(':');
+            for (String name : names) {
+                key.append(name.length()).append(':').append(name);
+            }
+        }
+        return REGISTRIES.computeIfAbsent(key.toString(),
+                k -> new NameRegistry(characterNames, weaponNames, roomNames, cardNames));
+    }
+
+    /**
+     * Ordnet jedem Namen seinen ersten Index zu.
+     *
+     * @param names die Namen.
+     * @return die unveränderliche Zuordnung.
+     */
+    private static Map<String, Integer> indexNames(String[] names) {
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            indices.putIfAbsent(names[i], i);
+        }
+        return Collections.unmodifiableMap(indices);
+    }
+
+    /**
+     * Liefert den Index eines Namens.
+     *
+     * @param indices die Zuordnung.
+     * @param name    der Name.
+     * @return der Index oder NOT_FOUND.
+     */
+    private static int indexOf(Map<String, Integer> indices, String name) {
+        Integer index = indices.get(name);
+        return index == null ? NOT_FOUND : index;
+    }
+
+    /**
+     * Liefert den Index einer Person.
+     *
+     * @param name der Name der Person.
+     * @return der Index im Array der Personen oder NOT_FOUND.
+     */
+    int getCharacterIndex(String name) {
+        return indexOf(characters, name);
+    }
+
+    /**
+     * Liefert den Index einer Waffe.
+     *
+     * @param name der Name der Waffe.
+     * @return der Index im Array der Waffen oder NOT_FOUND.
+     */
+    int getWeaponIndex(String name) {
+        return indexOf(weapons, name);
+    }
+
+    /**
+     * Liefert den Index eines Raumes.
+     *
+     * @param name der Name des Raumes.
+     * @return der Index im Array der Räume oder NOT_FOUND.
+     */
+    int getRoomIndex(String name) {
+        return indexOf(rooms, name);
+    }
+
+    /**
+     * Liefert den Index einer Karte.
+     *
+     * @param name der Name der Karte.
+     * @return der Index im Array der Karten (Reihenfolge der Notizen) oder NOT_FOUND.
+     */
+    int getCardIndex(String name) {
+        return indexOf(cards, name);
+    }
+}
@@ -0,0 +1,245 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Die Notizen eines Spielers in einem einzigen Array: je Karte ein Byte mit der Ordinalzahl der Notiz.
+ * Die eigenen Notizen ({@link NoteSelf}) bilden die erste Spalte, danach folgen die Notizen über die anderen
+ * Spieler ({@link NoteOthers}) spaltenweise in der Reihenfolge der Notizen. Die Karten einer Spalte liegen
+ * damit hintereinander, eine Kopie aller Notizen ist eine einzige Kopie des Arrays.
+ * <p>
+ * Spalten der Notizen über andere werden wie bisher ab 0 gezählt, die eigene Spalte wird über eigene
+ * Methoden angesprochen.
+ */
+public final class NotesMatrix {
+    //Die Notizen als Ordinalzahlen, [Spalte * Kartenanzahl + Karte], Spalte 0 sind die eigenen Notizen
+    private final byte[] notes;
+    //Anzahl der Karten (Zeilen)
+    private final int cardCount;
+
+    //Zwischengespeicherte Werte der Aufzählungen, values() legt jedes Mal ein neues Array an
+    private static final NoteSelf[] NOTE_SELF_VALUES = NoteSelf.values();
+    private static final NoteOthers[] NOTE_OTHERS_VALUES = NoteOthers.values();
+
+    /**
+     * Konstruktor, alle Notizen sind leer.
+     *
+     * @param otherCount die Anzahl der anderen Spieler (Spalten der Notizen über andere).
+     * @param cardCount  die Anzahl der Karten.
+     */
+    public NotesMatrix(int otherCount, int cardCount) {
+        //NOTHING hat in beiden Aufzählungen die Ordinalzahl 0
+        this.notes = new byte[(otherCount + 1) * cardCount];
+        this.cardCount = cardCount;
+    }
+
+    /**
+     * Kopierkonstruktor.
+     *
+     * @param other die zu kopierenden Notizen.
+     */
+    private NotesMatrix(NotesMatrix other) {
+        this.notes = other.notes.clone();
+        this.cardCount = other.cardCount;
+    }
+
+    /**
+     * Erstellt die Notizen aus den einzelnen Arrays, z.B. beim Laden eines Spielstandes.
+     *
+     * @param noteSelf   die eigenen Notizen.
+     * @param noteOthers die Notizen über andere, [Spalte][Karte].
+     * @return die Notizen.
+     */
+    public static NotesMatrix of(NoteSelf[] noteSelf, NoteOthers[][] noteOthers) {
+        NotesMatrix matrix = new NotesMatrix(noteOthers.length, noteSelf.length);
+        for (int card = 0; card < noteSelf.length; card++) {
+            matrix.setSelf(card, noteSelf[card]);
+        }
+        for (int column = 0; column < noteOthers.length; column++) {
+            if (noteOthers[column].length != noteSelf.length) {
+                throw new IllegalArgumentException("Notizen über andere haben eine andere Länge");
+            }
+            for (int card = 0; card < noteSelf.length; card++) {
+                matrix.setOthers(column, card, noteOthers[column][card]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Liefert eine Kopie der Notizen.
+     *
+     * @return die Kopie.
+     */
+    public NotesMatrix copy() {
+        return new NotesMatrix(this);
+    }
+
+    /**
+     * Liefert die Anzahl der Karten (Zeilen).
+     *
+     * @return die Anzahl der Karten.
+     */
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * Liefert die Anzahl der anderen Spieler (Spalten der Notizen über andere).
+     *
+     * @return die Anzahl der anderen Spieler.
+     */
+    public int getOtherCount() {
+        return cardCount == 0 ? 0 : notes.length / cardCount - 1;
+    }
+
+    /**
+     * Liefert die eigene Notiz zu einer Karte.
+     *
+     * @param card der Index der Karte.
+     * @return die Notiz.
+     */
+    public NoteSelf getSelf(int card) {
+        return NOTE_SELF_VALUES[notes[selfIndex(card)]];
+    }
+
+    /**
+     * Setzt die eigene Notiz zu einer Karte.
+     *
+     * @param card der Index der Karte.
+     * @param note die Notiz.
+     */
+    public void setSelf(int card, NoteSelf note) {
+        notes[selfIndex(card)] = (byte) note.ordinal();
+    }
+
+    /**
+     * Setzt alle eigenen Notizen.
+     *
+     * @param note die Notiz.
+     */
+    public void fillSelf(NoteSelf note) {
+        Arrays.fill(notes, 0, cardCount, (byte) note.ordinal());
+    }
+
+    /**
+     * Liefert die Notiz über einen anderen Spieler zu einer Karte.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param card   der Index der Karte (Zeile).
+     * @return die Notiz.
+     */
+    public NoteOthers getOthers(int column, int card) {
+        return NOTE_OTHERS_VALUES[notes[othersIndex(column, card)]];
+    }
+
+    /**
+     * Setzt die Notiz über einen anderen Spieler zu einer Karte.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param card   der Index der Karte (Zeile).
+     * @param note   die Notiz.
+     */
+    public void setOthers(int column, int card, NoteOthers note) {
+        notes[othersIndex(column, card)] = (byte) note.ordinal();
+    }
+
+    /**
+     * Setzt die Notiz über einen anderen Spieler für alle Karten einer gepackten Verdächtigung,
+     * z.B. dass er keine der drei Karten hat.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param cards  die Karten, siehe {@link PackedCardTriple}.
+     * @param note   die Notiz.
+     */
+    void setOthers(int column, long cards, NoteOthers note) {
+        for (int position = PackedCardTriple.CHARACTER; position <= PackedCardTriple.ROOM; position++) {
+            int card = PackedCardTriple.get(cards, position);
+            if (card != -1) {
+                setOthers(column, card, note);
+            }
+        }
+    }
+
+    /**
+     * Liefert die eigenen Notizen als Kopie.
+     *
+     * @return die eigenen Notizen je Karte.
+     */
+    public NoteSelf[] getSelfColumn() {
+        NoteSelf[] column = new NoteSelf[cardCount];
+        for (int card = 0; card < cardCount; card++) {
+            column[card] = NOTE_SELF_VALUES[notes[card]];
+        }
+        return column;
+    }
+
+    /**
+     * Liefert die Notizen über einen anderen Spieler als Kopie.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @return die Notizen je Karte.
+     */
+    public NoteOthers[] getOthersColumn(int column) {
+        NoteOthers[] result = new NoteOthers[cardCount];
+        int offset = othersIndex(column, 0);
+        for (int card = 0; card < cardCount; card++) {
+            result[card] = NOTE_OTHERS_VALUES[notes[offset + card]];
+        }
+        return result;
+    }
+
+    /**
+     * Liefert die Notizen über alle anderen Spieler zu einer Karte als Kopie.
+     *
+     * @param card der Index der Karte (Zeile).
+     * @return die Notizen je Spalte.
+     */
+    public NoteOthers[] getOthersRow(int card) {
+        NoteOthers[] row = new NoteOthers[getOtherCount()];
+        for (int column = 0; column < row.length; column++) {
+            row[column] = getOthers(column, card);
+        }
+        return row;
+    }
+
+    /**
+     * Liefert den Index einer eigenen Notiz im Array.
+     *
+     * @param card der Index der Karte.
+     * @return der Index im Array.
+     */
+    private int selfIndex(int card) {
+        assert card >= 0 && card < cardCount;
+        return card;
+    }
+
+    /**
+     * Liefert den Index einer Notiz über andere im Array.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param card   der Index der Karte (Zeile).
+     * @return der Index im Array.
+     */
+    private int othersIndex(int column, int card) {
+        assert card >= 0 && card < cardCount;
+        return (column + 1) * cardCount + card;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        NotesMatrix that = (NotesMatrix) o;
+        return cardCount == that.cardCount && Arrays.equals(notes, that.notes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * cardCount + Arrays.hashCode(notes);
+    }
+}
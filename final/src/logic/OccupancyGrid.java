@@ -0,0 +1,178 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Belegung des Spielfeldes durch die Spielfiguren.
+ * Jede registrierte Spielfigur erhält einen Platz (Slot), je Zelle wird eine Bitmaske der dort
+ * stehenden Spielfiguren gehalten. Die Spielfiguren melden ihre Bewegungen selbst
+ * (siehe {@link Character#setPosition(Position)}), sodass Belegungsabfragen ohne Suche über alle
+ * Spielfiguren und ohne neue Objekte beantwortet werden können.
+ * <p>
+ * Jede Änderung erhöht die Version, womit abhängige Zwischenspeicher ihre Gültigkeit prüfen können.
+ * Eine Spielfigur kann immer nur in einer Belegung registriert sein.
+ */
+class OccupancyGrid {
+    //Maximale Anzahl an Spielfiguren (Bits einer Maske)
+    static final int MAX_CHARACTERS = Long.SIZE;
+
+    //Markiert Spielfiguren außerhalb des Spielfeldes
+    static final int OUTSIDE = -1;
+
+    //Die Breite des Spielfeldes
+    private final int width;
+    //Die Höhe des Spielfeldes
+    private final int height;
+    //Bitmaske der Spielfiguren je Zelle (y * Breite + x)
+    private final long[] occupants;
+    //Die registrierten Spielfiguren je Slot
+    private final Character[] characters = new Character[MAX_CHARACTERS];
+    //Die Zelle je Slot, OUTSIDE falls außerhalb des Spielfeldes
+    private final int[] cellOfSlot = new int[MAX_CHARACTERS];
+    //Anzahl der belegten Slots
+    private int characterCount;
+    //Wird bei jeder Änderung erhöht
+    private long version;
+
+    /**
+     * Konstruktor.
+     *
+     * @param width  die Breite des Spielfeldes.
+     * @param height die Höhe des Spielfeldes.
+     */
+    OccupancyGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.occupants = new long[width * height];
+        Arrays.fill(cellOfSlot, OUTSIDE);
+    }
+
+    /**
+     * Registriert eine Spielfigur an ihrer aktuellen Position.
+     * Ist die Spielfigur bereits registriert, wird ihr bisheriger Slot geliefert.
+     *
+     * @param character die Spielfigur.
+     * @return der Slot der Spielfigur.
+     */
+    int register(Character character) {
+        if (character.getOccupancyGrid() == this) {
+            return character.getOccupancySlot();
+        }
+        if (characterCount == MAX_CHARACTERS) {
+            throw new IllegalStateException("Es können höchstens " + MAX_CHARACTERS + " Spielfiguren registriert werden.");
+        }
+        int slot = characterCount;
+        characterCount++;
+        characters[slot] = character;
+        character.attachOccupancyGrid(this, slot);
+        place(slot, character.getPosition());
+        version++;
+        return slot;
+    }
+
+    /**
+     * Entfernt alle Spielfiguren aus der Belegung.
+     */
+    void clear() {
+        for (int slot = 0; slot < characterCount; slot++) {
+            characters[slot].attachOccupancyGrid(null, OUTSIDE);
+            characters[slot] = null;
+            cellOfSlot[slot] = OUTSIDE;
+        }
+        characterCount = 0;
+        Arrays.fill(occupants, 0L);
+        version++;
+    }
+
+    /**
+     * Wird von einer Spielfigur aufgerufen, wenn sie bewegt wurde.
+     *
+     * @param slot der Slot der Spielfigur.
+     * @param to   die neue Position.
+     */
+    void moved(int slot, Position to) {
+        if (cellOfSlot[slot] != OUTSIDE) {
+            occupants[cellOfSlot[slot]] &= ~(1L << slot);
+        }
+        place(slot, to);
+        version++;
+    }
+
+    /**
+     * Prüft, ob auf der Position eine Spielfigur steht, die nicht in der Ausnahmemaske enthalten ist.
+     *
+     * @param pos           die Position.
+     * @param excludedSlots die Slots der nicht zu berücksichtigenden Spielfiguren als Bitmaske.
+     * @return ob die Position belegt ist.
+     */
+    boolean isOccupied(Position pos, long excludedSlots) {
+        int cell = cellOf(pos);
+        return cell != OUTSIDE && (occupants[cell] & ~excludedSlots) != 0;
+    }
+
+    /**
+     * Liefert die Bitmaske der Spielfiguren auf einer Zelle.
+     *
+     * @param cell die Zelle (y * Breite + x).
+     * @return die Bitmaske der Spielfiguren.
+     */
+    long getOccupants(int cell) {
+        return occupants[cell];
+    }
+
+    /**
+     * Liefert die Zelle, auf der die Spielfigur in dem Slot steht.
+     *
+     * @param slot der Slot.
+     * @return die Zelle (y * Breite + x) oder OUTSIDE.
+     */
+    int getCell(int slot) {
+        return cellOfSlot[slot];
+    }
+
+    /**
+     * Liefert die Bitmaske des Slots einer Spielfigur.
+     *
+     * @param character die Spielfigur.
+     * @return die Bitmaske des Slots oder 0, falls die Spielfigur nicht registriert ist.
+     */
+    long slotMaskOf(Character character) {
+        return character.getOccupancyGrid() == this ? 1L << character.getOccupancySlot() : 0L;
+    }
+
+    /**
+     * Liefert die aktuelle Version der Belegung.
+     *
+     * @return die Version.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Setzt die Spielfigur in dem Slot auf die Position.
+     *
+     * @param slot der Slot.
+     * @param pos  die Position.
+     */
+    private void place(int slot, Position pos) {
+        int cell = cellOf(pos);
+        cellOfSlot[slot] = cell;
+        if (cell != OUTSIDE) {
+            occupants[cell] |= 1L << slot;
+        }
+    }
+
+    /**
+     * Liefert die Zelle einer Position.
+     *
+     * @param pos die Position.
+     * @return die Zelle (y * Breite + x) oder OUTSIDE.
+     */
+    private int cellOf(Position pos) {
+        if (pos == null || pos.getX() < 0 || pos.getX() >= width || pos.getY() < 0 || pos.getY() >= height) {
+            return OUTSIDE;
+        }
+        return pos.toCellId(width);
+    }
+}
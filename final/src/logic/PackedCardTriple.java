@@ -0,0 +1,162 @@
+package logic;
+
+/**
+ * Kompakte Darstellung eines {@link CardTriple} als ein long-Wert, um Verdächtigungen ohne neue Objekte
+ * speichern, vergleichen und mit der Hand eines Spielers abgleichen zu können.
+ * <p>
+ * Die drei Karten stehen als Index (Reihenfolge der Notizen) in je 16 Bit, in der Reihenfolge Person, Waffe,
+ * Raum. Gespeichert wird jeweils der Index + 1, sodass 0 eine fehlende Karte bedeutet und {@link #EMPTY}
+ * das leere Triple ist. Die Hand eines Spielers wird als Maske über die Kartenindizes übergeben,
+ * wie sie {@link CardKnowledge#ownMask()} liefert.
+ */
+final class PackedCardTriple {
+    //Das leere Triple
+    static final long EMPTY = 0L;
+    //Position der Personenkarte
+    static final int CHARACTER = 0;
+    //Position der Waffenkarte
+    static final int WEAPON = 1;
+    //Position der Raumkarte
+    static final int ROOM = 2;
+
+    //Bits je Karte
+    private static final int SLOT_BITS = 16;
+    //Maske für eine Karte
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+
+    /**
+     * Nicht instanziierbar.
+     */
+    private PackedCardTriple() {
+    }
+
+    /**
+     * Fasst drei Karten zusammen.
+     *
+     * @param character der Index der Personenkarte oder -1.
+     * @param weapon    der Index der Waffenkarte oder -1.
+     * @param room      der Index der Raumkarte oder -1.
+     * @return das gepackte Triple.
+     */
+    static long of(int character, int weapon, int room) {
+        return slot(CHARACTER, character) | slot(WEAPON, weapon) | slot(ROOM, room);
+    }
+
+    /**
+     * Liefert den Wert einer Karte an ihrer Position.
+     *
+     * @param position die Position der Karte.
+     * @param card     der Index der Karte oder -1.
+     * @return der Wert an der Position.
+     */
+    private static long slot(int position, int card) {
+        assert card >= -1 && card < SLOT_MASK;
+        return (long) (card + 1) << position * SLOT_BITS;
+    }
+
+    /**
+     * Liefert die Karte an einer Position.
+     *
+     * @param packed   das gepackte Triple.
+     * @param position die Position, {@link #CHARACTER}, {@link #WEAPON} oder {@link #ROOM}.
+     * @return der Index der Karte oder -1, falls keine Karte enthalten ist.
+     */
+    static int get(long packed, int position) {
+        return (int) (packed >>> position * SLOT_BITS & SLOT_MASK) - 1;
+    }
+
+    /**
+     * Prüft, ob die Karte enthalten ist.
+     *
+     * @param packed das gepackte Triple.
+     * @param card   der Index der Karte.
+     * @return ob die Karte enthalten ist.
+     */
+    static boolean contains(long packed, int card) {
+        for (int position = CHARACTER; position <= ROOM; position++) {
+            if (card >= 0 && get(packed, position) == card) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Liefert die Anzahl der enthaltenen Karten.
+     *
+     * @param packed das gepackte Triple.
+     * @return die Anzahl der Karten.
+     */
+    static int size(long packed) {
+        int size = 0;
+        for (int position = CHARACTER; position <= ROOM; position++) {
+            if (get(packed, position) != -1) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Behält nur die Karten, die (nicht) auf der Hand sind.
+     *
+     * @param packed das gepackte Triple.
+     * @param hand   die Hand als Maske über die Kartenindizes.
+     * @param onHand ob die Karten auf der Hand behalten werden sollen.
+     * @return das gepackte Triple der behaltenen Karten.
+     */
+    private static long filter(long packed, long[] hand, boolean onHand) {
+        long result = EMPTY;
+        for (int position = CHARACTER; position <= ROOM; position++) {
+            int card = get(packed, position);
+            if (card != -1 && isOnHand(hand, card) == onHand) {
+                result |= slot(position, card);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Liefert die Karten des Triples, die auf der Hand sind.
+     *
+     * @param packed das gepackte Triple.
+     * @param hand   die Hand als Maske über die Kartenindizes.
+     * @return das gepackte Triple der Karten auf der Hand.
+     */
+    static long retainHand(long packed, long[] hand) {
+        return filter(packed, hand, true);
+    }
+
+    /**
+     * Liefert die Karten des Triples, die nicht auf der Hand sind.
+     *
+     * @param packed das gepackte Triple.
+     * @param hand   die Hand als Maske über die Kartenindizes.
+     * @return das gepackte Triple der übrigen Karten.
+     */
+    static long removeHand(long packed, long[] hand) {
+        return filter(packed, hand, false);
+    }
+
+    /**
+     * Liefert die Anzahl der Karten des Triples, die auf der Hand sind.
+     *
+     * @param packed das gepackte Triple.
+     * @param hand   die Hand als Maske über die Kartenindizes.
+     * @return die Anzahl der Karten auf der Hand.
+     */
+    static int countInHand(long packed, long[] hand) {
+        return size(retainHand(packed, hand));
+    }
+
+    /**
+     * Prüft, ob eine Karte auf der Hand ist.
+     *
+     * @param hand die Hand als Maske über die Kartenindizes.
+     * @param card der Index der Karte.
+     * @return ob die Karte auf der Hand ist.
+     */
+    private static boolean isOnHand(long[] hand, int card) {
+        return card / Long.SIZE < hand.length && (hand[card / Long.SIZE] & 1L << card) != 0;
+    }
+}
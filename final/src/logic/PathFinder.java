@@ -0,0 +1,32 @@
+package logic;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Strategie für die Suche des kürzesten Weges über den Flur.
+ * <p>
+ * Alle Implementierungen halten sich an dieselben Regeln:
+ * <ul>
+ * <li>Ist eine Startposition bereits ein Ziel, besteht der Weg nur aus dieser Position.</li>
+ * <li>Startpositionen auf dem Flur dürfen belegt sein, alle weiteren Felder des Weges nicht.</li>
+ * <li>Startpositionen außerhalb des Flures (z.B. Wände) beginnen bei ihren freien Nachbarn auf dem Flur.</li>
+ * <li>Ziele außerhalb des Flures können nur als Startposition erreicht werden.</li>
+ * </ul>
+ * Implementierungen können Zwischenspeicher halten und sind daher nicht threadsicher.
+ */
+interface PathFinder {
+
+    /**
+     * Liefert den kürzesten Weg von einer der Startpositionen zu einer der Zielpositionen.
+     *
+     * @param graph        der Nachbarschaftsgraph des Spielfeldes.
+     * @param starts       die möglichen Ausgangspositionen.
+     * @param destinations die Zielpositionen.
+     * @param blocked      prüft, ob ein Flurfeld (über die Flur-Id) von einer Spielfigur versperrt ist.
+     * @return der kürzeste Pfad beginnend bei der gewählten Startposition bis zu der Zielposition.
+     * Gibt null zurück, falls kein Pfad gefunden wurde.
+     */
+    List<Position> findShortestPath(BoardGraph graph, Set<Position> starts, Set<Position> destinations, IntPredicate blocked);
+}
@@ -1,8 +1,10 @@
 package logic;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Repräsentiert einen Spieler der an dem Cluedo Spiel teilnimmt.
@@ -16,10 +18,14 @@ public class Player {
     private AI ai;
     //Die Spielfigur die der Spieler steuert.
     private final Character character;
-    //Die Notizen zu den eigenen Karten.
-    private NoteSelf[] noteSelf;
-    //Notizen über die anderen Spieler im Spiel
-    private NoteOthers[][] noteOthers;
+    //Die Notizen zu den eigenen Karten und über die anderen Spieler im Spiel
+    private NotesMatrix notes;
+    //Das Wissen aus den Notizen über andere und den eigenen Karten als Bitmasken (für die KI)
+    private CardKnowledge knowledge;
+    //Nachgeführte Ansichten der noch offenen Karten je Kartentyp
+    private Map<CardType, Set<Card>> openCards;
+    //Nachgeführte Ansicht der noch offenen Räume
+    private Set<Room> openRooms;
     //Status, ob der Spieler gerade in einen Raum gewünscht wurde
     private boolean requested;
 
@@ -36,14 +42,10 @@ public class Player {
         this.character = character;
         this.ai = initAIByDifficulty(aiDifficulty, characterInGameCount, cardsInGameCount);
         this.cards = new ArrayList<>();
-        this.noteSelf = new NoteSelf[cardsInGameCount];
-        Arrays.fill(noteSelf, NoteSelf.NOTHING);
         this.requested = false;
         //Ming zählt nicht zu den anderen Notizen
-        this.noteOthers = new NoteOthers[characterInGameCount - 1][cardsInGameCount];
-        for (NoteOthers[] noteOther : noteOthers) {
-            Arrays.fill(noteOther, NoteOthers.NOTHING);
-        }
+        this.notes = new NotesMatrix(characterInGameCount - 1, cardsInGameCount);
+        this.knowledge = new CardKnowledge(notes.getOtherCount(), cardsInGameCount);
     }
 
     /**
@@ -62,17 +64,16 @@ public class Player {
      * @param pos          die Spielerposition.
      * @param aiDifficulty die KI-Stärke.
      * @param character    die Spielfigur die der Spieler steuert.
-     * @param noteSelf     Notizen über die anderen Spieler im Spiel
-     * @param noteOthers   Notizen über die anderen Spieler im Spiel
+     * @param notes        die eigenen Notizen und die Notizen über die anderen Spieler im Spiel
      */
-    public Player(List<Card> cards, Position pos, AIDifficulty aiDifficulty, Character character, NoteSelf[] noteSelf, NoteOthers[][] noteOthers) {
+    public Player(List<Card> cards, Position pos, AIDifficulty aiDifficulty, Character character, NotesMatrix notes) {
         this.cards = cards;
         character.setPosition(pos);
         //+1 da in den Notizen über andere die eigene Person fehlt
-        this.ai = initAIByDifficulty(aiDifficulty, noteOthers.length + 1, noteSelf.length);
+        this.ai = initAIByDifficulty(aiDifficulty, notes.getOtherCount() + 1, notes.getCardCount());
         this.character = character;
-        this.noteSelf = noteSelf;
-        this.noteOthers = noteOthers;
+        this.notes = notes;
+        this.knowledge = CardKnowledge.fromNotes(notes);
     }
 
     /**
@@ -82,15 +83,32 @@ public class Player {
      * @param pos          die Spielerposition.
      * @param aiDifficulty die KI-Stärke.
      * @param character    die Spielfigur die der Spieler steuert.
-     * @param noteSelf     Notizen über die anderen Spieler im Spiel
+     * @param notes        die eigenen Notizen und die Notizen über die anderen Spieler im Spiel
      * @param requested    ob der Spieler in einen Raum gewünscht wurde.
-     * @param noteOthers   Notizen über die anderen Spieler im Spiel
      */
-    public Player(List<Card> cards, Position pos, AIDifficulty aiDifficulty, Character character, NoteSelf[] noteSelf, boolean requested, NoteOthers[][] noteOthers) {
-        this(cards, pos, aiDifficulty, character, noteSelf, noteOthers);
+    public Player(List<Card> cards, Position pos, AIDifficulty aiDifficulty, Character character, NotesMatrix notes, boolean requested) {
+        this(cards, pos, aiDifficulty, character, notes);
         this.requested = requested;
     }
 
+    /**
+     * Konstruktor für einen Spieler in der Momentaufnahme einer Spiellogik (siehe {@link GameLogic#snapshot(GameLogic)}).
+     * Karten, KI, Notizen und Wissen werden mit dem ursprünglichen Spieler geteilt, nur die Spielfigur ist eine andere.
+     *
+     * @param source    der ursprüngliche Spieler.
+     * @param character die Spielfigur in der Momentaufnahme.
+     */
+    Player(Player source, Character character) {
+        this.cards = source.cards;
+        this.ai = source.ai;
+        this.character = character;
+        this.notes = source.notes;
+        this.knowledge = source.knowledge;
+        this.openCards = source.openCards;
+        this.openRooms = source.openRooms;
+        this.requested = source.requested;
+    }
+
     /**
      * Liefert den Status, ob der Spieler in einen Raum gewünscht wurde.
      *
@@ -121,6 +139,12 @@ public class Player {
                 case SMART:
                     ret = new AISmart(characterInGameCount, cardsInGameCount);
                     break;
+                case EXPERT:
+                    ret = new AIExpert(characterInGameCount, cardsInGameCount);
+                    break;
+                case MONTE_CARLO:
+                    ret = new AIMonteCarlo(characterInGameCount, cardsInGameCount);
+                    break;
             }
         }
         return ret;
@@ -181,12 +205,34 @@ public class Player {
     }
 
     /**
-     * Liefert die eigenen Notizen.
+     * Liefert die Notizen des Spielers.
+     * Nur zum Lesen, Änderungen müssen über {@link #setNoteSelf(int, NoteSelf)} und
+     * {@link #setNoteOthers(int, int, NoteOthers)} erfolgen.
+     *
+     * @return die eigenen Notizen und die Notizen über die anderen Spieler im Spiel.
+     */
+    public NotesMatrix getNotes() {
+        return notes;
+    }
+
+    /**
+     * Liefert die eigene Notiz zu einer Karte.
+     *
+     * @param card der Index der Karte in den Notizen.
+     * @return die eigene Notiz.
+     */
+    public NoteSelf getNoteSelf(int card) {
+        return notes.getSelf(card);
+    }
+
+    /**
+     * Trägt eine eigene Notiz zu einer Karte ein.
      *
-     * @return die eigenen Notizen.
+     * @param card der Index der Karte in den Notizen.
+     * @param note die Notiz.
      */
-    public NoteSelf[] getNoteSelf() {
-        return this.noteSelf;
+    public void setNoteSelf(int card, NoteSelf note) {
+        notes.setSelf(card, note);
     }
 
     /**
@@ -199,12 +245,91 @@ public class Player {
     }
 
     /**
-     * Liefert die Notizen über die anderen Spieler im Spiel.
+     * Liefert eine Notiz über einen anderen Spieler.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param card   der Index der Karte in den Notizen (Zeile).
+     * @return die Notiz.
+     */
+    public NoteOthers getNoteOthers(int column, int card) {
+        return notes.getOthers(column, card);
+    }
+
+    /**
+     * Trägt eine Notiz über einen anderen Spieler ein.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param card   der Index der Karte in den Notizen (Zeile).
+     * @param note   die Notiz.
+     */
+    public void setNoteOthers(int column, int card, NoteOthers note) {
+        notes.setOthers(column, card, note);
+        knowledge.setNote(column, card, note);
+    }
+
+    /**
+     * Trägt dieselbe Notiz über einen anderen Spieler für alle Karten einer gepackten Verdächtigung ein.
+     *
+     * @param column der Index des anderen Spielers in den Notizen (Spalte).
+     * @param cards  die Karten, siehe {@link PackedCardTriple}.
+     * @param note   die Notiz.
+     */
+    void setNoteOthers(int column, long cards, NoteOthers note) {
+        notes.setOthers(column, cards, note);
+        for (int position = PackedCardTriple.CHARACTER; position <= PackedCardTriple.ROOM; position++) {
+            int card = PackedCardTriple.get(cards, position);
+            if (card != -1) {
+                knowledge.setNote(column, card, note);
+            }
+        }
+    }
+
+    /**
+     * Liefert das Wissen aus den Notizen über andere und den eigenen Karten als Bitmasken.
+     *
+     * @return das Wissen des Spielers.
+     */
+    CardKnowledge getKnowledge() {
+        return knowledge;
+    }
+
+    /**
+     * Übernimmt die Karten auf der Hand in das Wissen des Spielers und legt die Ansichten
+     * der noch offenen Karten an.
+     *
+     * @param allCards         alle im Spiel befindlichen Karten.
+     * @param roomsByCardIndex der Raum zu jeder Raumkarte, Index wie in allCards.
+     */
+    void initKnowledge(Card[] allCards, Room[] roomsByCardIndex) {
+        if (knowledge != null) {
+            knowledge.setHand(allCards, cards);
+            openCards = new EnumMap<>(CardType.class);
+            for (CardType type : CardType.values()) {
+                openCards.put(type, knowledge.openView(type, allCards));
+            }
+            openRooms = knowledge.openView(CardType.ROOM, roomsByCardIndex);
+        }
+    }
+
+    /**
+     * Liefert die noch offenen Karten eines Typs: Karten, die weder auf der Hand sind noch bei
+     * einem anderen Spieler gesehen wurden. Die Menge wird mit den Notizen nachgeführt und kann
+     * nicht verändert werden.
      *
-     * @return die Notizen über die anderen Spieler im Spiel.
+     * @param type der Kartentyp.
+     * @return die offenen Karten in der Reihenfolge der Notizen.
      */
-    public NoteOthers[][] getNoteOthers() {
-        return noteOthers;
+    Set<Card> getOpenCards(CardType type) {
+        return openCards.get(type);
+    }
+
+    /**
+     * Liefert die noch offenen Räume, siehe {@link #getOpenCards(CardType)}.
+     *
+     * @return die offenen Räume in der Reihenfolge der Notizen.
+     */
+    Set<Room> getOpenRooms() {
+        return openRooms;
     }
 
     /**
@@ -239,6 +364,28 @@ public class Player {
         return showableCards;
     }
 
+    /**
+     * Liefert die Karten, die der Spieler gegeben einer Verdächtigung zeigen kann, in der kompakten Darstellung.
+     * Setzt voraus, dass die Karten auf der Hand in das Wissen übernommen wurden.
+     *
+     * @param suspicion die gepackte Verdächtigung, siehe {@link PackedCardTriple}.
+     * @return die gepackten Karten, die der Spieler zeigen kann.
+     */
+    long possibleCardsToShow(long suspicion) {
+        return PackedCardTriple.retainHand(suspicion, knowledge.ownMask());
+    }
+
+    /**
+     * Liefert die Anzahl der Karten einer gepackten Verdächtigung, die der Spieler auf der Hand hat.
+     * Setzt voraus, dass die Karten auf der Hand in das Wissen übernommen wurden.
+     *
+     * @param suspicion die gepackte Verdächtigung, siehe {@link PackedCardTriple}.
+     * @return die Anzahl der Karten auf der Hand.
+     */
+    int countCardsOnHand(long suspicion) {
+        return PackedCardTriple.countInHand(suspicion, knowledge.ownMask());
+    }
+
     /**
      * Prüft, ob der Spieler sich innerhalb des übergebenen Raumes befindet.
      *
@@ -252,16 +399,18 @@ public class Player {
     /**
      * Setzt die eigenen Notizen bei der Erstellung eines neuen Spiels.
      *
-     * @param allCards alle im Spiel befindlichen Karten
+     * @param allCards         alle im Spiel befindlichen Karten
+     * @param roomsByCardIndex der Raum zu jeder Raumkarte, Index wie in allCards.
      */
-    public void initNoteSelf(Card[] allCards) {
-        for (int i = 0; i < allCards.length; i++) {
-            if (this.cards.contains(allCards[i])) {
-                this.noteSelf[i] = NoteSelf.OWN;
-            } else {
-                this.noteSelf[i] = NoteSelf.NOTHING;
+    public void initNoteSelf(Card[] allCards, Room[] roomsByCardIndex) {
+        this.notes.fillSelf(NoteSelf.NOTHING);
+        for (Card card : this.cards) {
+            int i = card.indexIn(allCards);
+            if (i != -1) {
+                this.notes.setSelf(i, NoteSelf.OWN);
             }
         }
+        initKnowledge(allCards, roomsByCardIndex);
     }
 
 }
@@ -0,0 +1,191 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lässt die KI-Spieler im Hintergrund vorausdenken, während die Logik auf die GUI wartet
+ * (z.B. auf den Zug des menschlichen Spielers oder das Schließen eines Dialogs).
+ * <p>
+ * Für den nächsten KI-Spieler wird das Ziel des Zuges für jede Augenzahl des Würfels berechnet,
+ * außerdem können alle KI-Spieler ihr Wissen vorbereiten (siehe {@link AI#ponder(GameLogic, Player, BooleanSupplier)}).
+ * Ein berechneter Zug ist nur gültig, solange sich keine Spielfigur bewegt hat und keine Verdächtigung
+ * geäußert wurde, dafür wird die Version des Spielstandes zu Beginn festgehalten.
+ * <p>
+ * Gerechnet wird in einer Momentaufnahme der Logik (siehe {@link GameLogic#snapshot(GameLogic)}), der Spielstand
+ * der Logik selbst wird im Hintergrund weder gelesen noch verändert. Geteilt werden nur die KIs und das Wissen
+ * der Spieler, daher muss {@link #stop()} aufgerufen werden, bevor die Logik einer KI neues Wissen gibt oder
+ * sie entscheiden lässt. Dieses bricht ab und wartet, bis der gerade berechnete Schritt fertig ist.
+ */
+final class Ponderer {
+    //Höchste Augenzahl des Würfels
+    private static final int MAX_DICE = 6;
+
+    //Sekunden ohne Vorausdenken, nach denen der Hintergrund-Thread endet
+    private static final long IDLE_SECONDS = 10;
+
+    //Der Hintergrund-Thread dieses Spiels, er endet ohne Vorausdenken von selbst, sodass ein verworfenes
+    //Spiel keinen Thread belegt
+    private final ExecutorService executor = new ThreadPoolExecutor(0, 1, IDLE_SECONDS, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "Cluedo-Vorausdenken");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //Ob das laufende Vorausdenken abgebrochen werden soll
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    //Das laufende Vorausdenken, null falls keines läuft
+    private Future<?> running;
+    //Die Momentaufnahme der Logik, in der vorausgedacht wird (null vor dem ersten Vorausdenken)
+    private GameLogic snapshot;
+    //Der Index des Spielers, für den die Züge berechnet wurden (-1 falls keiner)
+    private int playerIndex = -1;
+    //Die Version des Spielstandes, zu dem die Züge berechnet wurden
+    private long version;
+    //Die berechneten Ziele je Augenzahl (null falls der Spieler aussetzen muss)
+    private final Position[] moves = new Position[MAX_DICE + 1];
+    //Ob das Ziel zu der Augenzahl berechnet wurde
+    private final boolean[] computed = new boolean[MAX_DICE + 1];
+    //Anzahl der Züge, die vorausgedacht waren
+    private int hits;
+    //Anzahl der Züge, die neu berechnet werden mussten
+    private int misses;
+
+    /**
+     * Beginnt das Vorausdenken. Ein noch laufendes Vorausdenken wird zuvor beendet.
+     *
+     * @param logic           die Hauptspiellogik, von der eine Momentaufnahme erstellt wird.
+     * @param nextPlayerIndex der Index des als nächstes ziehenden Spielers.
+     * @param version         die aktuelle Version des Spielstandes.
+     */
+    void start(GameLogic logic, int nextPlayerIndex, long version) {
+        stop();
+        this.playerIndex = nextPlayerIndex;
+        this.version = version;
+        Arrays.fill(computed, false);
+        cancelled.set(false);
+        GameLogic current = snapshot = logic.snapshot(snapshot);
+        running = executor.submit(() -> ponder(current, nextPlayerIndex));
+    }
+
+    /**
+     * Bricht das Vorausdenken ab und wartet, bis der laufende Schritt beendet ist.
+     * Bereits berechnete Züge bleiben erhalten.
+     */
+    void stop() {
+        cancelled.set(true);
+        await();
+    }
+
+    /**
+     * Wartet, bis das laufende Vorausdenken beendet ist, ohne es abzubrechen.
+     */
+    void await() {
+        if (running != null) {
+            try {
+                running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                //Das Vorausdenken ist nur eine Optimierung, fehlende Züge werden normal berechnet
+                GameLogic.debugln("Vorausdenken fehlgeschlagen: " + e.getCause());
+            }
+            running = null;
+        }
+    }
+
+    /**
+     * Verwirft alle berechneten Züge, nachdem das Vorausdenken beendet wurde.
+     */
+    void invalidate() {
+        stop();
+        playerIndex = -1;
+    }
+
+    /**
+     * Liefert das vorausgedachte Ziel eines Zuges, nachdem das Vorausdenken beendet wurde.
+     *
+     * @param playerIndex der Index des ziehenden Spielers.
+     * @param dice        die gewürfelte Augenzahl.
+     * @param version     die aktuelle Version des Spielstandes.
+     * @return ob ein gültiges Ziel vorliegt, dieses liefert dann {@link #getMove(int)}.
+     */
+    boolean hasMove(int playerIndex, int dice, long version) {
+        stop();
+        boolean hit = this.playerIndex == playerIndex && this.version == version
+                && dice >= 1 && dice <= MAX_DICE && computed[dice];
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return hit;
+    }
+
+    /**
+     * Liefert das vorausgedachte Ziel eines Zuges, siehe {@link #hasMove(int, int, long)}.
+     *
+     * @param dice die gewürfelte Augenzahl.
+     * @return das Ziel, null falls der Spieler aussetzen muss.
+     */
+    Position getMove(int dice) {
+        return moves[dice];
+    }
+
+    /**
+     * Liefert die Anzahl der Züge, die vorausgedacht waren.
+     *
+     * @return die Anzahl der Treffer.
+     */
+    int getHits() {
+        return hits;
+    }
+
+    /**
+     * Liefert die Anzahl der Züge, die neu berechnet werden mussten.
+     *
+     * @return die Anzahl der Fehlschläge.
+     */
+    int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Das eigentliche Vorausdenken im Hintergrund-Thread. Zuerst bereitet der nächste Spieler sein Wissen
+     * vor und berechnet seine Züge, danach bereiten die übrigen KI-Spieler ihr Wissen vor.
+     * Für die Berechnung der Züge wird der nächste Spieler in der Momentaufnahme zum aktuellen Spieler,
+     * da die Wege um die anderen Spielfiguren herum gesucht werden.
+     *
+     * @param snapshot        die Momentaufnahme der Logik.
+     * @param nextPlayerIndex der Index des als nächstes ziehenden Spielers.
+     */
+    private void ponder(GameLogic snapshot, int nextPlayerIndex) {
+        Player[] players = snapshot.getPlayers();
+        Player next = players[nextPlayerIndex];
+        if (next.isAI() && !cancelled.get()) {
+            next.getAi().ponder(snapshot, next, cancelled::get);
+            //Wurde der Spieler in einen Raum gewünscht, zieht er nicht
+            if (!next.getRequested()) {
+                snapshot.setCurrentPlayerIndex(nextPlayerIndex);
+                for (int dice = 1; dice <= MAX_DICE && !cancelled.get(); dice++) {
+                    moves[dice] = next.getAi().computeNextMove(snapshot, next, dice);
+                    computed[dice] = true;
+                }
+            }
+        }
+        for (int i = 1; i < players.length && !cancelled.get(); i++) {
+            Player player = players[(nextPlayerIndex + i) % players.length];
+            if (player.isAI()) {
+                player.getAi().ponder(snapshot, player, cancelled::get);
+            }
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package logic;
 
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -10,6 +9,19 @@ import java.util.Set;
  * @author Michael Smirnov
  */
 public class Position {
+    //Anzahl der zwischengespeicherten Koordinaten je Achse, deckt jedes Spielfeld bis 64x64 ab
+    private static final int CACHE_SIZE = 64;
+    //Die zwischengespeicherten Positionen, indiziert über y * CACHE_SIZE + x
+    private static final Position[] CACHE = new Position[CACHE_SIZE * CACHE_SIZE];
+
+    static {
+        for (int y = 0; y < CACHE_SIZE; y++) {
+            for (int x = 0; x < CACHE_SIZE; x++) {
+                CACHE[y * CACHE_SIZE + x] = new Position(x, y);
+            }
+        }
+    }
+
     //Die x Koordinate der Position
     private final int x;
     //Die y Koordinate der Position
@@ -26,6 +38,42 @@ public class Position {
         this.y = y;
     }
 
+    /**
+     * Liefert die Position zu den übergebenen Koordinaten. Für Koordinaten innerhalb eines Spielfeldes
+     * wird immer dieselbe Instanz geliefert, sodass keine neuen Objekte erzeugt werden.
+     *
+     * @param x die x Koordinate der Position.
+     * @param y die y Koordinate der Position.
+     * @return die Position.
+     */
+    public static Position of(int x, int y) {
+        if (x >= 0 && x < CACHE_SIZE && y >= 0 && y < CACHE_SIZE) {
+            return CACHE[y * CACHE_SIZE + x];
+        }
+        return new Position(x, y);
+    }
+
+    /**
+     * Liefert die Position zu einer Zellen-Id (zeilenweise, y * Breite + x).
+     *
+     * @param cellId die Zellen-Id.
+     * @param width  die Breite des Spielfeldes.
+     * @return die Position.
+     */
+    public static Position fromCellId(int cellId, int width) {
+        return of(cellId % width, cellId / width);
+    }
+
+    /**
+     * Liefert die Zellen-Id der Position (zeilenweise, y * Breite + x).
+     *
+     * @param width die Breite des Spielfeldes.
+     * @return die Zellen-Id.
+     */
+    public int toCellId(int width) {
+        return y * width + x;
+    }
+
     /**
      * Liefert die x Koordinate der Position
      *
@@ -59,7 +107,7 @@ public class Position {
                 int currPosX = posX + x;
                 int currPosY = posY + y;
                 if (currPosX == this.x && currPosY != this.y || currPosX != this.x && currPosY == this.y) {
-                    res.add(new Position(currPosX, currPosY));
+                    res.add(Position.of(currPosX, currPosY));
                 }
             }
         }
@@ -89,6 +137,6 @@ public class Position {
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return 31 * x + y;
     }
 }
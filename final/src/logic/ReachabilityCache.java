@@ -0,0 +1,186 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Zwischenspeicher für die Erreichbarkeitsberechnungen innerhalb eines Zuges.
+ * Innerhalb eines Zuges werden dieselben erreichbaren Flurfelder und Räume mehrfach benötigt
+ * (Anzeige der möglichen Züge, Prüfung ob ein Zug möglich ist, Prüfung des Klicks, Prüfung aller Räume).
+ * Die Einträge gelten für den aktuellen Spieler und eine Version der Belegung des Spielfeldes
+ * (siehe {@link OccupancyGrid#getVersion()}). Ändert sich einer dieser Werte, werden alle Einträge verworfen.
+ * <p>
+ * Zwischengespeichert werden nur Schrittzahlen bis MAX_CACHED_STEPS, größere werden jedes Mal berechnet.
+ */
+class ReachabilityCache {
+    //Größte zwischengespeicherte Schrittzahl
+    static final int MAX_CACHED_STEPS = 12;
+
+    //Kleinste zwischengespeicherte Schrittzahl (aus einem Raum mit einem Schritt ergeben sich -1 Schritte über den Flur)
+    private static final int MIN_CACHED_STEPS = -1;
+
+    //Zustände eines Raumes
+    private static final byte ROOM_UNKNOWN = 0;
+    private static final byte ROOM_REACHABLE = 1;
+    private static final byte ROOM_NOT_REACHABLE = 2;
+
+    //Index des Spielers, für den die Einträge gelten
+    private int playerIndex = -1;
+    //Version der Belegung, für die die Einträge gelten
+    private long occupancyVersion = -1;
+
+    //Erreichbare Flurfelder je Schrittzahl bei exakter Schrittzahl
+    private final long[][] exactReach;
+    //Erreichbare Flurfelder je Schrittzahl bei maximaler Schrittzahl
+    private final long[][] inexactReach;
+    //Ob die jeweilige Maske gültig ist
+    private final boolean[] exactValid;
+    private final boolean[] inexactValid;
+    //Erreichbarkeit der Räume je Schrittzahl, indiziert über [Schritte][Raumindex]
+    private final byte[][] roomStates;
+
+    //Anzahl der Treffer (für Messungen)
+    private long hits;
+    //Anzahl der Fehlschläge (für Messungen)
+    private long misses;
+
+    /**
+     * Konstruktor.
+     *
+     * @param maskLength die Länge der Bitmasken des Spielfeldes.
+     * @param roomCount  die Anzahl der Räume im Spiel.
+     */
+    ReachabilityCache(int maskLength, int roomCount) {
+        int slots = MAX_CACHED_STEPS - MIN_CACHED_STEPS + 1;
+        this.exactReach = new long[slots][maskLength];
+        this.inexactReach = new long[slots][maskLength];
+        this.exactValid = new boolean[slots];
+        this.inexactValid = new boolean[slots];
+        this.roomStates = new byte[slots][roomCount];
+    }
+
+    /**
+     * Prüft, ob die Einträge noch für den übergebenen Zustand gelten und verwirft sie andernfalls.
+     *
+     * @param currentPlayerIndex der Index des aktuellen Spielers.
+     * @param version            die aktuelle Version der Belegung des Spielfeldes.
+     */
+    void validate(int currentPlayerIndex, long version) {
+        if (currentPlayerIndex != playerIndex || version != occupancyVersion) {
+            playerIndex = currentPlayerIndex;
+            occupancyVersion = version;
+            invalidate();
+        }
+    }
+
+    /**
+     * Verwirft alle Einträge.
+     */
+    void invalidate() {
+        Arrays.fill(exactValid, false);
+        Arrays.fill(inexactValid, false);
+        for (byte[] states : roomStates) {
+            Arrays.fill(states, ROOM_UNKNOWN);
+        }
+    }
+
+    /**
+     * Liefert die zwischengespeicherten erreichbaren Flurfelder.
+     *
+     * @param steps die Schrittzahl.
+     * @param exact ob alle Schritte verbraucht werden müssen.
+     * @return die Maske der erreichbaren Flurfelder oder null, falls nicht vorhanden.
+     */
+    long[] getCorridorReach(int steps, boolean exact) {
+        if (isCached(steps) && (exact ? exactValid : inexactValid)[slot(steps)]) {
+            hits++;
+            return (exact ? exactReach : inexactReach)[slot(steps)];
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Speichert die erreichbaren Flurfelder.
+     *
+     * @param steps die Schrittzahl.
+     * @param exact ob alle Schritte verbraucht werden müssen.
+     * @param reach die Maske der erreichbaren Flurfelder.
+     * @return die gespeicherte Maske, bzw. die übergebene, falls die Schrittzahl nicht zwischengespeichert wird.
+     */
+    long[] putCorridorReach(int steps, boolean exact, long[] reach) {
+        if (!isCached(steps)) {
+            return reach;
+        }
+        long[] target = (exact ? exactReach : inexactReach)[slot(steps)];
+        System.arraycopy(reach, 0, target, 0, target.length);
+        (exact ? exactValid : inexactValid)[slot(steps)] = true;
+        return target;
+    }
+
+    /**
+     * Liefert die zwischengespeicherte Erreichbarkeit eines Raumes.
+     *
+     * @param roomIndex der Index des Raumes.
+     * @param steps     die Schrittzahl.
+     * @return TRUE/FALSE oder null, falls nicht vorhanden.
+     */
+    Boolean getRoomReachable(int roomIndex, int steps) {
+        if (roomIndex >= 0 && isCached(steps) && roomStates[slot(steps)][roomIndex] != ROOM_UNKNOWN) {
+            hits++;
+            return roomStates[slot(steps)][roomIndex] == ROOM_REACHABLE;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Speichert die Erreichbarkeit eines Raumes.
+     *
+     * @param roomIndex der Index des Raumes.
+     * @param steps     die Schrittzahl.
+     * @param reachable ob der Raum erreichbar ist.
+     */
+    void putRoomReachable(int roomIndex, int steps, boolean reachable) {
+        if (roomIndex >= 0 && isCached(steps)) {
+            roomStates[slot(steps)][roomIndex] = reachable ? ROOM_REACHABLE : ROOM_NOT_REACHABLE;
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Treffer.
+     *
+     * @return die Anzahl der Treffer.
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * Liefert die Anzahl der Fehlschläge.
+     *
+     * @return die Anzahl der Fehlschläge.
+     */
+    long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Prüft, ob die Schrittzahl zwischengespeichert wird.
+     *
+     * @param steps die Schrittzahl.
+     * @return ob die Schrittzahl zwischengespeichert wird.
+     */
+    private static boolean isCached(int steps) {
+        return steps >= MIN_CACHED_STEPS && steps <= MAX_CACHED_STEPS;
+    }
+
+    /**
+     * Liefert den Index einer Schrittzahl in den Arrays.
+     *
+     * @param steps die Schrittzahl.
+     * @return der Index.
+     */
+    private static int slot(int steps) {
+        return steps - MIN_CACHED_STEPS;
+    }
+}
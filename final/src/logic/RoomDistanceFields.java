@@ -0,0 +1,130 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Entfernungsfelder der Räume. Ein Feld enthält für jedes Flurfeld die Anzahl der Schritte bis zur nächsten Tür
+ * eines Raumes, ohne Berücksichtigung der Spielfiguren. Es wird über eine Breitensuche berechnet, welche
+ * gleichzeitig bei allen Türen des Raumes beginnt.
+ * <p>
+ * Da eine belegte Tür nicht betreten werden kann, gibt es je Raum ein Feld für jede Kombination freier Türen
+ * (als Bitmaske über die Türen des Raumes). Die Felder werden erst bei Bedarf berechnet und ändern sich danach
+ * nicht mehr, sodass sie je Spielfeldaufbau von allen Spiellogiken der JVM gemeinsam genutzt werden.
+ */
+final class RoomDistanceFields {
+    //Entfernung von nicht verbundenen Flurfeldern
+    static final short UNREACHABLE = -1;
+
+    //Maximale Anzahl an Türen eines Raumes, für welche Felder berechnet werden
+    static final int MAX_DOORS = 8;
+
+    //Bereits angelegte Entfernungsfelder je Spielfeldaufbau und Türen
+    private static final Map<String, RoomDistanceFields> FIELDS = new ConcurrentHashMap<>();
+
+    //Der Nachbarschaftsgraph des Spielfeldes
+    private final BoardGraph graph;
+    //Flur-Ids der Türen je Raum (NO_CORRIDOR, falls eine Tür nicht auf dem Flur liegt)
+    private final int[][] doorIds;
+    //Berechnete Felder je Raum, indiziert über die Bitmaske der freien Türen
+    private final List<AtomicReferenceArray<short[]>> fields;
+
+    /**
+     * Konstruktor.
+     *
+     * @param graph der Nachbarschaftsgraph des Spielfeldes.
+     * @param rooms die Räume des Spielfeldes.
+     */
+    private RoomDistanceFields(BoardGraph graph, Room[] rooms) {
+        this.graph = graph;
+        this.doorIds = new int[rooms.length][];
+        this.fields = new ArrayList<>(rooms.length);
+        for (int i = 0; i < rooms.length; i++) {
+            Position[] doors = rooms[i].getDoors() == null ? new Position[0] : rooms[i].getDoors();
+            doorIds[i] = new int[doors.length];
+            for (int d = 0; d < doors.length; d++) {
+                doorIds[i][d] = graph.idAt(doors[d]);
+            }
+            fields.add(new AtomicReferenceArray<>(doors.length <= MAX_DOORS ? 1 << doors.length : 0));
+        }
+    }
+
+    /**
+     * Liefert die Entfernungsfelder für den Spielfeldaufbau und die Türen der übergebenen Räume.
+     *
+     * @param graph der Nachbarschaftsgraph des Spielfeldes.
+     * @param rooms die Räume des Spielfeldes.
+     * @return die Entfernungsfelder.
+     */
+    static RoomDistanceFields forBoard(BoardGraph graph, Room[] rooms) {
+        StringBuilder key = new StringBuilder(graph.getLayoutKey());
+        for (Room room : rooms) {
+            key.append('|').append(room.getName());
+            if (room.getDoors() != null) {
+                for (Position door : room.getDoors()) {
+                    key.append(';').append(door.getX()).append(',').append(door.getY());
+                }
+            }
+        }
+        return FIELDS.computeIfAbsent(key.toString(), k -> new RoomDistanceFields(graph, rooms));
+    }
+
+    /**
+     * Liefert das Entfernungsfeld eines Raumes für die übergebenen freien Türen.
+     *
+     * @param roomIndex    der Index des Raumes.
+     * @param openDoorMask die freien Türen als Bitmaske über die Türen des Raumes.
+     * @return die Entfernung je Flur-Id oder null, falls der Raum zu viele Türen hat.
+     */
+    short[] getField(int roomIndex, int openDoorMask) {
+        AtomicReferenceArray<short[]> roomFields = fields.get(roomIndex);
+        if (openDoorMask >= roomFields.length()) {
+            return null;
+        }
+        short[] field = roomFields.get(openDoorMask);
+        if (field == null) {
+            field = computeField(doorIds[roomIndex], openDoorMask);
+            if (!roomFields.compareAndSet(openDoorMask, null, field)) {
+                field = roomFields.get(openDoorMask);
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Berechnet ein Entfernungsfeld über eine Breitensuche ausgehend von allen freien Türen.
+     *
+     * @param doors        die Flur-Ids der Türen des Raumes.
+     * @param openDoorMask die freien Türen als Bitmaske.
+     * @return die Entfernung je Flur-Id.
+     */
+    private short[] computeField(int[] doors, int openDoorMask) {
+        short[] field = new short[graph.getCorridorCount()];
+        Arrays.fill(field, UNREACHABLE);
+        int[] queue = new int[field.length];
+        int head = 0;
+        int tail = 0;
+        for (int d = 0; d < doors.length; d++) {
+            if ((openDoorMask & (1 << d)) != 0 && doors[d] != BoardGraph.NO_CORRIDOR && field[doors[d]] == UNREACHABLE) {
+                field[doors[d]] = 0;
+                queue[tail++] = doors[d];
+            }
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            short nextDistance = (short) (field[current] + 1);
+            for (int n = graph.neighbourStart(current); n < graph.neighbourEnd(current); n++) {
+                int next = graph.neighbourAt(n);
+                if (field[next] == UNREACHABLE) {
+                    field[next] = nextDistance;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return field;
+    }
+}
@@ -0,0 +1,192 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Gewichteter Graph der Wege zwischen den Räumen. Knoten sind die Räume (Index wie im Array der Räume) und
+ * die Startfelder der Personen (im Anschluss an die Räume). Jede Kante speichert die Anzahl der Schritte
+ * über den Flur (ohne Berücksichtigung der Spielfiguren) und die erwartete Anzahl an Zügen, um mit dem
+ * Würfel (1 bis 6) diese Schritte zurückzulegen.
+ * <p>
+ * Ein Weg zwischen zwei Räumen besteht aus dem Schritt aus dem Raum auf eine Tür, den Schritten über den Flur
+ * und dem Schritt in den Zielraum. Ein Geheimgang kostet keine Schritte, verbraucht aber einen Zug: seine Kante
+ * zählt mit einem erwarteten Zug und nicht kostenlos, da die Figur nach dem Durchqueren im Zielraum stehen bleibt.
+ * <p>
+ * Die Instanzen sind unveränderlich.
+ */
+final class RoomGraph {
+    //Entfernung zwischen nicht verbundenen Knoten
+    static final int UNREACHABLE = -1;
+
+    //Anzahl der Augen des Würfels
+    private static final int DICE_SIDES = 6;
+
+    //Anzahl der Räume
+    private final int roomCount;
+    //Anzahl der Knoten (Räume und Startfelder)
+    private final int nodeCount;
+    //Schritte je Kante, indiziert über von * Knotenanzahl + nach
+    private final int[] distances;
+    //Erwartete Züge je Kante, gleich indiziert
+    private final double[] expectedTurns;
+    //Ob eine Kante ein Geheimgang ist, gleich indiziert
+    private final boolean[] secretPassages;
+
+    /**
+     * Berechnet den Graphen.
+     *
+     * @param rooms          die Räume des Spielfeldes.
+     * @param startPositions die Startfelder der Personen.
+     * @param graph          der Nachbarschaftsgraph des Spielfeldes.
+     * @param distanceOracle die Entfernungen zwischen allen Flurfeldern.
+     */
+    RoomGraph(Room[] rooms, Position[] startPositions, BoardGraph graph, DistanceOracle distanceOracle) {
+        this.roomCount = rooms.length;
+        this.nodeCount = rooms.length + startPositions.length;
+        this.distances = new int[nodeCount * nodeCount];
+        this.expectedTurns = new double[nodeCount * nodeCount];
+        this.secretPassages = new boolean[nodeCount * nodeCount];
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(expectedTurns, Double.POSITIVE_INFINITY);
+
+        //Flur-Ids der Türen je Raum bzw. des Startfeldes je Startknoten
+        int[][] corridorIds = new int[nodeCount][];
+        for (int i = 0; i < roomCount; i++) {
+            Position[] doors = rooms[i].getDoors() == null ? new Position[0] : rooms[i].getDoors();
+            corridorIds[i] = new int[doors.length];
+            for (int d = 0; d < doors.length; d++) {
+                corridorIds[i][d] = graph.idAt(doors[d]);
+            }
+        }
+        for (int i = 0; i < startPositions.length; i++) {
+            corridorIds[roomCount + i] = new int[]{graph.idAt(startPositions[i])};
+        }
+
+        //Kanten über den Flur: aus dem Raum heraus (1 Schritt), Flur, in den Zielraum hinein (1 Schritt)
+        int maxDistance = 0;
+        for (int from = 0; from < nodeCount; from++) {
+            int leaveCost = from < roomCount ? 1 : 0;
+            for (int to = 0; to < roomCount; to++) {
+                if (from != to) {
+                    int best = Integer.MAX_VALUE;
+                    for (int fromId : corridorIds[from]) {
+                        for (int toId : corridorIds[to]) {
+                            if (fromId != BoardGraph.NO_CORRIDOR && toId != BoardGraph.NO_CORRIDOR) {
+                                int distance = distanceOracle.distance(fromId, toId);
+                                if (distance != DistanceOracle.UNREACHABLE) {
+                                    best = Math.min(best, distance);
+                                }
+                            }
+                        }
+                    }
+                    if (best != Integer.MAX_VALUE) {
+                        distances[from * nodeCount + to] = leaveCost + best + 1;
+                        maxDistance = Math.max(maxDistance, leaveCost + best + 1);
+                    }
+                }
+            }
+        }
+        double[] expectedTurnsByDistance = computeExpectedTurns(maxDistance);
+        for (int edge = 0; edge < distances.length; edge++) {
+            if (distances[edge] != UNREACHABLE) {
+                expectedTurns[edge] = expectedTurnsByDistance[distances[edge]];
+            }
+        }
+
+        //Geheimgänge
+        for (int from = 0; from < roomCount; from++) {
+            Room dest = rooms[from].getSecretCorridor();
+            for (int to = 0; to < roomCount && dest != null; to++) {
+                if (rooms[to] == dest) {
+                    distances[from * nodeCount + to] = 0;
+                    expectedTurns[from * nodeCount + to] = 1;
+                    secretPassages[from * nodeCount + to] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Berechnet über dynamische Programmierung die erwartete Anzahl an Zügen, um eine Schrittzahl
+     * zurückzulegen. Ist die gewürfelte Zahl mindestens so groß wie die verbleibenden Schritte, ist das Ziel
+     * erreicht, andernfalls verringern sich die verbleibenden Schritte um die gewürfelte Zahl:
+     * E(0) = 0, E(d) = 1 + 1/6 * Summe von E(d - k) für k = 1 bis min(6, d - 1).
+     *
+     * @param maxDistance die größte benötigte Schrittzahl.
+     * @return die erwarteten Züge je Schrittzahl.
+     */
+    private static double[] computeExpectedTurns(int maxDistance) {
+        double[] turns = new double[maxDistance + 1];
+        for (int distance = 1; distance <= maxDistance; distance++) {
+            double sum = 0;
+            for (int dice = 1; dice < distance && dice <= DICE_SIDES; dice++) {
+                sum += turns[distance - dice];
+            }
+            turns[distance] = 1 + sum / DICE_SIDES;
+        }
+        return turns;
+    }
+
+    /**
+     * Liefert die Anzahl der Schritte zwischen zwei Knoten.
+     *
+     * @param from der Startknoten.
+     * @param to   der Zielraum.
+     * @return die Anzahl der Schritte oder UNREACHABLE.
+     */
+    int getDistance(int from, int to) {
+        return distances[from * nodeCount + to];
+    }
+
+    /**
+     * Liefert die erwartete Anzahl an Zügen zwischen zwei Knoten.
+     *
+     * @param from der Startknoten.
+     * @param to   der Zielraum.
+     * @return die erwartete Anzahl an Zügen, unendlich falls nicht erreichbar.
+     */
+    double getExpectedTurns(int from, int to) {
+        return expectedTurns[from * nodeCount + to];
+    }
+
+    /**
+     * Prüft, ob zwei Räume über einen Geheimgang verbunden sind.
+     *
+     * @param from der Startraum.
+     * @param to   der Zielraum.
+     * @return ob ein Geheimgang von from nach to führt.
+     */
+    boolean isSecretPassage(int from, int to) {
+        return from >= 0 && to >= 0 && secretPassages[from * nodeCount + to];
+    }
+
+    /**
+     * Liefert den Startknoten eines Startfeldes.
+     *
+     * @param startIndex der Index des Startfeldes.
+     * @return der Knoten.
+     */
+    int getStartNode(int startIndex) {
+        return roomCount + startIndex;
+    }
+
+    /**
+     * Liefert den Raum mit den wenigsten erwarteten Zügen ausgehend von dem übergebenen Knoten.
+     * Bei gleicher Erwartung entscheidet die geringere Schrittzahl, danach die Reihenfolge der Räume.
+     *
+     * @param from       der Startknoten.
+     * @param candidates welche Räume in Frage kommen (indiziert wie die Räume).
+     * @return der Index des Raumes oder -1, falls keiner erreichbar ist.
+     */
+    int findClosestRoom(int from, boolean[] candidates) {
+        int best = -1;
+        for (int to = 0; to < roomCount; to++) {
+            if (candidates[to] && to != from && getDistance(from, to) != UNREACHABLE
+                    && (best == -1 || getExpectedTurns(from, to) < getExpectedTurns(from, best)
+                    || getExpectedTurns(from, to) == getExpectedTurns(from, best) && getDistance(from, to) < getDistance(from, best))) {
+                best = to;
+            }
+        }
+        return best;
+    }
+}
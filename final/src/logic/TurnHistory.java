@@ -0,0 +1,104 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Die Spielhistorie der schlauen KI: je Zug die Verdächtigung als {@link PackedCardTriple} (Indizes wie in den
+ * Notizen), sodass ein Zug unabhängig von den Objekten des Spiels immer denselben Speicher belegt.
+ * <p>
+ * Je Spieler werden die Züge geführt, in denen er eine Karte gezeigt hat. Nur aus diesen Zügen lässt sich etwas
+ * über seine Hand schließen, sie können ohne Durchlaufen der gesamten Historie abgefragt werden
+ * (siehe {@link AISmart#describeDeal(GameLogic, Player, DealConstraints)}).
+ */
+final class TurnHistory {
+    //Anfängliche Anzahl der Züge, für die Platz reserviert wird
+    private static final int INITIAL_CAPACITY = 16;
+
+    //Die gepackte Verdächtigung je Zug
+    private long[] suspicions = new long[INITIAL_CAPACITY];
+    //Anzahl der Züge
+    private int size;
+
+    //Die Züge, in denen der Spieler eine Karte gezeigt hat, [Spielerindex][i]
+    private final int[][] shownByPlayer;
+    //Anzahl der Züge, in denen der Spieler eine Karte gezeigt hat, je Spielerindex
+    private final int[] shownByPlayerCounts;
+
+    /**
+     * Konstruktor.
+     *
+     * @param playerCount die Anzahl der Spielerindizes, höchstens 64.
+     */
+    TurnHistory(int playerCount) {
+        assert playerCount <= Long.SIZE;
+        this.shownByPlayer = new int[playerCount][];
+        this.shownByPlayerCounts = new int[playerCount];
+    }
+
+    /**
+     * Hängt einen Zug an die Historie an.
+     *
+     * @param suspicion die gepackte Verdächtigung.
+     * @param shown     die Spieler, die eine Karte gezeigt haben, als Bitmaske über die Spielerindizes.
+     * @return der Index des Zuges.
+     */
+    int add(long suspicion, long shown) {
+        if (size == suspicions.length) {
+            suspicions = Arrays.copyOf(suspicions, size * 2);
+        }
+        int turn = size++;
+        suspicions[turn] = suspicion;
+        for (long players = shown; players != 0; players &= players - 1) {
+            int player = Long.numberOfTrailingZeros(players);
+            int[] turns = shownByPlayer[player];
+            if (turns == null) {
+                turns = shownByPlayer[player] = new int[4];
+            } else if (shownByPlayerCounts[player] == turns.length) {
+                turns = shownByPlayer[player] = Arrays.copyOf(turns, turns.length * 2);
+            }
+            turns[shownByPlayerCounts[player]++] = turn;
+        }
+        return turn;
+    }
+
+    /**
+     * Liefert die Anzahl der Züge.
+     *
+     * @return die Anzahl der Züge.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Liefert die gepackte Verdächtigung.
+     *
+     * @param turn der Index des Zuges.
+     * @return die Verdächtigung, siehe {@link PackedCardTriple}.
+     */
+    long getSuspicion(int turn) {
+        return suspicions[turn];
+    }
+
+    /**
+     * Liefert die Anzahl der Züge, in denen der Spieler eine Karte gezeigt hat.
+     *
+     * @param player der Index des Spielers.
+     * @return die Anzahl der Züge.
+     */
+    int countShownBy(int player) {
+        return shownByPlayerCounts[player];
+    }
+
+    /**
+     * Liefert einen der Züge, in denen der Spieler eine Karte gezeigt hat, in der Reihenfolge des Spiels.
+     *
+     * @param player der Index des Spielers.
+     * @param i      die Nummer des Zuges, kleiner als {@link #countShownBy(int)}.
+     * @return der Index des Zuges.
+     */
+    int getShownByTurn(int player, int i) {
+        assert i < shownByPlayerCounts[player];
+        return shownByPlayer[player][i];
+    }
+}
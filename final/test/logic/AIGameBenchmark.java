@@ -0,0 +1,185 @@
+package logic;
+
+import gui.JavaFXGUI;
+import logic.exceptions.CluedoException;
+import logic.json.InitialGameDataJSON;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Messung der Laufzeit und des Speicherbedarfs (allokierte Bytes) von Spielen, in denen nur KI-Spieler mitspielen.
+ * Kein JUnit-Test, wird über die main-Methode gestartet.
+ * <p>
+ * Da reine KI-Spiele nicht immer enden, wird jedes Spiel nach einer festen Anzahl an Zügen abgebrochen.
+ * <p>
+ * Gezählt werden die Bytes aller Threads der JVM, da die KIs auch im gemeinsamen ForkJoinPool und im
+ * Hintergrund-Thread des Vorausdenkens rechnen. Die Threads werden nach jedem Spiel abgefragt, sodass auch
+ * inzwischen beendete Threads bis zu diesem Zeitpunkt mitgezählt werden.
+ * <p>
+ * Parameter: [Anzahl Spiele] [Anzahl Aufwärmspiele] [KI-Stärken, z.B. STUPID,NORMAL,SMART]
+ * <p>
+ * Standardmäßig spielen nur die dumme, normale und schlaue KI, damit die Ergebnisse mit früheren Messungen
+ * vergleichbar bleiben. Neue KI-Stärken werden über den dritten Parameter hinzugenommen.
+ */
+public class AIGameBenchmark {
+
+    //Anzahl der Spieler je Spiel
+    private static final int PLAYER_COUNT = 6;
+
+    //Maximale Anzahl an Zügen je Spiel, reine KI-Spiele finden nicht immer eine Lösung
+    private static final int MAX_TURNS_PER_GAME = 300;
+
+    //Standardmäßige KI-Stärken, welche reihum verteilt werden
+    private static final String DEFAULT_DIFFICULTIES = "STUPID,NORMAL,SMART";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    //Zuletzt abgefragte allokierte Bytes je Thread-ID
+    private static final Map<Long, Long> ALLOCATED_BYTES = new HashMap<>();
+
+    /**
+     * Wird geworfen, um ein Spiel nach der maximalen Anzahl an Zügen abzubrechen.
+     */
+    private static class TurnLimitReached extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * GUI, welche nur die Anzahl der Züge und den Ausgang der Spiele zählt.
+     */
+    private static class CountingGUI extends FakeGUI {
+        //Anzahl der Züge (jeder Zug beginnt mit einem Würfelwurf)
+        private long turns;
+        //Anzahl der Züge im aktuellen Spiel
+        private int turnsInGame;
+        //Anzahl der beendeten Spiele
+        private long finishedGames;
+        //Anzahl der nach MAX_TURNS_PER_GAME abgebrochenen Spiele
+        private long abortedGames;
+        //Längste Entscheidung (Zug oder Verdächtigung) je KI-Stärke in Nanosekunden
+        private final long[] maxDecisionNanos = new long[AIDifficulty.values().length];
+        //Anzahl der überschrittenen Fristen je KI-Stärke
+        private final long[] overruns = new long[AIDifficulty.values().length];
+        //Anzahl der Rückfälle auf die einfachere Entscheidung je KI-Stärke
+        private final long[] fallbacks = new long[AIDifficulty.values().length];
+
+        @Override
+        public void updateDice(int dice) {
+            if (turnsInGame == MAX_TURNS_PER_GAME) {
+                throw new TurnLimitReached();
+            }
+            turns++;
+            turnsInGame++;
+        }
+
+        @Override
+        public void handleGameWon(CardTriple solution, Player winner) {
+            finishedGames++;
+        }
+
+        @Override
+        public void handleGameLost(CardTriple wrongSolution, CardTriple solution, Player loser) {
+            finishedGames++;
+        }
+    }
+
+    public static void main(String[] args) throws CluedoException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        String[] names = (args.length > 2 ? args[2] : DEFAULT_DIFFICULTIES).split(",");
+        AIDifficulty[] mix = new AIDifficulty[names.length];
+        for (int i = 0; i < names.length; i++) {
+            mix[i] = AIDifficulty.valueOf(names[i].trim());
+        }
+        InitialGameDataJSON initialGameDataJSON = JavaFXGUI.loadInitialGameData("/logic/config/InitialGameDataCluedo.json");
+
+        runGames(initialGameDataJSON, warmup, mix, new CountingGUI());
+
+        CountingGUI gui = new CountingGUI();
+        long bytesBefore = sampleAllocatedBytes();
+        long timeBefore = System.nanoTime();
+        int failedGames = runGames(initialGameDataJSON, games, mix, gui);
+        long time = System.nanoTime() - timeBefore;
+        long bytes = sampleAllocatedBytes() - bytesBefore;
+
+        System.out.println("KI-Stärken:        " + String.join(",", names));
+        System.out.println("Spiele:            " + games + " (beendet: " + gui.finishedGames + ", abgebrochen: " + gui.abortedGames + ", fehlerhaft: " + failedGames + ")");
+        System.out.println("Züge:              " + gui.turns);
+        System.out.printf("Zeit je Spiel:     %.3f ms%n", time / 1e6 / games);
+        System.out.printf("Bytes je Spiel:    %.0f%n", (double) bytes / games);
+        System.out.printf("Bytes je Zug:      %.0f%n", (double) bytes / gui.turns);
+        System.out.printf("Allokationsrate:   %.1f MB/s%n", bytes / 1e6 / (time / 1e9));
+        for (AIDifficulty difficulty : AIDifficulty.values()) {
+            int i = difficulty.ordinal();
+            System.out.printf("%-18s längste Entscheidung %.1f ms, Überschreitungen %d, Rückfälle %d%n",
+                    difficulty + ":", gui.maxDecisionNanos[i] / 1e6, gui.overruns[i], gui.fallbacks[i]);
+        }
+    }
+
+    /**
+     * Spielt die übergebene Anzahl an Spielen, in denen alle Spieler KI-Spieler sind.
+     * Die Schwierigkeiten der Spieler wechseln reihum.
+     *
+     * @param initialGameDataJSON die initiale Spieldatei.
+     * @param games               die Anzahl der Spiele.
+     * @param mix                 die KI-Stärken, welche reihum verteilt werden.
+     * @param gui                 die GUI für die Spiele.
+     * @return die Anzahl der Spiele, welche mit einem Fehler der Spiellogik abgebrochen sind.
+     * Laufzeitfehler (z.B. Indexfehler) brechen die Messung ab.
+     */
+    private static int runGames(InitialGameDataJSON initialGameDataJSON, int games, AIDifficulty[] mix, CountingGUI gui) {
+        int failedGames = 0;
+        for (int game = 0; game < games; game++) {
+            AIDifficulty[] difficulties = new AIDifficulty[PLAYER_COUNT];
+            for (int i = 0; i < PLAYER_COUNT; i++) {
+                difficulties[i] = mix[(game + i) % mix.length];
+            }
+            GameLogic logic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, PLAYER_COUNT, difficulties);
+            gui.turnsInGame = 0;
+            try {
+                logic.runAIGame(gui);
+            } catch (TurnLimitReached e) {
+                gui.abortedGames++;
+            } catch (CluedoException e) {
+                if (failedGames == 0) {
+                    e.printStackTrace();
+                }
+                failedGames++;
+            }
+            for (Player player : logic.getPlayers()) {
+                int i = player.getAi().getDifficulty().ordinal();
+                for (DecisionTimings timings : new DecisionTimings[]{player.getAi().getMoveTimings(), player.getAi().getSuspicionTimings()}) {
+                    gui.maxDecisionNanos[i] = Math.max(gui.maxDecisionNanos[i], timings.getMaxNanos());
+                    gui.overruns[i] += timings.getOverrunCount();
+                    gui.fallbacks[i] += timings.getFallbackCount();
+                }
+            }
+            sampleAllocatedBytes();
+        }
+        return failedGames;
+    }
+
+    /**
+     * Fragt die allokierten Bytes aller lebenden Threads ab und liefert die Summe über alle bisher
+     * abgefragten Threads. Für beendete Threads zählt der Wert der letzten Abfrage.
+     *
+     * @return die Summe der allokierten Bytes.
+     */
+    private static long sampleAllocatedBytes() {
+        long[] threadIds = THREAD_MX_BEAN.getAllThreadIds();
+        long[] allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadIds);
+        for (int i = 0; i < threadIds.length; i++) {
+            //-1, falls der Thread inzwischen beendet ist
+            if (allocated[i] >= 0) {
+                ALLOCATED_BYTES.put(threadIds[i], allocated[i]);
+            }
+        }
+        long sum = 0;
+        for (long bytes : ALLOCATED_BYTES.values()) {
+            sum += bytes;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,78 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Testklasse für das Wissen der Spieler als Bitmasken
+ */
+public class CardKnowledgeTest {
+
+    @Test
+    public void openCards_SameAsNotes_RandomNotes() {
+        Random random = new Random(99);
+        Card[] allCards = new Card[70];
+        for (int i = 0; i < allCards.length; i++) {
+            allCards[i] = new Card("Karte " + i, CardType.values()[i % 3]);
+        }
+        for (int round = 0; round < 200; round++) {
+            NoteOthers[][] notes = new NoteOthers[3][allCards.length];
+            NotesMatrix matrix = new NotesMatrix(notes.length, allCards.length);
+            for (int column = 0; column < notes.length; column++) {
+                for (int card = 0; card < allCards.length; card++) {
+                    notes[column][card] = NoteOthers.values()[random.nextInt(NoteOthers.values().length)];
+                    matrix.setOthers(column, card, notes[column][card]);
+                }
+            }
+            List<Card> hand = new ArrayList<>();
+            for (Card card : allCards) {
+                if (random.nextInt(5) == 0) {
+                    hand.add(card);
+                }
+            }
+            CardKnowledge knowledge = CardKnowledge.fromNotes(matrix);
+            knowledge.setHand(allCards, hand);
+            //Einige Notizen nachträglich ändern
+            for (int i = 0; i < 20; i++) {
+                int column = random.nextInt(notes.length);
+                int card = random.nextInt(allCards.length);
+                notes[column][card] = NoteOthers.values()[random.nextInt(NoteOthers.values().length)];
+                knowledge.setNote(column, card, notes[column][card]);
+            }
+
+            long[] open = knowledge.newMask();
+            int count = 0;
+            for (int card = 0; card < allCards.length; card++) {
+                boolean seen = hand.contains(allCards[card]);
+                for (int column = 0; column < notes.length; column++) {
+                    seen |= notes[column][card] == NoteOthers.SEEN;
+                    Assert.assertEquals(notes[column][card] == NoteOthers.SEEN, knowledge.has(column, card));
+                    Assert.assertEquals(notes[column][card] == NoteOthers.HAS_NOT, knowledge.hasNot(column, card));
+                }
+                if (allCards[card].isWeapon() && !seen) {
+                    open[card / Long.SIZE] |= 1L << card;
+                    count++;
+                }
+            }
+            //Die nachgeführten offenen Karten stimmen mit der Berechnung überein
+            Assert.assertEquals(count, knowledge.openCount(CardType.WEAPON));
+            Assert.assertArrayEquals(open, knowledge.openMask(CardType.WEAPON));
+            Set<Card> openView = knowledge.openView(CardType.WEAPON, allCards);
+            Assert.assertEquals(count, openView.size());
+            int previous = -1;
+            for (Card card : openView) {
+                int index = Arrays.asList(allCards).indexOf(card);
+                Assert.assertTrue(index > previous);
+                Assert.assertTrue((open[index / Long.SIZE] & 1L << index) != 0);
+                previous = index;
+            }
+            Assert.assertEquals(count == 0 ? -1 : previous, knowledge.lastOpen(CardType.WEAPON));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Testklasse für das Ziehen von Kartenverteilungen der Monte-Carlo-KI
+ */
+public class DealSamplerTest {
+
+    //Je drei Karten eines Typs: 0-2 Personen, 3-5 Waffen, 6-8 Räume
+    private static final int CARDS = 9;
+    private static final int PLAYERS = 3;
+    private static final long[] TYPE_MASKS = new long[CardType.values().length];
+
+    static {
+        TYPE_MASKS[CardType.CHARACTER.ordinal()] = 0b000000111L;
+        TYPE_MASKS[CardType.WEAPON.ordinal()] = 0b000111000L;
+        TYPE_MASKS[CardType.ROOM.ordinal()] = 0b111000000L;
+    }
+
+    @Test
+    public void sample_CloseToExactProbabilities_WithConstraints() {
+        long[] has = {0b000000001L, 0L, 0b010000000L};
+        long[] hasNot = {0L, 0b000001000L, 0b000000010L};
+        ExpertSolver solver = new ExpertSolver(PLAYERS, CARDS, TYPE_MASKS);
+        DealSampler sampler = new DealSampler(PLAYERS, CARDS, TYPE_MASKS);
+        for (int p = 0; p < PLAYERS; p++) {
+            solver.setPlayer(p, has[p], hasNot[p], 2);
+            sampler.setPlayer(p, has[p], hasNot[p], 2);
+        }
+        solver.addShownConstraint(1, 0b100010010L);
+        sampler.addShownConstraint(1, 0b100010010L);
+
+        ExpertSolver.Solution solution = solver.solve(ForkJoinPool.commonPool(), Long.MAX_VALUE, () -> false);
+        DealSampler.Samples samples = sampler.sample(ForkJoinPool.commonPool(), Long.MAX_VALUE, 1 << 15,
+                new SplittableRandom(42));
+        Assert.assertEquals(1 << 15, samples.getCount());
+        for (int card = 0; card < CARDS; card++) {
+            Assert.assertEquals("Karte " + card, solution.getEnvelopeProbability(card),
+                    samples.getEnvelopeProbability(card), 0.02);
+        }
+    }
+
+    @Test
+    public void informationGains_HigherGain_UnknownCards() {
+        //Spieler 0 hat Person 0 und Waffe 3, die Lösung ist noch völlig offen
+        DealSampler sampler = new DealSampler(PLAYERS, CARDS, TYPE_MASKS);
+        sampler.setPlayer(0, 0b000001001L, 0b111110110L, 2);
+        sampler.setPlayer(1, 0L, 0b000001001L, 2);
+        sampler.setPlayer(2, 0L, 0b000001001L, 2);
+        DealSampler.Samples samples = sampler.sample(ForkJoinPool.commonPool(), Long.MAX_VALUE, 1 << 12,
+                new SplittableRandom(7));
+
+        int[][] suspicions = {{0, 3, 6}, {1, 4, 6}};
+        double[] gains = samples.informationGains(ForkJoinPool.commonPool(), Long.MAX_VALUE, 0, suspicions);
+        //Nach eigenen Karten gefragt, verrät nur noch der Raum etwas
+        Assert.assertTrue(gains[0] > 0);
+        Assert.assertTrue(gains[1] > gains[0]);
+        Assert.assertTrue(gains[1] <= Math.log(27) / Math.log(2) + 1e-9);
+    }
+}
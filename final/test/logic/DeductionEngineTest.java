@@ -0,0 +1,118 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testklasse für die Wissensbasis der schlauen KI
+ */
+public class DeductionEngineTest {
+
+    private static final int PLAYERS = 4;
+    private static final int CARDS = 21;
+
+    @Test
+    public void propagate_SameAsFullReplay_RandomDeals() {
+        Random random = new Random(4711);
+        for (int game = 0; game < 500; game++) {
+            //Zufällige Verteilung, -1 für die Karten der Lösung
+            int[] owner = new int[CARDS];
+            for (int card = 0; card < CARDS; card++) {
+                owner[card] = card < 3 ? -1 : random.nextInt(PLAYERS);
+            }
+            DeductionEngine engine = new DeductionEngine(PLAYERS, CARDS);
+            byte[][] facts = new byte[PLAYERS][CARDS];
+            List<int[]> constraints = new ArrayList<>();
+            for (int turn = 0; turn < 30; turn++) {
+                if (random.nextBoolean()) {
+                    //Eine bekannte Tatsache
+                    int player = random.nextInt(PLAYERS);
+                    int card = random.nextInt(CARDS);
+                    byte state = owner[card] == player ? DeductionEngine.HAS : DeductionEngine.HAS_NOT;
+                    facts[player][card] = state;
+                    engine.learn(player, card, state);
+                } else {
+                    //Ein Spieler zeigt eine von drei Karten, von denen er mindestens eine hat
+                    int player = random.nextInt(PLAYERS);
+                    int[] triple = {random.nextInt(CARDS), random.nextInt(CARDS), random.nextInt(CARDS)};
+                    if (triple[0] != triple[1] && triple[0] != triple[2] && triple[1] != triple[2]
+                            && (owner[triple[0]] == player || owner[triple[1]] == player || owner[triple[2]] == player)) {
+                        constraints.add(new int[]{player, triple[0], triple[1], triple[2]});
+                        engine.addShownConstraint(player, triple[0], triple[1], triple[2]);
+                    }
+                }
+                if (random.nextInt(3) == 0) {
+                    engine.propagate();
+                    byte[][] expected = replay(facts, constraints);
+                    for (int player = 0; player < PLAYERS; player++) {
+                        for (int card = 0; card < CARDS; card++) {
+                            Assert.assertEquals("Spiel " + game + ", Spieler " + player + ", Karte " + card,
+                                    expected[player][card], engine.get(player, card));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void pollChanged_OnlyDeductions_TwoOfThreeExcluded() {
+        DeductionEngine engine = new DeductionEngine(2, 3);
+        engine.addShownConstraint(0, 0, 1, 2);
+        engine.learn(0, 0, DeductionEngine.HAS_NOT);
+        engine.learn(1, 1, DeductionEngine.HAS);
+        engine.propagate();
+        Assert.assertEquals(DeductionEngine.HAS, engine.get(0, 2));
+        Assert.assertEquals(DeductionEngine.HAS_NOT, engine.get(1, 2));
+        //Gefolgert wurden (0, 1), (0, 2) und (1, 2)
+        Assert.assertEquals(3, engine.pollChanged());
+        Assert.assertEquals(0, engine.pollChanged());
+    }
+
+    /**
+     * Zieht alle Folgerungen, indem beide Regeln so lange auf alle Zellen und Bedingungen angewandt werden,
+     * bis sich nichts mehr ändert.
+     */
+    private static byte[][] replay(byte[][] facts, List<int[]> constraints) {
+        byte[][] states = new byte[PLAYERS][];
+        for (int player = 0; player < PLAYERS; player++) {
+            states[player] = facts[player].clone();
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int card = 0; card < CARDS; card++) {
+                for (int player = 0; player < PLAYERS; player++) {
+                    if (states[player][card] == DeductionEngine.HAS) {
+                        for (int other = 0; other < PLAYERS; other++) {
+                            if (other != player && states[other][card] != DeductionEngine.HAS_NOT) {
+                                states[other][card] = DeductionEngine.HAS_NOT;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+            for (int[] constraint : constraints) {
+                int excluded = 0;
+                int remaining = -1;
+                for (int i = 1; i <= 3; i++) {
+                    if (states[constraint[0]][constraint[i]] == DeductionEngine.HAS_NOT) {
+                        excluded++;
+                    } else {
+                        remaining = constraint[i];
+                    }
+                }
+                if (excluded == 2 && states[constraint[0]][remaining] != DeductionEngine.HAS) {
+                    states[constraint[0]][remaining] = DeductionEngine.HAS;
+                    changed = true;
+                }
+            }
+        }
+        return states;
+    }
+}
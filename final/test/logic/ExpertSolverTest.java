@@ -0,0 +1,187 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Testklasse für die Zählung der Kartenverteilungen der Experten-KI
+ */
+public class ExpertSolverTest {
+
+    //Je drei Karten eines Typs: 0-2 Personen, 3-5 Waffen, 6-8 Räume
+    private static final int CARDS = 9;
+    private static final int PLAYERS = 3;
+    private static final long[] TYPE_MASKS = new long[CardType.values().length];
+
+    static {
+        TYPE_MASKS[CardType.CHARACTER.ordinal()] = 0b000000111L;
+        TYPE_MASKS[CardType.WEAPON.ordinal()] = 0b000111000L;
+        TYPE_MASKS[CardType.ROOM.ordinal()] = 0b111000000L;
+    }
+
+    @Test
+    public void solve_SameAsBruteForce_RandomKnowledge() {
+        Random random = new Random(1234);
+        int checked = 0;
+        for (int round = 0; round < 100; round++) {
+            //Zufällige tatsächliche Verteilung: Lösung (-1) und je zwei Karten je Spieler
+            int[] owner = randomDeal(random);
+            int[] handSizes = {2, 2, 2};
+            long[] has = new long[PLAYERS];
+            long[] hasNot = new long[PLAYERS];
+            for (int card = 0; card < CARDS; card++) {
+                for (int p = 0; p < PLAYERS; p++) {
+                    if (random.nextInt(6) == 0) {
+                        if (owner[card] == p) {
+                            has[p] |= 1L << card;
+                        } else {
+                            hasNot[p] |= 1L << card;
+                        }
+                    }
+                }
+            }
+            List<int[]> constraints = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                int p = random.nextInt(PLAYERS);
+                int[] triple = {random.nextInt(3), 3 + random.nextInt(3), 6 + random.nextInt(3)};
+                if (owner[triple[0]] == p || owner[triple[1]] == p || owner[triple[2]] == p) {
+                    constraints.add(new int[]{p, triple[0], triple[1], triple[2]});
+                }
+            }
+
+            ExpertSolver solver = new ExpertSolver(PLAYERS, CARDS, TYPE_MASKS);
+            for (int p = 0; p < PLAYERS; p++) {
+                solver.setPlayer(p, has[p], hasNot[p], handSizes[p]);
+            }
+            for (int[] constraint : constraints) {
+                solver.addShownConstraint(constraint[0], 1L << constraint[1] | 1L << constraint[2] | 1L << constraint[3]);
+            }
+            ExpertSolver.Solution solution = solver.solve(ForkJoinPool.commonPool(), Long.MAX_VALUE, () -> false);
+            Assert.assertNotNull(solution);
+
+            //Alle Verteilungen durchprobieren
+            long[] envelopeCounts = new long[CARDS];
+            long total = 0;
+            int[] assignment = new int[CARDS];
+            int combinations = (int) Math.pow(PLAYERS + 1, CARDS);
+            for (int code = 0; code < combinations; code++) {
+                int rest = code;
+                for (int card = 0; card < CARDS; card++) {
+                    assignment[card] = rest % (PLAYERS + 1) - 1;
+                    rest /= PLAYERS + 1;
+                }
+                if (isConsistent(assignment, handSizes, has, hasNot, constraints)) {
+                    total++;
+                    for (int card = 0; card < CARDS; card++) {
+                        if (assignment[card] == -1) {
+                            envelopeCounts[card]++;
+                        }
+                    }
+                }
+            }
+            Assert.assertEquals("Runde " + round, total, solution.getTotal());
+            for (int card = 0; card < CARDS; card++) {
+                Assert.assertEquals((double) envelopeCounts[card] / total, solution.getEnvelopeProbability(card), 1e-9);
+            }
+            checked++;
+        }
+        Assert.assertEquals(100, checked);
+    }
+
+    @Test
+    public void solve_CertainEnvelope_EverythingElseKnown() {
+        ExpertSolver solver = new ExpertSolver(PLAYERS, CARDS, TYPE_MASKS);
+        solver.setPlayer(0, 0b000000011L, 0L, 2);
+        solver.setPlayer(1, 0b000011000L, 0L, 2);
+        solver.setPlayer(2, 0b011000000L, 0L, 2);
+        ExpertSolver.Solution solution = solver.solve(ForkJoinPool.commonPool(), Long.MAX_VALUE, () -> false);
+        Assert.assertEquals(1, solution.getTotal());
+        Assert.assertEquals(0b100100100L, solution.getCertainEnvelope());
+    }
+
+    @Test
+    public void solve_Null_DeadlinePassed() {
+        ExpertSolver solver = new ExpertSolver(PLAYERS, CARDS, TYPE_MASKS);
+        for (int p = 0; p < PLAYERS; p++) {
+            solver.setPlayer(p, 0L, 0L, 2);
+        }
+        Assert.assertNull(solver.solve(ForkJoinPool.commonPool(), System.nanoTime() - 1, () -> false));
+    }
+
+    @Test
+    public void solve_Null_Cancelled() {
+        ExpertSolver solver = new ExpertSolver(PLAYERS, CARDS, TYPE_MASKS);
+        for (int p = 0; p < PLAYERS; p++) {
+            solver.setPlayer(p, 0L, 0L, 2);
+        }
+        Assert.assertNull(solver.solve(ForkJoinPool.commonPool(), Long.MAX_VALUE, () -> true));
+    }
+
+    private static int[] randomDeal(Random random) {
+        List<Integer> deck = new ArrayList<>();
+        for (int card = 0; card < CARDS; card++) {
+            deck.add(card);
+        }
+        Collections.shuffle(deck, random);
+        int[] owner = new int[CARDS];
+        int[] envelope = {random.nextInt(3), 3 + random.nextInt(3), 6 + random.nextInt(3)};
+        int next = 0;
+        for (int card : deck) {
+            if (card == envelope[0] || card == envelope[1] || card == envelope[2]) {
+                owner[card] = -1;
+            } else {
+                owner[card] = next++ % PLAYERS;
+            }
+        }
+        return owner;
+    }
+
+    private static boolean isConsistent(int[] assignment, int[] handSizes, long[] has, long[] hasNot, List<int[]> constraints) {
+        int[] sizes = new int[PLAYERS];
+        int[] envelopeTypes = new int[3];
+        for (int card = 0; card < CARDS; card++) {
+            int p = assignment[card];
+            if (p == -1) {
+                envelopeTypes[card / 3]++;
+                for (int other = 0; other < PLAYERS; other++) {
+                    if ((has[other] & 1L << card) != 0) {
+                        return false;
+                    }
+                }
+            } else {
+                sizes[p]++;
+                if ((hasNot[p] & 1L << card) != 0) {
+                    return false;
+                }
+                for (int other = 0; other < PLAYERS; other++) {
+                    if (other != p && (has[other] & 1L << card) != 0) {
+                        return false;
+                    }
+                }
+            }
+        }
+        for (int type = 0; type < 3; type++) {
+            if (envelopeTypes[type] != 1) {
+                return false;
+            }
+        }
+        for (int p = 0; p < PLAYERS; p++) {
+            if (sizes[p] != handSizes[p]) {
+                return false;
+            }
+        }
+        for (int[] constraint : constraints) {
+            if (assignment[constraint[1]] != constraint[0] && assignment[constraint[2]] != constraint[0]
+                    && assignment[constraint[3]] != constraint[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
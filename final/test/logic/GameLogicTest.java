@@ -7,6 +7,10 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Testklasse für die Spiellogik
@@ -190,6 +194,29 @@ public class GameLogicTest {
         Assert.assertTrue(res);
     }
 
+    @Test
+    public void validateMove_BlockedAfterOtherPlayerMoved_3x3() {
+
+        Room testRoom = new Room("Testkammer des Schreckens", new Position(0, 2), new Position[]{});
+        Character characterSusi = new Character("Susi", new Position(1, 2));
+        Player playerSusi = new Player(characterSusi);
+        Character characterHans = new Character("Hans", new Position(2, 0));
+        Player playerHans = new Player(characterHans);
+        GameCell[] avalibleGameCells = new GameCell[]{new GameCell(testRoom)};
+        String[] gameFieldStr = new String[3];
+        gameFieldStr[0] = "   ";
+        gameFieldStr[1] = "0  ";
+        gameFieldStr[2] = "0  ";
+        GameCell[][] gameField = GameLogic.gameFieldFromString(3, 3, gameFieldStr, avalibleGameCells);
+        Character[] characters = new Character[]{new Character("Test", new Position(0, 0)), new Character("Test2", new Position(0, 0))};
+        AIDifficulty[] difficulties = new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID};
+        GameLogic logic = new GameLogic(gameField, new Player[]{playerSusi, playerHans}, characters, difficulties);
+        Assert.assertTrue(logic.isCorridorReachable(new Position(1, 0), 2, true));
+        //Hans stellt sich in den Weg, das zwischengespeicherte Ergebnis darf nicht mehr gelten
+        playerHans.setPos(new Position(1, 1));
+        Assert.assertFalse(logic.isCorridorReachable(new Position(1, 0), 2, true));
+    }
+
     @Test
     public void validateMove_ThroughWallNotPossible_3x3() {
 
@@ -363,6 +390,225 @@ public class GameLogicTest {
         Assert.assertFalse(logic.roomIsInReach(2)); //Keine Türen vorhanden
     }
 
+    @Test
+    public void getShortestPathToRooms_SameLengthAsPathSearch_Default() {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{null, AIDifficulty.NORMAL});
+        defaultLogic.setCurrentPlayerIndex(1);
+        defaultLogic.setCurrentPlayerPosition(new Position(16, 16)); //Vor Bib.
+        defaultLogic.setCurrentPlayerIndex(0);
+        for (int y = 0; y < 25; y++) {
+            for (int x = 0; x < 24; x++) {
+                Position start = new Position(x, y);
+                if (defaultLogic.getGameCell(start).isCorridor() && !start.equals(new Position(16, 16))) {
+                    for (Room room : defaultLogic.getRooms()) {
+                        List<Position> expected = defaultLogic.getShortestPathFromAny(Collections.singleton(start), defaultLogic.getOpenDoors(room));
+                        List<Position> res = defaultLogic.getShortestPathToRooms(Collections.singleton(room), Collections.singleton(start));
+                        if (res != null) {
+                            Assert.assertNotNull(expected);
+                            Assert.assertEquals(expected.size(), res.size());
+                            Assert.assertEquals(room, defaultLogic.getRoomFromDoor(res.get(res.size() - 1)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void findClosestRoom_SecretPassageWins_Default() throws CluedoException {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{null, AIDifficulty.NORMAL});
+        Room kitchen = defaultLogic.getRoomByName("Küche");
+        Room study = defaultLogic.getRoomByName("Arbeitszimmer");
+        Room diningRoom = defaultLogic.getRoomByName("Speisezimmer");
+        Assert.assertTrue(defaultLogic.isSecretPassage(kitchen, study));
+        Assert.assertFalse(defaultLogic.isSecretPassage(kitchen, diningRoom));
+        Set<Room> candidates = new HashSet<>(Arrays.asList(study, diningRoom));
+        Assert.assertEquals(study, defaultLogic.findClosestRoom(kitchen.getMidPoint(), candidates));
+        candidates.remove(study);
+        Assert.assertEquals(diningRoom, defaultLogic.findClosestRoom(kitchen.getMidPoint(), candidates));
+    }
+
+    @Test
+    public void getRoomFromDoor_SharedAnalysis_TwoGames() {
+        GameLogic first = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{null, AIDifficulty.NORMAL});
+        GameLogic second = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 3, new AIDifficulty[]{null, AIDifficulty.SMART, AIDifficulty.STUPID});
+        //Dieselbe Vorlage, dieselbe Analyse, aber eigene Räume je Spiel
+        Assert.assertSame(first.getBoardGraph(), second.getBoardGraph());
+        Assert.assertNotSame(first.getRooms()[0], second.getRooms()[0]);
+        for (Room room : second.getRooms()) {
+            for (Position door : room.getDoors()) {
+                Room expected = null;
+                for (Room other : second.getRooms()) {
+                    if (expected == null && Arrays.asList(other.getDoors()).contains(door)) {
+                        expected = other;
+                    }
+                }
+                Assert.assertSame(expected, second.getRoomFromDoor(door));
+            }
+        }
+        Assert.assertNull(second.getRoomFromDoor(new Position(0, 0)));
+    }
+
+    @Test
+    public void getByName_OwnObjects_TwoGames() throws CluedoException {
+        GameLogic first = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{null, AIDifficulty.NORMAL});
+        GameLogic second = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 3, new AIDifficulty[]{null, AIDifficulty.SMART, AIDifficulty.STUPID});
+        //Dieselben Namen, aber die Objekte des jeweiligen Spiels
+        for (GameLogic logic : new GameLogic[]{first, second}) {
+            for (int i = 0; i < logic.getCards().length; i++) {
+                Assert.assertSame(logic.getCards()[i], logic.getCardByName(logic.getCards()[i].getName()));
+            }
+            for (Room room : logic.getRooms()) {
+                Assert.assertSame(room, logic.getRoomByName(room.getName()));
+            }
+            for (Player player : logic.getPlayers()) {
+                Assert.assertSame(player, logic.getPlayerByName(player.getCharacter().getName()));
+                Assert.assertSame(player.getCharacter(), logic.getCharacterByName(player.getCharacter().getName()));
+            }
+            Weapon weapon = logic.getWeaponByName(logic.getCardByNoteIndex(logic.getCharacters().length).getName());
+            Assert.assertEquals(0, logic.getWeaponIndex(weapon));
+        }
+        Assert.assertNotSame(first.getRoomByName("Küche"), second.getRoomByName("Küche"));
+    }
+
+    @Test(expected = CluedoException.class)
+    public void getPlayerByName_NotPlaying_Exception() throws CluedoException {
+        GameLogic logic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{null, AIDifficulty.NORMAL});
+        logic.getPlayerByName(logic.getCharacters()[logic.getCharacters().length - 1].getName());
+    }
+
+    @Test
+    public void expectedTurns_DiceDistribution_Default() throws CluedoException {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{null, AIDifficulty.NORMAL});
+        RoomGraph roomGraph = new RoomGraph(defaultLogic.getRooms(), new Position[0], defaultLogic.getBoardGraph(),
+                DistanceOracle.forGraph(defaultLogic.getBoardGraph()));
+        Room[] rooms = defaultLogic.getRooms();
+        double[] turnsByDistance = new double[100];
+        for (int from = 0; from < rooms.length; from++) {
+            for (int to = 0; to < rooms.length; to++) {
+                int distance = roomGraph.getDistance(from, to);
+                if (distance > 0) {
+                    //Mind. ein Zug, höchstens ein Zug je Schritt, gleiche Schrittzahl ergibt gleiche Erwartung
+                    double turns = roomGraph.getExpectedTurns(from, to);
+                    Assert.assertTrue(turns >= 1 && turns <= distance);
+                    Assert.assertTrue(turnsByDistance[distance] == 0 || turnsByDistance[distance] == turns);
+                    turnsByDistance[distance] = turns;
+                }
+            }
+        }
+        //Mit wachsender Schrittzahl steigt die Erwartung
+        double previous = 0;
+        for (double turns : turnsByDistance) {
+            if (turns != 0) {
+                Assert.assertTrue(turns > previous);
+                previous = turns;
+            }
+        }
+    }
+
+    @Test
+    public void computeNextMove_OwnMove_DeadlinePassed() {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID});
+        Player player = defaultLogic.getPlayers()[0];
+        AI ai = player.getAi();
+        //Die dumme KI bleibt auch ohne verbleibende Zeit bei ihrem eigenen Zug (ohne Geheimgänge)
+        Position expected = ai.computeNextMoveStupid(defaultLogic, player, 6);
+        Position res = ai.computeNextMove(defaultLogic, player, 6, System.nanoTime() - 1);
+        Assert.assertEquals(expected, res);
+        Assert.assertEquals(1, ai.getMoveTimings().getCount());
+        Assert.assertEquals(1, ai.getMoveTimings().getFallbackCount());
+    }
+
+    @Test
+    public void expressSuspicion_OwnSuspicion_DeadlinePassed() {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID});
+        Player player = defaultLogic.getPlayers()[0];
+        AI ai = player.getAi();
+        Card roomCard = defaultLogic.getCards()[defaultLogic.getCards().length - 1];
+        CardTriple expected = ai.expressSuspicion(defaultLogic, player, roomCard);
+        CardTriple res = ai.expressSuspicion(defaultLogic, player, roomCard, System.nanoTime() - 1);
+        Assert.assertEquals(expected, res);
+        Assert.assertEquals(1, ai.getSuspicionTimings().getFallbackCount());
+    }
+
+    @Test
+    public void runAIGame_UsesPonderedMoves_WhileResultDialogOpen() throws CluedoException {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 3,
+                new AIDifficulty[]{AIDifficulty.NORMAL, AIDifficulty.SMART, AIDifficulty.STUPID});
+        Ponderer ponderer = defaultLogic.getPonderer();
+        //Hält den Dialog mit dem Ergebnis einer Verdächtigung offen, bis das Vorausdenken fertig ist,
+        //prüft jeden vorausgedachten Zug und beendet das Spiel nach 60 Zügen
+        int[] reused = new int[1];
+        FakeGUI gui = new FakeGUI() {
+            private int turns;
+            private int dice;
+            private int hitsBeforeMove;
+            private final Position[] pondered = new Position[7];
+
+            @Override
+            public void updateDice(int dice) {
+                if (++turns > 60) {
+                    throw new IllegalStateException("Zuglimit erreicht");
+                }
+                this.dice = dice;
+                hitsBeforeMove = ponderer.getHits();
+            }
+
+            @Override
+            public void handleOthersSuspicionResult(Player[] allPlayers, Player currentPlayer, Card[] shownCards, CardTriple suspicion) {
+                ponderer.await();
+                for (int dice = 1; dice < pondered.length; dice++) {
+                    pondered[dice] = ponderer.getMove(dice);
+                }
+            }
+
+            @Override
+            public void drawCharacterOnCorridor(Character character, int characterIndex) {
+                checkPonderedMove(character);
+            }
+
+            @Override
+            public void drawCharacterInRoom(Character character, int characterIndex) {
+                checkPonderedMove(character);
+            }
+
+            private void checkPonderedMove(Character character) {
+                Player current = defaultLogic.getPlayers()[defaultLogic.getCurrentPlayerIndex()];
+                if (ponderer.getHits() > hitsBeforeMove && character == current.getCharacter() && pondered[dice] != null) {
+                    Assert.assertEquals(pondered[dice], character.getPosition());
+                    reused[0]++;
+                    hitsBeforeMove = ponderer.getHits();
+                }
+            }
+        };
+        try {
+            defaultLogic.runAIGame(gui);
+        } catch (IllegalStateException e) {
+            //Zuglimit
+        }
+        Assert.assertTrue(reused[0] > 0);
+    }
+
+    @Test
+    public void character_PositionChanged_SameIdentity() throws CluedoException {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 3, new AIDifficulty[]{null, AIDifficulty.NORMAL, AIDifficulty.NORMAL});
+        Character[] characters = defaultLogic.getCharacters();
+        Set<Character> set = new HashSet<>(Arrays.asList(characters));
+        characters[0].setPosition(new Position(0, 0));
+        Assert.assertTrue(set.contains(characters[0]));
+        for (int i = 0; i < characters.length; i++) {
+            Assert.assertEquals(i, characters[i].getId());
+        }
+        CharacterIndex index = defaultLogic.getCharacterIndex();
+        Player[] players = defaultLogic.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            Assert.assertEquals(i, index.playerIndexOf(players[i].getCharacter()));
+        }
+        Assert.assertEquals(0, index.noteColumnOf(1, players[0].getCharacter()));
+        Assert.assertEquals(-1, index.noteColumnOf(1, players[1].getCharacter()));
+        Assert.assertEquals(1, index.noteColumnOf(1, players[2].getCharacter()));
+    }
+
     @Test
     public void getShortestPath_Simple3x3_Possible() {
 //        Player playerSusi = new Player(susi);
@@ -0,0 +1,83 @@
+package logic;
+
+import gui.JavaFXGUI;
+import logic.exceptions.CluedoException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Testklasse für die vorberechneten Erreichbarkeiten
+ */
+public class MoveTableTest {
+
+    private final GameCell[][] gameField;
+    private final BoardGraph graph;
+
+    public MoveTableTest() throws CluedoException {
+        GameLogic defaultLogic = GameLogic.createInitialGameLogicFromJSON(JavaFXGUI.loadInitialGameData("/logic/config/InitialGameDataCluedo.json"),
+                2, new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID});
+        this.graph = defaultLogic.getBoardGraph();
+        this.gameField = new GameCell[graph.getHeight()][graph.getWidth()];
+        for (int y = 0; y < graph.getHeight(); y++) {
+            for (int x = 0; x < graph.getWidth(); x++) {
+                gameField[y][x] = defaultLogic.getGameCell(new Position(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void lookup_SameAsExpansion_AllCellsAndDice_Default() {
+        CorridorBitboard bitboard = new CorridorBitboard(gameField);
+        MoveTable table = MoveTable.forBoard(graph, bitboard);
+        Random random = new Random(815);
+        long[] expected = bitboard.newMask();
+        long[] res = bitboard.newMask();
+        int hits = 0;
+        for (int id = 0; id < graph.getCorridorCount(); id++) {
+            for (int steps = 0; steps <= MoveTable.MAX_STEPS; steps++) {
+                for (boolean exact : new boolean[]{true, false}) {
+                    //Bis zu zwei weitere Startpositionen (wie bei den Türen eines Raumes) und einige Spielfiguren
+                    int[] startIds = {id, random.nextInt(graph.getCorridorCount()), random.nextInt(graph.getCorridorCount())};
+                    int startCount = 1 + random.nextInt(3);
+                    long[] blocked = bitboard.newMask();
+                    for (int i = random.nextInt(4); i > 0; i--) {
+                        int blockedId = random.nextInt(graph.getCorridorCount());
+                        if (Arrays.stream(startIds, 0, startCount).noneMatch(startId -> startId == blockedId)) {
+                            bitboard.setCell(blocked, graph.getCell(blockedId));
+                        }
+                    }
+                    Arrays.fill(expected, 0L);
+                    for (int i = 0; i < startCount; i++) {
+                        bitboard.setCell(expected, graph.getCell(startIds[i]));
+                    }
+                    bitboard.expand(expected, steps, exact, blocked);
+                    Arrays.fill(res, 0L);
+                    if (table.lookup(startIds, startCount, steps, exact, blocked, res)) {
+                        hits++;
+                        Assert.assertArrayEquals("Flur-Id " + id + ", Schritte " + steps + ", exakt " + exact, expected, res);
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(hits > 0);
+    }
+
+    @Test
+    public void lookup_NotPossible_PieceInReach_3x3() {
+        GameCell[][] field = new GameCell[3][3];
+        for (GameCell[] row : field) {
+            Arrays.fill(row, GameCell.CORRIDOR);
+        }
+        BoardGraph smallGraph = new BoardGraph(field);
+        CorridorBitboard bitboard = new CorridorBitboard(field);
+        MoveTable table = MoveTable.forBoard(smallGraph, bitboard);
+        long[] blocked = bitboard.newMask();
+        bitboard.set(blocked, new Position(2, 2));
+        int[] start = {smallGraph.idAt(new Position(0, 0))};
+        Assert.assertTrue(table.lookup(start, 1, 3, true, blocked, bitboard.newMask()));
+        Assert.assertFalse(table.lookup(start, 1, 4, true, blocked, bitboard.newMask()));
+    }
+}
@@ -0,0 +1,65 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Testklasse für die Notizen eines Spielers
+ */
+public class NotesMatrixTest {
+
+    private static final int OTHERS = 5;
+    private static final int CARDS = 21;
+
+    @Test
+    public void of_SameAsArrays_RandomNotes() {
+        Random random = new Random(1234);
+        NoteSelf[] noteSelf = new NoteSelf[CARDS];
+        NoteOthers[][] noteOthers = new NoteOthers[OTHERS][CARDS];
+        for (int card = 0; card < CARDS; card++) {
+            noteSelf[card] = NoteSelf.values()[random.nextInt(NoteSelf.values().length)];
+            for (int column = 0; column < OTHERS; column++) {
+                noteOthers[column][card] = NoteOthers.values()[random.nextInt(NoteOthers.values().length)];
+            }
+        }
+
+        NotesMatrix notes = NotesMatrix.of(noteSelf, noteOthers);
+
+        Assert.assertEquals(CARDS, notes.getCardCount());
+        Assert.assertEquals(OTHERS, notes.getOtherCount());
+        Assert.assertArrayEquals(noteSelf, notes.getSelfColumn());
+        for (int column = 0; column < OTHERS; column++) {
+            Assert.assertArrayEquals(noteOthers[column], notes.getOthersColumn(column));
+        }
+        for (int card = 0; card < CARDS; card++) {
+            Assert.assertEquals(noteSelf[card], notes.getSelf(card));
+            NoteOthers[] row = notes.getOthersRow(card);
+            for (int column = 0; column < OTHERS; column++) {
+                Assert.assertEquals(noteOthers[column][card], row[column]);
+                Assert.assertEquals(noteOthers[column][card], notes.getOthers(column, card));
+            }
+        }
+    }
+
+    @Test
+    public void copy_EqualUntilChanged() {
+        NotesMatrix notes = new NotesMatrix(OTHERS, CARDS);
+        notes.setSelf(3, NoteSelf.OWN);
+        notes.setOthers(2, 7, NoteOthers.SEEN);
+        NotesMatrix copy = notes.copy();
+
+        Assert.assertEquals(notes, copy);
+        Assert.assertEquals(notes.hashCode(), copy.hashCode());
+
+        copy.setOthers(OTHERS - 1, PackedCardTriple.of(1, 8, 15), NoteOthers.HAS_NOT);
+        Assert.assertNotEquals(notes, copy);
+        Assert.assertEquals(NoteOthers.NOTHING, notes.getOthers(OTHERS - 1, 8));
+        Assert.assertEquals(NoteOthers.HAS_NOT, copy.getOthers(OTHERS - 1, 1));
+        Assert.assertEquals(NoteOthers.HAS_NOT, copy.getOthers(OTHERS - 1, 8));
+        Assert.assertEquals(NoteOthers.HAS_NOT, copy.getOthers(OTHERS - 1, 15));
+        Assert.assertEquals(NoteOthers.NOTHING, copy.getOthers(OTHERS - 2, 8));
+        Assert.assertEquals(NoteSelf.NOTHING, copy.getSelf(8));
+    }
+}
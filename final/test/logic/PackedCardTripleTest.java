@@ -0,0 +1,47 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testklasse für die kompakte Darstellung der Kartentripel
+ */
+public class PackedCardTripleTest {
+
+    private static Card[] createCards() {
+        Card[] cards = new Card[21];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = new Card("Karte " + i, i < 6 ? CardType.CHARACTER : i < 12 ? CardType.WEAPON : CardType.ROOM, i);
+        }
+        return cards;
+    }
+
+    @Test
+    public void pack_SameAsCardTriple_RoundTrip() {
+        Card[] cards = createCards();
+        CardTriple triple = new CardTriple(cards[15], cards[2], cards[7]);
+        long packed = triple.pack(cards);
+
+        Assert.assertEquals(2, PackedCardTriple.get(packed, PackedCardTriple.CHARACTER));
+        Assert.assertEquals(7, PackedCardTriple.get(packed, PackedCardTriple.WEAPON));
+        Assert.assertEquals(15, PackedCardTriple.get(packed, PackedCardTriple.ROOM));
+        Assert.assertEquals(3, PackedCardTriple.size(packed));
+        Assert.assertEquals(triple, CardTriple.unpack(packed, cards));
+        for (int card = 0; card < cards.length; card++) {
+            Assert.assertEquals(triple.contains(cards[card]), PackedCardTriple.contains(packed, card));
+        }
+        Assert.assertEquals(PackedCardTriple.EMPTY, new CardTriple().pack(cards));
+    }
+
+    @Test
+    public void retainHand_OnlyCardsOnHand() {
+        Card[] cards = createCards();
+        long packed = PackedCardTriple.of(2, 7, 15);
+        long[] hand = {1L << 7 | 1L << 15 | 1L << 3};
+
+        long onHand = PackedCardTriple.retainHand(packed, hand);
+        Assert.assertEquals(new CardTriple(cards[15], null, cards[7]), CardTriple.unpack(onHand, cards));
+        Assert.assertEquals(2, PackedCardTriple.countInHand(packed, hand));
+        Assert.assertEquals(PackedCardTriple.of(2, -1, -1), PackedCardTriple.removeHand(packed, hand));
+    }
+}
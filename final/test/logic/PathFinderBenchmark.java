@@ -0,0 +1,78 @@
+package logic;
+
+import gui.JavaFXGUI;
+import logic.exceptions.CluedoException;
+import logic.json.InitialGameDataJSON;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Messung des Durchsatzes der Wegsuchen auf dem Standardspielfeld.
+ * Kein JUnit-Test, wird über die main-Methode gestartet.
+ * <p>
+ * Alle Wegsuchen bearbeiten dieselben zufälligen Suchen (eine Startposition, die Türen eines Raumes als Ziele,
+ * einige von Spielfiguren versperrte Felder).
+ * <p>
+ * Parameter: [Anzahl Suchen] [Anzahl Durchläufe]
+ */
+public class PathFinderBenchmark {
+
+    //Anzahl der versperrten Felder je Suche (wie bei sechs Spielern)
+    private static final int BLOCKED_CELLS = 5;
+
+    public static void main(String[] args) throws CluedoException {
+        int searches = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        InitialGameDataJSON initialGameDataJSON = JavaFXGUI.loadInitialGameData("/logic/config/InitialGameDataCluedo.json");
+        GameLogic logic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID});
+        BoardGraph graph = logic.getBoardGraph();
+
+        //Zufällige Suchen erzeugen
+        Random random = new Random(42);
+        List<Set<Position>> doorSets = new ArrayList<>();
+        for (Room room : logic.getRooms()) {
+            doorSets.add(new HashSet<>(Arrays.asList(room.getDoors())));
+        }
+        List<Set<Position>> starts = new ArrayList<>();
+        List<Set<Position>> destinations = new ArrayList<>();
+        List<IntPredicate> blocked = new ArrayList<>();
+        for (int i = 0; i < searches; i++) {
+            starts.add(Collections.singleton(graph.getPosition(random.nextInt(graph.getCorridorCount()))));
+            destinations.add(doorSets.get(random.nextInt(doorSets.size())));
+            boolean[] blockedIds = new boolean[graph.getCorridorCount()];
+            for (int j = 0; j < BLOCKED_CELLS; j++) {
+                blockedIds[random.nextInt(blockedIds.length)] = true;
+            }
+            blocked.add(id -> blockedIds[id]);
+        }
+
+        Map<String, PathFinder> pathFinders = new LinkedHashMap<>();
+        pathFinders.put("BFS", new BfsPathFinder());
+        pathFinders.put("A*", new AStarPathFinder());
+        pathFinders.put("Bidirektional", new BidirectionalPathFinder());
+        pathFinders.put("Entfernungen", new DistancePathFinder(DistanceOracle.forGraph(graph), new BfsPathFinder()));
+
+        for (Map.Entry<String, PathFinder> entry : pathFinders.entrySet()) {
+            PathFinder pathFinder = entry.getValue();
+            long checksum = 0;
+            //Aufwärmen
+            for (int i = 0; i < searches; i++) {
+                checksum += length(pathFinder.findShortestPath(graph, starts.get(i), destinations.get(i), blocked.get(i)));
+            }
+            long timeBefore = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                for (int i = 0; i < searches; i++) {
+                    checksum += length(pathFinder.findShortestPath(graph, starts.get(i), destinations.get(i), blocked.get(i)));
+                }
+            }
+            long time = System.nanoTime() - timeBefore;
+            System.out.printf("%-15s %10.0f Suchen/s  (%.0f ns je Suche, Prüfsumme %d)%n", entry.getKey(),
+                    (double) searches * rounds / (time / 1e9), (double) time / ((long) searches * rounds), checksum / (rounds + 1));
+        }
+    }
+
+    private static int length(List<Position> path) {
+        return path == null ? -1 : path.size();
+    }
+}
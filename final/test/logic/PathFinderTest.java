@@ -0,0 +1,243 @@
+package logic;
+
+import gui.JavaFXGUI;
+import logic.exceptions.CluedoException;
+import logic.json.InitialGameDataJSON;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Gemeinsame Testklasse für alle Wegsuchen. Jede Wegsuche muss dieselben Weglängen liefern wie eine einfache
+ * Breitensuche über das Spielfeld.
+ */
+@RunWith(Parameterized.class)
+public class PathFinderTest {
+
+    //Anzahl der zufälligen Suchen auf dem Standardspielfeld
+    private static final int RANDOM_SCENARIOS = 3000;
+
+    //Die Initialisierungsdaten des Standardspielfeldes
+    private static InitialGameDataJSON initialGameDataJSON;
+
+    //Das Standardspielfeld
+    private static GameLogic defaultLogic;
+
+    //Die zu testende Wegsuche
+    private final PathFinder pathFinder;
+
+    public PathFinderTest(String name, Supplier<PathFinder> factory) {
+        this.pathFinder = factory.get();
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> pathFinders() throws CluedoException {
+        initialGameDataJSON = JavaFXGUI.loadInitialGameData("/logic/config/InitialGameDataCluedo.json");
+        defaultLogic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID});
+        DistanceOracle oracle = DistanceOracle.forGraph(defaultLogic.getBoardGraph());
+        return Arrays.asList(
+                new Object[]{"BFS", (Supplier<PathFinder>) BfsPathFinder::new},
+                new Object[]{"A*", (Supplier<PathFinder>) AStarPathFinder::new},
+                new Object[]{"Bidirektional", (Supplier<PathFinder>) BidirectionalPathFinder::new},
+                new Object[]{"Entfernungen", (Supplier<PathFinder>) () -> new DistancePathFinder(oracle, new BfsPathFinder())});
+    }
+
+    @Test
+    public void findShortestPath_StartIsDestination_3x3() {
+        BoardGraph graph = new BoardGraph(corridorField(3, 3));
+        List<Position> res = pathFinder.findShortestPath(graph, set(Position.of(1, 1)), set(Position.of(1, 1), Position.of(2, 2)), id -> false);
+        Assert.assertEquals(Collections.singletonList(Position.of(1, 1)), res);
+    }
+
+    @Test
+    public void findShortestPath_NoDestinations_3x3() {
+        BoardGraph graph = new BoardGraph(corridorField(3, 3));
+        Assert.assertNull(pathFinder.findShortestPath(graph, set(Position.of(0, 0)), new HashSet<>(), id -> false));
+        Assert.assertNull(pathFinder.findShortestPath(graph, set(Position.of(0, 0)), null, id -> false));
+    }
+
+    @Test
+    public void findShortestPath_AroundBlockedCell_3x3() {
+        BoardGraph graph = new BoardGraph(corridorField(3, 3));
+        int blockedId = graph.idAt(Position.of(1, 0));
+        List<Position> res = pathFinder.findShortestPath(graph, set(Position.of(0, 0)), set(Position.of(2, 0)), id -> id == blockedId);
+        Assert.assertEquals(Arrays.asList(Position.of(0, 0), Position.of(0, 1), Position.of(1, 1), Position.of(2, 1), Position.of(2, 0)), res);
+    }
+
+    @Test
+    public void findShortestPath_AllWaysBlocked_3x3() {
+        BoardGraph graph = new BoardGraph(corridorField(3, 3));
+        int blockedA = graph.idAt(Position.of(1, 0));
+        int blockedB = graph.idAt(Position.of(0, 1));
+        Assert.assertNull(pathFinder.findShortestPath(graph, set(Position.of(0, 0)), set(Position.of(2, 2)), id -> id == blockedA || id == blockedB));
+    }
+
+    @Test
+    public void findShortestPath_BlockedDestination_3x3() {
+        BoardGraph graph = new BoardGraph(corridorField(3, 3));
+        int blockedId = graph.idAt(Position.of(2, 2));
+        Assert.assertNull(pathFinder.findShortestPath(graph, set(Position.of(0, 0)), set(Position.of(2, 2)), id -> id == blockedId));
+    }
+
+    @Test
+    public void findShortestPath_BlockedStart_3x3() {
+        BoardGraph graph = new BoardGraph(corridorField(3, 3));
+        int blockedId = graph.idAt(Position.of(0, 0));
+        List<Position> res = pathFinder.findShortestPath(graph, set(Position.of(0, 0)), set(Position.of(0, 2)), id -> id == blockedId);
+        Assert.assertEquals(Arrays.asList(Position.of(0, 0), Position.of(0, 1), Position.of(0, 2)), res);
+    }
+
+    @Test
+    public void findShortestPath_StartInWall_3x3() {
+        GameCell[][] field = corridorField(3, 3);
+        field[1][1] = GameCell.WALL;
+        BoardGraph graph = new BoardGraph(field);
+        List<Position> res = pathFinder.findShortestPath(graph, set(Position.of(1, 1)), set(Position.of(2, 0)), id -> false);
+        Assert.assertEquals(3, res.size());
+        Assert.assertEquals(Position.of(1, 1), res.get(0));
+        Assert.assertEquals(Position.of(2, 0), res.get(2));
+    }
+
+    @Test
+    public void findShortestPath_SelectedInGameLogic_Default() {
+        GameLogic logic = GameLogic.createInitialGameLogicFromJSON(initialGameDataJSON, 2, new AIDifficulty[]{AIDifficulty.STUPID, AIDifficulty.STUPID});
+        logic.setPathFinder(pathFinder);
+        BoardGraph graph = logic.getBoardGraph();
+        Position start = graph.getPosition(0);
+        Position destination = graph.getPosition(graph.getCorridorCount() - 1);
+        List<Position> res = logic.getShortestPath(start, set(destination));
+        Assert.assertNotNull(res);
+        Assert.assertEquals(start, res.get(0));
+        Assert.assertEquals(destination, res.get(res.size() - 1));
+    }
+
+    @Test
+    public void findShortestPath_RandomScenarios_SameLengthAsReference_Default() {
+        BoardGraph graph = defaultLogic.getBoardGraph();
+        Random random = new Random(4711);
+        for (int scenario = 0; scenario < RANDOM_SCENARIOS; scenario++) {
+            Set<Position> starts = new HashSet<>();
+            int startCount = 1 + random.nextInt(3);
+            for (int i = 0; i < startCount; i++) {
+                starts.add(randomPosition(graph, random, random.nextInt(4) == 0));
+            }
+            Set<Position> destinations = new HashSet<>();
+            int destinationCount = 1 + random.nextInt(6);
+            for (int i = 0; i < destinationCount; i++) {
+                destinations.add(randomPosition(graph, random, random.nextInt(8) == 0));
+            }
+            Set<Integer> blockedIds = new HashSet<>();
+            int blockedCount = random.nextInt(6);
+            for (int i = 0; i < blockedCount; i++) {
+                blockedIds.add(random.nextInt(graph.getCorridorCount()));
+            }
+            IntPredicate blocked = blockedIds::contains;
+
+            int expected = referenceLength(graph, starts, destinations, blocked);
+            List<Position> res = pathFinder.findShortestPath(graph, starts, destinations, blocked);
+            String message = "Start " + starts + ", Ziele " + destinations + ", versperrt " + blockedIds;
+            if (expected < 0) {
+                Assert.assertNull(message, res);
+            } else {
+                Assert.assertNotNull(message, res);
+                assertValidPath(message, graph, res, starts, destinations, blocked);
+                Assert.assertEquals(message, expected, corridorSteps(graph, res));
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob der Pfad bei einer Startposition beginnt, bei einem Ziel endet, nur aus benachbarten
+     * Feldern besteht und nach dem Start nur freie Flurfelder betritt.
+     */
+    private static void assertValidPath(String message, BoardGraph graph, List<Position> path, Set<Position> starts,
+                                        Set<Position> destinations, IntPredicate blocked) {
+        Assert.assertTrue(message, starts.contains(path.get(0)));
+        Assert.assertTrue(message, destinations.contains(path.get(path.size() - 1)));
+        for (int i = 1; i < path.size(); i++) {
+            Position previous = path.get(i - 1);
+            Position current = path.get(i);
+            Assert.assertEquals(message, 1, Math.abs(previous.getX() - current.getX()) + Math.abs(previous.getY() - current.getY()));
+            int id = graph.idAt(current);
+            Assert.assertNotEquals(message, BoardGraph.NO_CORRIDOR, id);
+            Assert.assertFalse(message, blocked.test(id));
+        }
+    }
+
+    /**
+     * Liefert die Anzahl der Schritte über den Flur (Startpositionen außerhalb des Flures zählen nicht).
+     */
+    private static int corridorSteps(BoardGraph graph, List<Position> path) {
+        return graph.idAt(path.get(0)) == BoardGraph.NO_CORRIDOR ? path.size() - 2 : path.size() - 1;
+    }
+
+    /**
+     * Einfache Breitensuche über Positionen als Referenz.
+     *
+     * @return die Anzahl der Schritte über den Flur oder -1, falls kein Weg existiert.
+     */
+    private static int referenceLength(BoardGraph graph, Set<Position> starts, Set<Position> destinations, IntPredicate blocked) {
+        for (Position start : starts) {
+            if (destinations.contains(start)) {
+                return 0;
+            }
+        }
+        Map<Position, Integer> distances = new HashMap<>();
+        LinkedList<Position> queue = new LinkedList<>();
+        for (Position start : starts) {
+            if (graph.idAt(start) != BoardGraph.NO_CORRIDOR) {
+                distances.put(start, 0);
+                queue.add(start);
+            }
+        }
+        for (Position start : starts) {
+            if (graph.idAt(start) == BoardGraph.NO_CORRIDOR) {
+                for (Position neighbour : start.getNeighbours(1)) {
+                    int id = graph.idAt(neighbour);
+                    if (id != BoardGraph.NO_CORRIDOR && !blocked.test(id) && !distances.containsKey(neighbour)) {
+                        distances.put(neighbour, 0);
+                        queue.add(neighbour);
+                    }
+                }
+            }
+        }
+        while (!queue.isEmpty()) {
+            Position current = queue.remove(0);
+            if (destinations.contains(current)) {
+                return distances.get(current);
+            }
+            for (Position neighbour : current.getNeighbours(1)) {
+                int id = graph.idAt(neighbour);
+                if (id != BoardGraph.NO_CORRIDOR && !blocked.test(id) && !distances.containsKey(neighbour)) {
+                    distances.put(neighbour, distances.get(current) + 1);
+                    queue.add(neighbour);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static Position randomPosition(BoardGraph graph, Random random, boolean anyCell) {
+        if (anyCell) {
+            return Position.of(random.nextInt(graph.getWidth()), random.nextInt(graph.getHeight()));
+        }
+        return graph.getPosition(random.nextInt(graph.getCorridorCount()));
+    }
+
+    private static GameCell[][] corridorField(int width, int height) {
+        GameCell[][] field = new GameCell[height][width];
+        for (GameCell[] row : field) {
+            Arrays.fill(row, GameCell.CORRIDOR);
+        }
+        return field;
+    }
+
+    private static Set<Position> set(Position... positions) {
+        return new HashSet<>(Arrays.asList(positions));
+    }
+}
@@ -0,0 +1,41 @@
+package logic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Testklasse für die Spielhistorie der schlauen KI
+ */
+public class TurnHistoryTest {
+
+    private static final int PLAYERS = 6;
+
+    @Test
+    public void getShownByTurn_SameAsFullScan_RandomTurns() {
+        Random random = new Random(4711);
+        TurnHistory history = new TurnHistory(PLAYERS);
+        long[] suspicions = new long[100];
+        long[] shownBy = new long[suspicions.length];
+        for (int turn = 0; turn < suspicions.length; turn++) {
+            suspicions[turn] = PackedCardTriple.of(random.nextInt(6), 6 + random.nextInt(6), 12 + random.nextInt(9));
+            shownBy[turn] = random.nextInt(1 << PLAYERS);
+            Assert.assertEquals(turn, history.add(suspicions[turn], shownBy[turn]));
+        }
+
+        Assert.assertEquals(suspicions.length, history.size());
+        for (int turn = 0; turn < suspicions.length; turn++) {
+            Assert.assertEquals(suspicions[turn], history.getSuspicion(turn));
+        }
+        for (int player = 0; player < PLAYERS; player++) {
+            int i = 0;
+            for (int turn = 0; turn < suspicions.length; turn++) {
+                if ((shownBy[turn] & 1L << player) != 0) {
+                    Assert.assertEquals(turn, history.getShownByTurn(player, i++));
+                }
+            }
+            Assert.assertEquals(i, history.countShownBy(player));
+        }
+    }
+}